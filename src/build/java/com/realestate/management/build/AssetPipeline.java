@@ -0,0 +1,130 @@
+package com.realestate.management.build;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+// Build step for the stylesheets under static/ in the build output, run by the assets profile in
+// prepare-package as a single-file program (no compile step, nothing shipped):
+//   java src/build/java/com/realestate/management/build/AssetPipeline.java target/classes/static
+// Each .css file is minified in place and gets .gz and .br siblings next to it. The
+// application's resource chain serves the file under a content-hashed name and picks the
+// precompressed variant the browser accepts. The JDK has no Brotli encoder, so .br files
+// come from the brotli command when it is installed and are skipped otherwise.
+public class AssetPipeline {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Path root = Path.of(args.length > 0 ? args[0] : "target/classes/static");
+        if (!Files.isDirectory(root)) {
+            System.out.println("[assets] nothing to do, no " + root);
+            return;
+        }
+        List<Path> stylesheets;
+        try (Stream<Path> files = Files.walk(root)) {
+            stylesheets = files.filter(file -> file.toString().endsWith(".css")).sorted().toList();
+        }
+        boolean brotli = brotliAvailable();
+        if (!brotli) {
+            System.out.println("[assets] brotli command not found; writing gzip variants only");
+        }
+        for (Path file : stylesheets) {
+            String source = Files.readString(file, StandardCharsets.UTF_8);
+            byte[] minified = minify(source).getBytes(StandardCharsets.UTF_8);
+            Files.write(file, minified);
+            Path gzip = file.resolveSibling(file.getFileName() + ".gz");
+            try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzip)) {
+                {
+                    def.setLevel(Deflater.BEST_COMPRESSION);
+                }
+            }) {
+                out.write(minified);
+            }
+            Path br = file.resolveSibling(file.getFileName() + ".br");
+            if (brotli) {
+                run("brotli", "--force", "--best", "--output=" + br, file.toString());
+            }
+            System.out.printf(Locale.ROOT, "[assets] %s: %d -> %d bytes, gzip %d%s%n", root.relativize(file),
+                source.getBytes(StandardCharsets.UTF_8).length, minified.length, Files.size(gzip),
+                brotli ? ", brotli " + Files.size(br) : "");
+        }
+    }
+
+    // Comments and layout whitespace out; strings are copied as they are. Spaces are kept
+    // before a colon, since "a :hover" and "a:hover" select different things.
+    static String minify(String css) {
+        StringBuilder out = new StringBuilder(css.length());
+        int i = 0;
+        boolean pendingSpace = false;
+        while (i < css.length()) {
+            char c = css.charAt(i);
+            if (c == '/' && i + 1 < css.length() && css.charAt(i + 1) == '*') {
+                int end = css.indexOf("*/", i + 2);
+                i = end < 0 ? css.length() : end + 2;
+                continue;
+            }
+            if (Character.isWhitespace(c)) {
+                pendingSpace = true;
+                i++;
+                continue;
+            }
+            if (c == '"' || c == '\'') {
+                int end = i + 1;
+                while (end < css.length() && css.charAt(end) != c) {
+                    end += css.charAt(end) == '\\' ? 2 : 1;
+                }
+                appendSpace(out, pendingSpace, c);
+                pendingSpace = false;
+                out.append(css, i, Math.min(end + 1, css.length()));
+                i = end + 1;
+                continue;
+            }
+            if (c == '}' && out.length() > 0 && out.charAt(out.length() - 1) == ';') {
+                out.setLength(out.length() - 1);
+            }
+            appendSpace(out, pendingSpace, c);
+            pendingSpace = false;
+            out.append(c);
+            i++;
+        }
+        return out.toString();
+    }
+
+    private static void appendSpace(StringBuilder out, boolean pendingSpace, char next) {
+        if (!pendingSpace || out.length() == 0) {
+            return;
+        }
+        char previous = out.charAt(out.length() - 1);
+        if ("{};,>:".indexOf(previous) < 0 && "{};,>".indexOf(next) < 0) {
+            out.append(' ');
+        }
+    }
+
+    private static boolean brotliAvailable() throws InterruptedException {
+        try {
+            return run("brotli", "--version");
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static boolean run(String... command) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true)
+            .redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+        if (!process.waitFor(60, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+            throw new IOException(String.join(" ", command) + " did not finish");
+        }
+        if (process.exitValue() != 0 && !command[1].equals("--version")) {
+            throw new IOException(String.join(" ", command) + " exited with " + process.exitValue());
+        }
+        return process.exitValue() == 0;
+    }
+}
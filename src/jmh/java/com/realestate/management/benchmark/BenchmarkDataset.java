@@ -0,0 +1,61 @@
+package com.realestate.management.benchmark;
+
+import com.realestate.management.dataset.SyntheticDataset;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+// The synthetic dataset at benchmark scale. Volumes come from system properties
+// (bench.users, bench.properties, bench.favorites, bench.viewings, bench.applications)
+// and the seed is fixed, so every run measures the same rows.
+public class BenchmarkDataset {
+
+    // Most and least listed cities in the generated data
+    static final String POPULAR_CITY = "Austin";
+    static final String RARE_CITY = "Missoula";
+
+    private final SyntheticDataset.Settings settings;
+    private SyntheticDataset.Summary summary;
+
+    private BenchmarkDataset(SyntheticDataset.Settings settings) {
+        this.settings = settings;
+    }
+
+    public static BenchmarkDataset fromSystemProperties() {
+        return new BenchmarkDataset(new SyntheticDataset.Settings(
+            Long.getLong("bench.seed", 42L),
+            Integer.getInteger("bench.users", 20_000),
+            Integer.getInteger("bench.properties", 50_000),
+            Integer.getInteger("bench.favorites", 200_000),
+            Integer.getInteger("bench.viewings", 20_000),
+            Integer.getInteger("bench.applications", 20_000),
+            0.02, 1000, "bench", "not-a-password-hash"));
+    }
+
+    public void seed(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            summary = new SyntheticDataset(settings).generate(connection);
+        }
+    }
+
+    public long getBusiestOwnerId() {
+        return summary.busiestOwnerId();
+    }
+
+    public long getTypicalOwnerId() {
+        return summary.typicalOwnerId();
+    }
+
+    public long getBusiestFavoriterId() {
+        return summary.busiestFavoriterId();
+    }
+
+    public long getTypicalFavoriterId() {
+        return summary.typicalFavoriterId();
+    }
+
+    @Override
+    public String toString() {
+        return summary == null ? settings.toString() : summary.rows().toString();
+    }
+}
@@ -0,0 +1,33 @@
+package com.realestate.management.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Runs every benchmark in this package and writes jmh-result.json and jmh-query-shapes.jsonl
+// to the directory given as the first argument. Optional second argument: a regex selecting
+// benchmarks. Dataset volumes are passed on to the forked JVMs as -Dbench.* properties.
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        Path output = Path.of(args.length > 0 ? args[0] : "target");
+        String include = args.length > 1 ? args[1] : BenchmarkMain.class.getPackageName() + ".*Benchmark.*";
+        Files.createDirectories(output);
+        Files.deleteIfExists(output.resolve("jmh-query-shapes.jsonl"));
+
+        ChainedOptionsBuilder options = new OptionsBuilder()
+            .include(include)
+            .resultFormat(ResultFormatType.JSON)
+            .result(output.resolve("jmh-result.json").toString())
+            .jvmArgsAppend("-Dbench.output=" + output.toAbsolutePath());
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith("bench.")) {
+                options.jvmArgsAppend("-D" + name + "=" + System.getProperty(name));
+            }
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,54 @@
+package com.realestate.management.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import java.util.concurrent.TimeUnit;
+
+// Listing and dashboard queries, each run for the heaviest user in the dataset and for a typical one
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DashboardQueryBenchmark {
+
+    @Param({"busiest", "typical"})
+    public String user;
+
+    @Benchmark
+    public void findAllApproved(SeededDatabase db, Blackhole blackhole) {
+        blackhole.consume(db.record(db.propertyDao.findAllApproved()));
+    }
+
+    @Benchmark
+    public void findFavoritePropertiesByUser(SeededDatabase db, Blackhole blackhole) {
+        long userId = busiest() ? db.dataset.getBusiestFavoriterId() : db.dataset.getTypicalFavoriterId();
+        blackhole.consume(db.record(db.favoriteDao.findFavoritePropertiesByUser(userId)));
+    }
+
+    @Benchmark
+    public void findApplicationsByPropertyOwner(SeededDatabase db, Blackhole blackhole) {
+        long ownerId = busiest() ? db.dataset.getBusiestOwnerId() : db.dataset.getTypicalOwnerId();
+        blackhole.consume(db.record(db.applicationDao.findByPropertyOwner(ownerId)));
+    }
+
+    @Benchmark
+    public void findPendingViewingsByOwner(SeededDatabase db, Blackhole blackhole) {
+        long ownerId = busiest() ? db.dataset.getBusiestOwnerId() : db.dataset.getTypicalOwnerId();
+        blackhole.consume(db.record(db.viewingDao.findPendingByOwner(ownerId)));
+    }
+
+    private boolean busiest() {
+        return "busiest".equals(user);
+    }
+}
@@ -0,0 +1,53 @@
+package com.realestate.management.benchmark;
+
+import com.realestate.management.model.Property;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+// PropertyDao.searchProperties across the filter combinations the search form produces
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PropertySearchBenchmark {
+
+    @Param({"none", "popularCity", "rareCity", "cityAndType", "priceRange", "rentWithBedrooms", "allFilters"})
+    public String filters;
+
+    @Benchmark
+    public void searchProperties(SeededDatabase db, Blackhole blackhole) {
+        String popularCity = BenchmarkDataset.POPULAR_CITY;
+        String rareCity = BenchmarkDataset.RARE_CITY;
+        switch (filters) {
+            case "none" -> blackhole.consume(db.record(db.propertyDao.searchProperties(
+                null, null, null, null, null, null)));
+            case "popularCity" -> blackhole.consume(db.record(db.propertyDao.searchProperties(
+                popularCity, null, null, null, null, null)));
+            case "rareCity" -> blackhole.consume(db.record(db.propertyDao.searchProperties(
+                rareCity, null, null, null, null, null)));
+            case "cityAndType" -> blackhole.consume(db.record(db.propertyDao.searchProperties(
+                popularCity, Property.PropertyType.CONDO, null, null, null, null)));
+            case "priceRange" -> blackhole.consume(db.record(db.propertyDao.searchProperties(
+                null, null, Property.ListingType.SALE, new BigDecimal("250000"), new BigDecimal("400000"), null)));
+            case "rentWithBedrooms" -> blackhole.consume(db.record(db.propertyDao.searchProperties(
+                null, null, Property.ListingType.RENT, null, new BigDecimal("2500"), 3)));
+            case "allFilters" -> blackhole.consume(db.record(db.propertyDao.searchProperties(
+                popularCity, Property.PropertyType.HOUSE, Property.ListingType.SALE,
+                new BigDecimal("200000"), new BigDecimal("800000"), 3)));
+            default -> throw new IllegalArgumentException("Unknown filter combination: " + filters);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.realestate.management.benchmark;
+
+import com.realestate.management.dao.ApplicationDao;
+import com.realestate.management.dao.FavoriteDao;
+import com.realestate.management.dao.PropertyDao;
+import com.realestate.management.dao.ViewingDao;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Locale;
+
+// Boots the persistence layer once per fork, seeds it, and counts what each benchmark operation
+// did on the Hibernate side. At the end of the trial the per-operation statement, entity load and
+// row counts are appended to jmh-query-shapes.jsonl next to the JMH results, so an extra join or
+// an N+1 shows up as a changed number even when the timing noise hides it.
+@State(Scope.Benchmark)
+public class SeededDatabase {
+
+    private AnnotationConfigApplicationContext context;
+    private Statistics statistics;
+    private long operations;
+    private long rows;
+
+    BenchmarkDataset dataset;
+    PropertyDao propertyDao;
+    FavoriteDao favoriteDao;
+    ApplicationDao applicationDao;
+    ViewingDao viewingDao;
+
+    @Setup(Level.Trial)
+    public void start() throws Exception {
+        context = new AnnotationConfigApplicationContext(BenchmarkPersistenceConfig.class);
+        dataset = BenchmarkDataset.fromSystemProperties();
+        dataset.seed(context.getBean(DataSource.class));
+
+        propertyDao = context.getBean(PropertyDao.class);
+        favoriteDao = context.getBean(FavoriteDao.class);
+        applicationDao = context.getBean(ApplicationDao.class);
+        viewingDao = context.getBean(ViewingDao.class);
+
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    // Count one benchmark operation and the rows it returned
+    <T extends Collection<?>> T record(T result) {
+        operations++;
+        rows += result.size();
+        return result;
+    }
+
+    @TearDown(Level.Trial)
+    public void stop(BenchmarkParams params) throws IOException {
+        try {
+            writeQueryShape(params);
+        } finally {
+            context.close();
+        }
+    }
+
+    private void writeQueryShape(BenchmarkParams params) throws IOException {
+        if (operations == 0) {
+            return;
+        }
+        StringBuilder line = new StringBuilder();
+        line.append("{\"benchmark\":\"").append(params.getBenchmark()).append('"');
+        line.append(",\"params\":{");
+        boolean first = true;
+        for (String key : params.getParamsKeys()) {
+            line.append(first ? "" : ",").append('"').append(key).append("\":\"").append(params.getParam(key)).append('"');
+            first = false;
+        }
+        line.append('}');
+        line.append(",\"dataset\":\"").append(dataset).append('"');
+        line.append(",\"operations\":").append(operations);
+        line.append(",\"statementsPerOp\":").append(perOp(statistics.getPrepareStatementCount()));
+        line.append(",\"queriesPerOp\":").append(perOp(statistics.getQueryExecutionCount()));
+        line.append(",\"entityLoadsPerOp\":").append(perOp(statistics.getEntityLoadCount()));
+        line.append(",\"entityFetchesPerOp\":").append(perOp(statistics.getEntityFetchCount()));
+        line.append(",\"collectionFetchesPerOp\":").append(perOp(statistics.getCollectionFetchCount()));
+        line.append(",\"rowsPerOp\":").append(perOp(rows));
+        line.append("}\n");
+
+        Path file = Path.of(System.getProperty("bench.output", "target"), "jmh-query-shapes.jsonl");
+        Files.createDirectories(file.getParent());
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            out.write(line.toString());
+        }
+    }
+
+    private String perOp(long total) {
+        return String.format(Locale.ROOT, "%.2f", (double) total / operations);
+    }
+}
@@ -0,0 +1,30 @@
+package com.realestate.management.loadtest;
+
+// Every request the journeys make. The key names the endpoint in the SLO file and the report;
+// a redirect to the rejection prefix means the app turned the submission down (already
+// favorited, slot taken, duplicate application) rather than failing.
+enum Endpoint {
+    LOGIN("login", "POST /auth/login", null),
+    REGISTER("register", "POST /auth/register", null),
+    LIST("list", "GET /properties", null),
+    SEARCH("search", "GET /properties/search", null),
+    DETAILS("details", "GET /properties/{id}", null),
+    FAVORITE_ADD("favorite-add", "POST /favorites/add/{id}", null),
+    VIEWING_FORM("viewing-form", "GET /viewings/request/{id}", null),
+    VIEWING_SUBMIT("viewing-submit", "POST /viewings/request/{id}", "/viewings/request/"),
+    APPLICATION_FORM("application-form", "GET /applications/submit/{id}", null),
+    APPLICATION_SUBMIT("application-submit", "POST /applications/submit/{id}", "/applications/submit/"),
+    DASHBOARD("dashboard", "GET /dashboard", null),
+    APPLICATIONS_RECEIVED("applications-received", "GET /applications/received", null),
+    VIEWING_REQUESTS("viewing-requests", "GET /viewings/requests", null);
+
+    final String key;
+    final String label;
+    final String rejectedRedirect;
+
+    Endpoint(String key, String label, String rejectedRedirect) {
+        this.key = key;
+        this.label = label;
+        this.rejectedRedirect = rejectedRedirect;
+    }
+}
@@ -0,0 +1,71 @@
+package com.realestate.management.loadtest;
+
+import java.util.Arrays;
+
+// Outcomes and every latency for one endpoint over the measured part of the run. Latencies
+// are kept exactly (a few MB for a long run) and sorted once for the report.
+class EndpointStats {
+
+    enum Outcome {
+        OK,
+        REJECTED,
+        ERROR
+    }
+
+    final Endpoint endpoint;
+    private long[] latencies = new long[1024];
+    private int count;
+    private long rejected;
+    private long errors;
+    private long[] sorted;
+
+    EndpointStats(Endpoint endpoint) {
+        this.endpoint = endpoint;
+    }
+
+    synchronized void record(long micros, Outcome outcome) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = micros;
+        if (outcome == Outcome.REJECTED) {
+            rejected++;
+        } else if (outcome == Outcome.ERROR) {
+            errors++;
+        }
+        sorted = null;
+    }
+
+    synchronized int count() {
+        return count;
+    }
+
+    synchronized double errorRate() {
+        return count == 0 ? 0 : (double) errors / count;
+    }
+
+    synchronized double rejectedRate() {
+        return count == 0 ? 0 : (double) rejected / count;
+    }
+
+    synchronized long errors() {
+        return errors;
+    }
+
+    // Nearest-rank percentile in milliseconds
+    synchronized double percentileMillis(double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        if (sorted == null) {
+            sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+        }
+        int rank = (int) Math.ceil(quantile * count);
+        return sorted[Math.max(0, Math.min(count, rank) - 1)] / 1000.0;
+    }
+
+    double maxMillis() {
+        return percentileMillis(1.0);
+    }
+}
@@ -0,0 +1,47 @@
+package com.realestate.management.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+// A scripted visit. Buyers pick one of the buyer journeys by weight on each iteration;
+// owner accounts run REVIEW.
+enum Journey {
+    BROWSE(30),
+    SEARCH(25),
+    DETAILS(20),
+    FAVORITE(10),
+    VIEWING(8),
+    APPLICATION(7),
+    REVIEW(0);
+
+    final int defaultWeight;
+
+    Journey(int defaultWeight) {
+        this.defaultWeight = defaultWeight;
+    }
+
+    // Parse "browse:30,search:25,..."; journeys not mentioned keep their default weight
+    static Map<Journey, Integer> parseWeights(String spec) {
+        Map<Journey, Integer> weights = new EnumMap<>(Journey.class);
+        for (Journey journey : values()) {
+            if (journey != REVIEW) {
+                weights.put(journey, journey.defaultWeight);
+            }
+        }
+        if (spec == null || spec.isBlank()) {
+            return weights;
+        }
+        for (String entry : spec.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Journey weights look like browse:30,search:25 but got: " + entry);
+            }
+            Journey journey = valueOf(parts[0].trim().toUpperCase());
+            if (journey == REVIEW) {
+                throw new IllegalArgumentException("The review journey is run by owner accounts; set loadtest.owners instead");
+            }
+            weights.put(journey, Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
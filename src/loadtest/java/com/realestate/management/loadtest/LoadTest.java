@@ -0,0 +1,216 @@
+package com.realestate.management.loadtest;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Closed-model load generator for a locally started instance. Buyer and owner accounts log in
+// through /auth/login (registered on first use), replay weighted journeys with think time,
+// and only requests made after the warm-up count. Prints throughput, latency percentiles,
+// error and rejection rates per endpoint, writes the same as JSON, and exits with status 1
+// when a threshold in the SLO file is breached.
+//
+// Needs only the JDK:
+//   mvn -P loadtest test-compile exec:java -Dloadtest.users=50 -Dloadtest.duration-seconds=120
+// See LoadTestConfig for every loadtest.* setting and SloFile for the threshold format.
+// Against a database filled by DatasetGenerator the generated accounts already exist
+// and owner0 is the busiest agent, so owner pages carry realistic volumes.
+public class LoadTest {
+
+    final LoadTestConfig config;
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    private final AtomicReference<long[]> properties = new AtomicReference<>(new long[0]);
+    private final Set<String> failedLogins = ConcurrentHashMap.newKeySet();
+    private final Map<Endpoint, String> firstErrors = new ConcurrentHashMap<>();
+    private final int[] journeyThresholds;
+    private final Journey[] journeys;
+    private volatile boolean running = true;
+    private volatile boolean recording;
+
+    LoadTest(LoadTestConfig config) {
+        this.config = config;
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats(endpoint));
+        }
+        List<Journey> weighted = new ArrayList<>();
+        List<Integer> thresholds = new ArrayList<>();
+        int sum = 0;
+        for (Map.Entry<Journey, Integer> entry : config.weights.entrySet()) {
+            if (entry.getValue() > 0) {
+                sum += entry.getValue();
+                weighted.add(entry.getKey());
+                thresholds.add(sum);
+            }
+        }
+        if (weighted.isEmpty()) {
+            throw new IllegalArgumentException("At least one buyer journey needs a positive weight");
+        }
+        this.journeys = weighted.toArray(new Journey[0]);
+        this.journeyThresholds = thresholds.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        SloFile slo = Files.exists(config.sloFile) ? SloFile.load(config.sloFile) : SloFile.none();
+        System.exit(new LoadTest(config).execute(slo));
+    }
+
+    int execute(SloFile slo) throws Exception {
+        System.out.println("Load test against " + config);
+        HttpClient client = HttpClient.newBuilder()
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newCachedThreadPool())
+            .build();
+
+        // Seed the listing ids from the public list page before anyone starts
+        HttpResponse<String> list = client.send(HttpRequest.newBuilder(URI.create(config.baseUrl + "/properties")).build(),
+            HttpResponse.BodyHandlers.ofString());
+        discoverProperties(VirtualUser.propertyIds(list.body()));
+        if (properties.get().length == 0) {
+            System.err.println("No approved listings at " + config.baseUrl + "/properties; load some data first");
+            return 2;
+        }
+
+        List<Thread> threads = new ArrayList<>();
+        Random seeds = new Random(config.seed);
+        int total = config.buyers + config.owners;
+        long rampStepMillis = total == 0 ? 0 : config.rampUp.toMillis() / total;
+        for (int i = 0; i < total; i++) {
+            boolean owner = i < config.owners;
+            String email = owner ? config.ownerEmail(i) : config.buyerEmail(i - config.owners);
+            Thread thread = new Thread(new VirtualUser(this, client, email, owner, seeds.nextLong()), "vu-" + i);
+            threads.add(thread);
+            thread.start();
+            Thread.sleep(rampStepMillis);
+        }
+
+        Thread.sleep(config.warmup.toMillis());
+        recording = true;
+        long measuredFrom = System.nanoTime();
+        Thread.sleep(config.duration.toMillis());
+        recording = false;
+        double seconds = (System.nanoTime() - measuredFrom) / 1e9;
+        running = false;
+        for (Thread thread : threads) {
+            thread.join(Duration.ofSeconds(35).toMillis());
+        }
+
+        report(seconds);
+        writeJson(seconds);
+        if (!failedLogins.isEmpty()) {
+            System.err.println(failedLogins.size() + " accounts could not log in, e.g. " + failedLogins.iterator().next());
+        }
+
+        List<String> breaches = slo.evaluate(stats.values(), seconds);
+        if (breaches.isEmpty()) {
+            System.out.println("All SLO thresholds met");
+            return 0;
+        }
+        System.err.println("SLO breached:");
+        breaches.forEach(breach -> System.err.println("  " + breach));
+        return 1;
+    }
+
+    boolean isRunning() {
+        return running;
+    }
+
+    Journey pickJourney(Random random) {
+        int roll = random.nextInt(journeyThresholds[journeyThresholds.length - 1]);
+        for (int i = 0; i < journeys.length; i++) {
+            if (roll < journeyThresholds[i]) {
+                return journeys[i];
+            }
+        }
+        return journeys[journeys.length - 1];
+    }
+
+    void record(Endpoint endpoint, long micros, EndpointStats.Outcome outcome) {
+        if (recording) {
+            stats.get(endpoint).record(micros, outcome);
+        }
+    }
+
+    // Keep the first measured failure per endpoint so the report can say what went wrong
+    void noteError(Endpoint endpoint, String description) {
+        if (recording) {
+            firstErrors.putIfAbsent(endpoint, description);
+        }
+    }
+
+    void loginFailed(String email) {
+        failedLogins.add(email);
+    }
+
+    long[] knownProperties() {
+        return properties.get();
+    }
+
+    // Keep the largest id list seen; the list page is the only place the journeys learn ids
+    void discoverProperties(long[] ids) {
+        properties.accumulateAndGet(ids, (current, seen) -> seen.length > current.length ? seen : current);
+    }
+
+    private void report(double seconds) {
+        System.out.printf(Locale.ROOT, "%n%-34s %8s %8s %8s %8s %8s %8s %8s %7s %7s%n", "endpoint", "count", "rps",
+            "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms", "err %", "rej %");
+        long count = 0;
+        long errors = 0;
+        for (EndpointStats endpoint : activeStats()) {
+            count += endpoint.count();
+            errors += endpoint.errors();
+            System.out.printf(Locale.ROOT, "%-34s %8d %8.1f %8.1f %8.1f %8.1f %8.1f %8.1f %7.2f %7.2f%n",
+                endpoint.endpoint.label, endpoint.count(), endpoint.count() / seconds,
+                endpoint.percentileMillis(0.50), endpoint.percentileMillis(0.95), endpoint.percentileMillis(0.99),
+                endpoint.percentileMillis(0.999), endpoint.maxMillis(),
+                100 * endpoint.errorRate(), 100 * endpoint.rejectedRate());
+        }
+        System.out.printf(Locale.ROOT, "%-34s %8d %8.1f %62s %7.2f%n%n", "total", count, count / seconds, "",
+            count == 0 ? 0.0 : 100.0 * errors / count);
+        firstErrors.forEach((endpoint, description) ->
+            System.out.println("First error on " + endpoint.label + ": " + description));
+    }
+
+    private void writeJson(double seconds) throws IOException {
+        Files.createDirectories(config.reportFile.toAbsolutePath().getParent());
+        try (Writer out = Files.newBufferedWriter(config.reportFile, StandardCharsets.UTF_8)) {
+            out.write(String.format(Locale.ROOT, "{\"seconds\":%.3f,\"buyers\":%d,\"owners\":%d,\"endpoints\":[",
+                seconds, config.buyers, config.owners));
+            boolean first = true;
+            for (EndpointStats endpoint : activeStats()) {
+                out.write(first ? "\n" : ",\n");
+                out.write(String.format(Locale.ROOT,
+                    "{\"key\":\"%s\",\"endpoint\":\"%s\",\"count\":%d,\"rps\":%.2f,\"p50Ms\":%.3f,\"p95Ms\":%.3f,"
+                        + "\"p99Ms\":%.3f,\"p999Ms\":%.3f,\"maxMs\":%.3f,\"errorRate\":%.5f,\"rejectedRate\":%.5f}",
+                    endpoint.endpoint.key, endpoint.endpoint.label, endpoint.count(), endpoint.count() / seconds,
+                    endpoint.percentileMillis(0.50), endpoint.percentileMillis(0.95), endpoint.percentileMillis(0.99),
+                    endpoint.percentileMillis(0.999), endpoint.maxMillis(), endpoint.errorRate(), endpoint.rejectedRate()));
+                first = false;
+            }
+            out.write("\n]}\n");
+        }
+        System.out.println("Report written to " + config.reportFile);
+    }
+
+    private Collection<EndpointStats> activeStats() {
+        return stats.values().stream().filter(endpoint -> endpoint.count() > 0).toList();
+    }
+}
@@ -0,0 +1,60 @@
+package com.realestate.management.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+// Run settings, read from loadtest.* system properties
+class LoadTestConfig {
+
+    final String baseUrl;
+    final int buyers;
+    final int owners;
+    final Duration warmup;
+    final Duration duration;
+    final Duration rampUp;
+    final long thinkMillis;
+    final String accountPrefix;
+    final String password;
+    final Map<Journey, Integer> weights;
+    final Path sloFile;
+    final Path reportFile;
+    final long seed;
+
+    private LoadTestConfig() {
+        String url = System.getProperty("loadtest.base-url", "http://localhost:8080");
+        this.baseUrl = url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+        this.buyers = Integer.getInteger("loadtest.users", 20);
+        this.owners = Integer.getInteger("loadtest.owners", 2);
+        this.warmup = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 15L));
+        this.duration = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60L));
+        this.rampUp = Duration.ofSeconds(Long.getLong("loadtest.ramp-up-seconds", 10L));
+        this.thinkMillis = Long.getLong("loadtest.think-ms", 200L);
+        this.accountPrefix = System.getProperty("loadtest.account-prefix", "loadtest");
+        this.password = System.getProperty("loadtest.password", "loadtest-password");
+        this.weights = Journey.parseWeights(System.getProperty("loadtest.weights"));
+        this.sloFile = Path.of(System.getProperty("loadtest.slo", "src/loadtest/slo.properties"));
+        this.reportFile = Path.of(System.getProperty("loadtest.report", "target/loadtest-report.json"));
+        this.seed = Long.getLong("loadtest.seed", 42L);
+    }
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig();
+    }
+
+    // Accounts are Gmail addresses because registration only accepts those
+    String buyerEmail(int index) {
+        return accountPrefix + "buyer" + index + "@gmail.com";
+    }
+
+    String ownerEmail(int index) {
+        return accountPrefix + "owner" + index + "@gmail.com";
+    }
+
+    @Override
+    public String toString() {
+        return baseUrl + " with " + buyers + " buyers and " + owners + " owners, "
+            + warmup.toSeconds() + "s warm-up, " + duration.toSeconds() + "s measured, "
+            + thinkMillis + "ms mean think time, weights " + weights;
+    }
+}
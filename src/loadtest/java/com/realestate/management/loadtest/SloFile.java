@@ -0,0 +1,115 @@
+package com.realestate.management.loadtest;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.Set;
+
+// Thresholds the run must meet, as a properties file of <scope>.<metric>=<limit>. The scope is
+// an endpoint key (see Endpoint), "default" for every endpoint without its own limit, or
+// "total" for the whole run. Latency metrics: p50-ms, p95-ms, p99-ms, p999-ms, max-ms;
+// rate metrics: max-error-rate (0..1) and min-rps.
+class SloFile {
+
+    private static final Set<String> METRICS = Set.of("p50-ms", "p95-ms", "p99-ms", "p999-ms", "max-ms",
+        "max-error-rate", "min-rps");
+
+    private final Properties limits;
+
+    private SloFile(Properties limits) {
+        this.limits = limits;
+    }
+
+    static SloFile load(Path file) throws IOException {
+        Properties limits = new Properties();
+        try (Reader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            limits.load(in);
+        }
+        for (String key : limits.stringPropertyNames()) {
+            int dot = key.lastIndexOf('.');
+            String scope = dot < 0 ? "" : key.substring(0, dot);
+            String metric = key.substring(dot + 1);
+            if (!METRICS.contains(metric) || !isScope(scope)) {
+                throw new IllegalArgumentException("Unknown SLO entry in " + file + ": " + key);
+            }
+            if (scope.equals("total") && metric.endsWith("-ms")) {
+                throw new IllegalArgumentException("Latency limits are per endpoint; use default." + metric);
+            }
+            Double.parseDouble(limits.getProperty(key));
+        }
+        return new SloFile(limits);
+    }
+
+    static SloFile none() {
+        return new SloFile(new Properties());
+    }
+
+    // Every breached threshold, described for the console
+    List<String> evaluate(Collection<EndpointStats> endpoints, double seconds) {
+        List<String> breaches = new ArrayList<>();
+        long total = 0;
+        long errors = 0;
+        for (EndpointStats stats : endpoints) {
+            total += stats.count();
+            errors += stats.errors();
+            String key = stats.endpoint.key;
+            if (stats.count() == 0) {
+                if (hasScope(key)) {
+                    breaches.add(key + ": no requests recorded");
+                }
+                continue;
+            }
+            checkEndpoint(breaches, key, "p50-ms", stats.percentileMillis(0.50), true);
+            checkEndpoint(breaches, key, "p95-ms", stats.percentileMillis(0.95), true);
+            checkEndpoint(breaches, key, "p99-ms", stats.percentileMillis(0.99), true);
+            checkEndpoint(breaches, key, "p999-ms", stats.percentileMillis(0.999), true);
+            checkEndpoint(breaches, key, "max-ms", stats.maxMillis(), true);
+            checkEndpoint(breaches, key, "max-error-rate", stats.errorRate(), true);
+            checkEndpoint(breaches, key, "min-rps", stats.count() / seconds, false);
+        }
+        check(breaches, "total", "max-error-rate", total == 0 ? 0 : (double) errors / total, true, "total");
+        check(breaches, "total", "min-rps", total / seconds, false, "total");
+        return breaches;
+    }
+
+    // An endpoint's own limit wins over the default one
+    private void checkEndpoint(List<String> breaches, String key, String metric, double actual, boolean upper) {
+        String scope = limits.containsKey(key + "." + metric) ? key : "default";
+        check(breaches, scope, metric, actual, upper, key);
+    }
+
+    private void check(List<String> breaches, String scope, String metric, double actual, boolean upper, String name) {
+        String limit = limits.getProperty(scope + "." + metric);
+        if (limit == null) {
+            return;
+        }
+        double threshold = Double.parseDouble(limit);
+        if (upper ? actual > threshold : actual < threshold) {
+            breaches.add(String.format(Locale.ROOT, "%s %s = %.3f, limit %s %s", name, metric, actual,
+                upper ? "<=" : ">=", limit));
+        }
+    }
+
+    private boolean hasScope(String scope) {
+        return limits.stringPropertyNames().stream().anyMatch(key -> key.startsWith(scope + "."));
+    }
+
+    private static boolean isScope(String scope) {
+        if (scope.equals("default") || scope.equals("total")) {
+            return true;
+        }
+        for (Endpoint endpoint : Endpoint.values()) {
+            if (endpoint.key.equals(scope)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
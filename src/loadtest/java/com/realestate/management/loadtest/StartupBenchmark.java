@@ -0,0 +1,200 @@
+package com.realestate.management.loadtest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Cold-start benchmark for the packaged application. Starts it several times in each mode and
+// records two numbers per start: the JVM uptime Spring Boot reports in "Started ... (process
+// running for N)", and the wall time until GET /properties first answers 200.
+//   default   the fat jar as built, schema update and eager beans
+//   prod      the fat jar with the prod profile
+//   prod-cds  the thin jar with the prod profile and the class-data-sharing archive (-P cds)
+// Needs the database like any start. After mvn package (and mvn -P cds package for prod-cds):
+//   mvn -P loadtest exec:java -Dloadtest.main=com.realestate.management.loadtest.StartupBenchmark
+// Settings: startup.runs (5), startup.port (18080), startup.modes (all that are built),
+// startup.max-ready-ms (fail when the last mode's median time to ready is above it).
+public class StartupBenchmark {
+
+    private static final Pattern STARTED = Pattern.compile(
+        "Started \\w+ in [\\d.]+ seconds \\(process running for ([\\d.]+)\\)");
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(3);
+
+    private record Mode(String name, List<String> command) {
+    }
+
+    private record Run(long jvmMillis, long readyMillis) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int runs = Integer.getInteger("startup.runs", 5);
+        int port = Integer.getInteger("startup.port", 18080);
+        Path target = Path.of(System.getProperty("startup.target", "target"));
+        List<Mode> modes = modes(target, port, System.getProperty("startup.modes"));
+        if (modes.isEmpty()) {
+            System.err.println("No packaged application under " + target + "; run mvn package first");
+            System.exit(2);
+        }
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        Map<String, List<Run>> results = new LinkedHashMap<>();
+        for (Mode mode : modes) {
+            List<Run> modeRuns = new ArrayList<>();
+            for (int i = 0; i < runs; i++) {
+                Run run = start(mode, client, port);
+                System.out.printf(Locale.ROOT, "%-9s run %d: JVM reported %6d ms, ready after %6d ms%n",
+                    mode.name(), i + 1, run.jvmMillis(), run.readyMillis());
+                modeRuns.add(run);
+            }
+            results.put(mode.name(), modeRuns);
+        }
+
+        System.out.printf(Locale.ROOT, "%n%-9s %12s %12s %12s %12s%n", "mode", "jvm median", "ready median",
+            "ready min", "ready max");
+        for (Map.Entry<String, List<Run>> entry : results.entrySet()) {
+            long[] ready = entry.getValue().stream().mapToLong(Run::readyMillis).sorted().toArray();
+            long[] jvm = entry.getValue().stream().mapToLong(Run::jvmMillis).sorted().toArray();
+            System.out.printf(Locale.ROOT, "%-9s %9d ms %9d ms %9d ms %9d ms%n", entry.getKey(),
+                median(jvm), median(ready), ready[0], ready[ready.length - 1]);
+        }
+        writeJson(target.resolve("startup-report.json"), results);
+
+        String limit = System.getProperty("startup.max-ready-ms");
+        if (limit != null) {
+            String last = modes.get(modes.size() - 1).name();
+            long ready = median(results.get(last).stream().mapToLong(Run::readyMillis).sorted().toArray());
+            if (ready > Long.parseLong(limit)) {
+                System.err.println(last + " took " + ready + " ms to become ready, limit is " + limit + " ms");
+                System.exit(1);
+            }
+        }
+        System.exit(0);
+    }
+
+    private static List<Mode> modes(Path target, int port, String selected) throws IOException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        String portArgument = "--server.port=" + port;
+        List<Mode> modes = new ArrayList<>();
+        Path fatJar;
+        try (Stream<Path> files = Files.list(target)) {
+            fatJar = files.filter(file -> file.getFileName().toString().endsWith(".jar")).findFirst().orElse(null);
+        }
+        if (fatJar != null) {
+            modes.add(new Mode("default", List.of(java, "-jar", fatJar.toString(), portArgument)));
+            modes.add(new Mode("prod", List.of(java, "-Dspring.profiles.active=prod", "-jar", fatJar.toString(),
+                portArgument)));
+        }
+        Path cds = target.resolve("cds");
+        Path archive = cds.resolve("application.jsa");
+        if (Files.exists(archive)) {
+            try (Stream<Path> files = Files.list(cds)) {
+                Path thinJar = files.filter(file -> file.getFileName().toString().endsWith("-cds.jar"))
+                    .findFirst().orElse(null);
+                if (thinJar != null) {
+                    modes.add(new Mode("prod-cds", List.of(java, "-XX:SharedArchiveFile=" + archive,
+                        "-Dspring.profiles.active=prod", "-jar", thinJar.toString(), portArgument)));
+                }
+            }
+        }
+        if (selected != null && !selected.isBlank()) {
+            List<String> names = Arrays.asList(selected.split("\\s*,\\s*"));
+            modes.removeIf(mode -> !names.contains(mode.name()));
+        }
+        return modes;
+    }
+
+    private static Run start(Mode mode, HttpClient client, int port) throws Exception {
+        long startedAt = System.nanoTime();
+        Process process = new ProcessBuilder(mode.command()).redirectErrorStream(true).start();
+        CompletableFuture<Long> reported = new CompletableFuture<>();
+        Thread reader = new Thread(() -> {
+            try (BufferedReader lines = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = lines.readLine()) != null) {
+                    Matcher matcher = STARTED.matcher(line);
+                    if (matcher.find()) {
+                        reported.complete((long) (Double.parseDouble(matcher.group(1)) * 1000));
+                    }
+                }
+            } catch (IOException e) {
+                reported.completeExceptionally(e);
+            }
+            reported.completeExceptionally(new IllegalStateException(mode.name() + " exited before it started"));
+        }, "startup-log");
+        reader.setDaemon(true);
+        reader.start();
+
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/properties"))
+                .timeout(Duration.ofSeconds(5)).build();
+            long deadline = startedAt + START_TIMEOUT.toNanos();
+            while (true) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode.name() + " exited with status " + process.exitValue());
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException(mode.name() + " was not ready within " + START_TIMEOUT);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        break;
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(20);
+            }
+            long readyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            return new Run(reported.get(10, TimeUnit.SECONDS), readyMillis);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    private static long median(long[] sorted) {
+        return sorted[sorted.length / 2];
+    }
+
+    private static void writeJson(Path file, Map<String, List<Run>> results) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("{");
+            boolean firstMode = true;
+            for (Map.Entry<String, List<Run>> entry : results.entrySet()) {
+                out.write((firstMode ? "\n" : ",\n") + "\"" + entry.getKey() + "\":[");
+                boolean firstRun = true;
+                for (Run run : entry.getValue()) {
+                    out.write((firstRun ? "" : ",") + "{\"jvmMs\":" + run.jvmMillis() + ",\"readyMs\":" + run.readyMillis() + "}");
+                    firstRun = false;
+                }
+                out.write("]");
+                firstMode = false;
+            }
+            out.write("\n}\n");
+        }
+        System.out.println("Report written to " + file);
+    }
+}
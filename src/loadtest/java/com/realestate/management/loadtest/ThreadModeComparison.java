@@ -0,0 +1,86 @@
+package com.realestate.management.loadtest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Puts two LoadTest reports side by side: throughput and p99 per endpoint, and the totals.
+// Meant for platform threads against virtual threads with the same load and dataset:
+//   1. start the app as usual, then
+//      mvn -P loadtest test-compile exec:java -Dloadtest.report=target/loadtest-platform.json
+//   2. restart it with the "virtual-threads" profile (JDK 21+), then
+//      mvn -P loadtest exec:java -Dloadtest.report=target/loadtest-virtual.json
+//   3. mvn -P loadtest exec:java -Dloadtest.main=com.realestate.management.loadtest.ThreadModeComparison
+// Use enough users, and little enough think time, that the platform run saturates its worker
+// pool or the connection pool; below that point both modes measure the same thing.
+public class ThreadModeComparison {
+
+    private static final Pattern ENDPOINT = Pattern.compile(
+        "\"endpoint\":\"([^\"]*)\".*?\"rps\":([\\d.]+).*?\"p99Ms\":([\\d.]+).*?\"errorRate\":([\\d.]+)");
+
+    private record Row(double rps, double p99Ms, double errorRate) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path baselineFile = Path.of(System.getProperty("loadtest.compare.baseline", "target/loadtest-platform.json"));
+        Path candidateFile = Path.of(System.getProperty("loadtest.compare.candidate", "target/loadtest-virtual.json"));
+        Map<String, Row> baseline = read(baselineFile);
+        Map<String, Row> candidate = read(candidateFile);
+
+        System.out.println("Baseline:  " + baselineFile);
+        System.out.println("Candidate: " + candidateFile);
+        System.out.printf(Locale.ROOT, "%n%-34s %9s %9s %8s %10s %10s %8s %8s %8s%n", "endpoint",
+            "rps base", "rps new", "change", "p99 base", "p99 new", "change", "err% base", "err% new");
+        double baselineRps = 0;
+        double candidateRps = 0;
+        double baselineWorstP99 = 0;
+        double candidateWorstP99 = 0;
+        for (Map.Entry<String, Row> entry : baseline.entrySet()) {
+            Row before = entry.getValue();
+            Row after = candidate.get(entry.getKey());
+            baselineRps += before.rps();
+            baselineWorstP99 = Math.max(baselineWorstP99, before.p99Ms());
+            if (after == null) {
+                System.out.printf(Locale.ROOT, "%-34s %9.1f %9s%n", entry.getKey(), before.rps(), "-");
+                continue;
+            }
+            System.out.printf(Locale.ROOT, "%-34s %9.1f %9.1f %8s %10.1f %10.1f %8s %8.2f %8.2f%n", entry.getKey(),
+                before.rps(), after.rps(), change(before.rps(), after.rps()),
+                before.p99Ms(), after.p99Ms(), change(before.p99Ms(), after.p99Ms()),
+                100 * before.errorRate(), 100 * after.errorRate());
+        }
+        for (Row row : candidate.values()) {
+            candidateRps += row.rps();
+            candidateWorstP99 = Math.max(candidateWorstP99, row.p99Ms());
+        }
+        System.out.printf(Locale.ROOT, "%-34s %9.1f %9.1f %8s %10.1f %10.1f %8s%n", "total / worst p99",
+            baselineRps, candidateRps, change(baselineRps, candidateRps),
+            baselineWorstP99, candidateWorstP99, change(baselineWorstP99, candidateWorstP99));
+    }
+
+    private static Map<String, Row> read(Path file) throws IOException {
+        Map<String, Row> rows = new LinkedHashMap<>();
+        // LoadTest writes one endpoint object per line
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            Matcher matcher = ENDPOINT.matcher(line);
+            if (matcher.find()) {
+                rows.put(matcher.group(1), new Row(Double.parseDouble(matcher.group(2)),
+                    Double.parseDouble(matcher.group(3)), Double.parseDouble(matcher.group(4))));
+            }
+        }
+        if (rows.isEmpty()) {
+            throw new IllegalArgumentException("No endpoint results in " + file);
+        }
+        return rows;
+    }
+
+    private static String change(double before, double after) {
+        return before == 0 ? "-" : String.format(Locale.ROOT, "%+.0f%%", 100 * (after - before) / before);
+    }
+}
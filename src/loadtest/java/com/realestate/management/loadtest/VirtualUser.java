@@ -0,0 +1,306 @@
+package com.realestate.management.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// One logged-in browser: its own cookie jar (session and replica pin cookies) over the shared
+// HTTP client, replaying journeys until the run ends. Redirects are not followed, so each
+// recorded latency is a single request to the app.
+class VirtualUser implements Runnable {
+
+    private static final Pattern PROPERTY_LINK = Pattern.compile("/properties/(\\d+)\"");
+    private static final Pattern REQUEST_KEY = Pattern.compile("name=\"requestKey\"[^>]*?value=\"([^\"]*)\"");
+    private static final Pattern SLOT = Pattern.compile("name=\"viewingDate\"\\s+value=\"([^\"]+)\"");
+    private static final DateTimeFormatter SLOT_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+    private static final String[] CITIES = {"Austin", "Seattle", "Denver", "Boston", "Chicago", "Miami"};
+    private static final int LOGIN_ATTEMPTS = 8;
+
+    private final LoadTest run;
+    private final HttpClient client;
+    private final String email;
+    private final boolean owner;
+    private final Random random;
+    private final Map<String, String> cookies = new ConcurrentHashMap<>();
+
+    VirtualUser(LoadTest run, HttpClient client, String email, boolean owner, long seed) {
+        this.run = run;
+        this.client = client;
+        this.email = email;
+        this.owner = owner;
+        this.random = new Random(seed);
+    }
+
+    @Override
+    public void run() {
+        try {
+            if (!login()) {
+                run.loginFailed(email);
+                return;
+            }
+            while (run.isRunning()) {
+                perform(owner ? Journey.REVIEW : run.pickJourney(random));
+                think();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Log in, registering the account the first time; login throttling and a busy password
+    // hasher both redirect back to the login page, so back off and retry
+    private boolean login() throws InterruptedException {
+        boolean registered = false;
+        for (int attempt = 0; attempt < LOGIN_ATTEMPTS; attempt++) {
+            Response response = post(Endpoint.LOGIN, "/auth/login", form("email", email, "password", run.config.password));
+            if (response != null && response.isRedirect() && !response.location.contains("/auth/login")) {
+                return true;
+            }
+            if (!registered) {
+                register();
+                registered = true;
+                continue;
+            }
+            Thread.sleep(TimeUnit.SECONDS.toMillis(1L << Math.min(attempt, 4)));
+        }
+        return false;
+    }
+
+    private void register() {
+        post(Endpoint.REGISTER, "/auth/register", form(
+            "firstName", "Load",
+            "lastName", "Test",
+            "email", email,
+            "phone", "555-0100",
+            "password", run.config.password,
+            "role", owner ? "OWNER" : "BUYER"));
+    }
+
+    void perform(Journey journey) throws InterruptedException {
+        switch (journey) {
+            case BROWSE -> browse();
+            case SEARCH -> search();
+            case DETAILS -> get(Endpoint.DETAILS, "/properties/" + pickProperty());
+            case FAVORITE -> favorite();
+            case VIEWING -> requestViewing();
+            case APPLICATION -> submitApplication();
+            case REVIEW -> review();
+        }
+    }
+
+    private void browse() {
+        Response response = get(Endpoint.LIST, "/properties");
+        if (response != null && response.status == 200) {
+            run.discoverProperties(propertyIds(response.body));
+        }
+    }
+
+    private void search() {
+        StringJoiner query = new StringJoiner("&", "/properties/search?", "");
+        if (random.nextInt(4) != 0) {
+            query.add("city=" + CITIES[(int) (CITIES.length * Math.pow(random.nextDouble(), 2))]);
+        }
+        if (random.nextBoolean()) {
+            query.add("listingType=" + (random.nextInt(10) < 7 ? "SALE" : "RENT"));
+        }
+        if (random.nextInt(3) == 0) {
+            int min = 100_000 + random.nextInt(10) * 50_000;
+            query.add("minPrice=" + min).add("maxPrice=" + (min + 250_000));
+        }
+        if (random.nextInt(4) == 0) {
+            query.add("bedrooms=" + (1 + random.nextInt(4)));
+        }
+        get(Endpoint.SEARCH, query.toString());
+    }
+
+    private void favorite() throws InterruptedException {
+        long propertyId = pickProperty();
+        get(Endpoint.DETAILS, "/properties/" + propertyId);
+        think();
+        post(Endpoint.FAVORITE_ADD, "/favorites/add/" + propertyId, form("returnTo", "/properties/" + propertyId));
+    }
+
+    private void requestViewing() throws InterruptedException {
+        long propertyId = pickProperty();
+        get(Endpoint.DETAILS, "/properties/" + propertyId);
+        think();
+        Response page = get(Endpoint.VIEWING_FORM, "/viewings/request/" + propertyId);
+        if (page == null || page.status != 200) {
+            return;
+        }
+        think();
+        // Take the first published slot, or ask for a time a few days out when the owner has none
+        String slot = first(SLOT, page.body);
+        if (slot == null) {
+            slot = LocalDateTime.now().plusDays(2 + random.nextInt(5)).withHour(9 + random.nextInt(8))
+                .withMinute(0).format(SLOT_FORMAT);
+        }
+        post(Endpoint.VIEWING_SUBMIT, "/viewings/request/" + propertyId, form(
+            "requestKey", first(REQUEST_KEY, page.body),
+            "viewingDate", slot,
+            "message", "Load test viewing request"));
+    }
+
+    private void submitApplication() throws InterruptedException {
+        long propertyId = pickProperty();
+        get(Endpoint.DETAILS, "/properties/" + propertyId);
+        think();
+        Response page = get(Endpoint.APPLICATION_FORM, "/applications/submit/" + propertyId);
+        if (page == null || page.status != 200) {
+            return;
+        }
+        think();
+        post(Endpoint.APPLICATION_SUBMIT, "/applications/submit/" + propertyId, form(
+            "requestKey", first(REQUEST_KEY, page.body),
+            "fullName", "Load Test",
+            "email", email,
+            "phone", "555-0100",
+            "employmentStatus", "FULL_TIME",
+            "annualIncome", "90000",
+            "moveInDate", LocalDateTime.now().plusDays(30).toLocalDate().toString(),
+            "message", "Load test application"));
+    }
+
+    private void review() throws InterruptedException {
+        get(Endpoint.DASHBOARD, "/dashboard");
+        think();
+        get(Endpoint.APPLICATIONS_RECEIVED, "/applications/received");
+        think();
+        get(Endpoint.VIEWING_REQUESTS, "/viewings/requests");
+    }
+
+    // Popular listings get most of the traffic: the first ids seen are picked most often
+    private long pickProperty() {
+        long[] ids = run.knownProperties();
+        return ids[(int) (ids.length * Math.pow(random.nextDouble(), 3))];
+    }
+
+    // Exponentially distributed pause with the configured mean
+    private void think() throws InterruptedException {
+        if (run.config.thinkMillis > 0) {
+            Thread.sleep((long) (-run.config.thinkMillis * Math.log(1 - random.nextDouble())));
+        }
+    }
+
+    private Response get(Endpoint endpoint, String path) {
+        return send(endpoint, HttpRequest.newBuilder(URI.create(run.config.baseUrl + path)).GET());
+    }
+
+    private Response post(Endpoint endpoint, String path, String form) {
+        return send(endpoint, HttpRequest.newBuilder(URI.create(run.config.baseUrl + path))
+            .header("Content-Type", "application/x-www-form-urlencoded")
+            .POST(HttpRequest.BodyPublishers.ofString(form)));
+    }
+
+    private Response send(Endpoint endpoint, HttpRequest.Builder builder) {
+        if (!cookies.isEmpty()) {
+            StringJoiner header = new StringJoiner("; ");
+            cookies.forEach((name, value) -> header.add(name + "=" + value));
+            builder.header("Cookie", header.toString());
+        }
+        HttpRequest request = builder.timeout(Duration.ofSeconds(30)).build();
+
+        long start = System.nanoTime();
+        Response response;
+        try {
+            HttpResponse<String> http = client.send(request, HttpResponse.BodyHandlers.ofString());
+            response = new Response(http.statusCode(), http.headers().firstValue("Location").orElse(""), http.body());
+            storeCookies(http.headers().allValues("Set-Cookie"));
+        } catch (IOException e) {
+            response = null;
+            run.noteError(endpoint, e.toString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response = null;
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+        EndpointStats.Outcome outcome = classify(endpoint, response);
+        if (outcome == EndpointStats.Outcome.ERROR && response != null) {
+            run.noteError(endpoint, "HTTP " + response.status + (response.isRedirect() ? " to " + response.location : ""));
+        }
+        run.record(endpoint, micros, outcome);
+        return response;
+    }
+
+    private EndpointStats.Outcome classify(Endpoint endpoint, Response response) {
+        if (response == null || response.status >= 400) {
+            return EndpointStats.Outcome.ERROR;
+        }
+        if (!response.isRedirect()) {
+            return EndpointStats.Outcome.OK;
+        }
+        if (response.location.contains("/auth/login")) {
+            // Lost the session, except where the login page is the expected destination
+            return endpoint == Endpoint.REGISTER ? EndpointStats.Outcome.OK
+                : endpoint == Endpoint.LOGIN ? EndpointStats.Outcome.REJECTED : EndpointStats.Outcome.ERROR;
+        }
+        if (endpoint.rejectedRedirect != null && response.location.contains(endpoint.rejectedRedirect)) {
+            return EndpointStats.Outcome.REJECTED;
+        }
+        return EndpointStats.Outcome.OK;
+    }
+
+    private void storeCookies(List<String> headers) {
+        for (String header : headers) {
+            String pair = header.split(";", 2)[0];
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                String name = pair.substring(0, equals).trim();
+                String value = pair.substring(equals + 1).trim();
+                if (value.isEmpty() || header.toLowerCase().contains("max-age=0")) {
+                    cookies.remove(name);
+                } else {
+                    cookies.put(name, value);
+                }
+            }
+        }
+    }
+
+    static long[] propertyIds(String html) {
+        Matcher matcher = PROPERTY_LINK.matcher(html);
+        Map<Long, Boolean> ids = new LinkedHashMap<>();
+        while (matcher.find()) {
+            ids.put(Long.parseLong(matcher.group(1)), Boolean.TRUE);
+        }
+        return ids.keySet().stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private static String first(Pattern pattern, String html) {
+        Matcher matcher = pattern.matcher(html);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private static String form(String... pairs) {
+        StringJoiner body = new StringJoiner("&");
+        for (int i = 0; i < pairs.length; i += 2) {
+            if (pairs[i + 1] != null) {
+                body.add(URLEncoder.encode(pairs[i], StandardCharsets.UTF_8) + "="
+                    + URLEncoder.encode(pairs[i + 1], StandardCharsets.UTF_8));
+            }
+        }
+        return body.toString();
+    }
+
+    private record Response(int status, String location, String body) {
+
+        boolean isRedirect() {
+            return status >= 300 && status < 400;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.realestate.management.api;
+
+import com.realestate.management.metrics.MetricsRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// The JSON read API: its own servlet, query pool and JDBC read path. It shares the domain
+// model and the data source with the MVC side and nothing else.
+@Configuration
+public class ListingApiConfig implements DisposableBean {
+
+    private ThreadPoolExecutor queryExecutor;
+
+    @Bean
+    public ListingReadDao listingReadDao(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        return new ListingReadDao(jdbcTemplate, transactionManager);
+    }
+
+    @Bean
+    public ServletRegistrationBean<ListingApiServlet> listingApiServlet(
+            ListingReadDao listingReadDao,
+            MetricsRegistry metricsRegistry,
+            @Value("${api.query-threads:4}") int threads,
+            @Value("${api.queue-capacity:2000}") int queueCapacity,
+            @Value("${api.timeout-ms:10000}") long timeoutMillis,
+            @Value("${api.page-size:50}") int pageSize,
+            @Value("${api.max-page-size:200}") int maxPageSize) {
+        // Few threads on purpose: they bound how much database work the API can ask for at once.
+        // Not a bean, since any Executor bean would replace Spring Boot's application task executor
+        AtomicInteger threadNumber = new AtomicInteger();
+        queryExecutor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "listing-api-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        MetricsRegistry.Type gauge = MetricsRegistry.Type.GAUGE;
+        metricsRegistry.gauge("listing_api_queries_active", "Listing API queries running", gauge,
+            queryExecutor::getActiveCount);
+        metricsRegistry.gauge("listing_api_queries_queued", "Listing API queries waiting for a thread", gauge,
+            () -> queryExecutor.getQueue().size());
+        metricsRegistry.gauge("listing_api_queries_completed_total", "Listing API queries finished",
+            MetricsRegistry.Type.COUNTER, queryExecutor::getCompletedTaskCount);
+
+        ServletRegistrationBean<ListingApiServlet> registration = new ServletRegistrationBean<>(
+            new ListingApiServlet(listingReadDao, queryExecutor, timeoutMillis, pageSize, maxPageSize),
+            "/api/v1/properties", "/api/v1/properties/*");
+        registration.setName("listingApi");
+        registration.setAsyncSupported(true);
+        registration.setLoadOnStartup(1);
+        return registration;
+    }
+
+    @Override
+    public void destroy() {
+        if (queryExecutor != null) {
+            queryExecutor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.realestate.management.api;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.Pattern;
+
+// Read-only JSON API for listings, served next to the MVC pages but outside the dispatcher:
+//   GET /api/v1/properties                 newest approved listings, one keyset page
+//   GET /api/v1/properties/search?city=... same filters as the search page
+//   GET /api/v1/properties/{id}            one approved listing with description and owner
+// Pages take ?limit= and continue with the "next" link (?after=<last id>).
+//
+// A request thread only parses the request and starts async processing. The query runs on
+// the small fixed query pool, and the response is written with non-blocking output, so
+// neither slow databases nor slow clients hold request threads. A full query queue answers
+// 503 straight away rather than letting waiters pile up.
+public class ListingApiServlet extends HttpServlet {
+
+    private static final Logger log = LoggerFactory.getLogger(ListingApiServlet.class);
+    private static final Pattern ID = Pattern.compile("/\\d{1,18}");
+
+    private final ListingReadDao listingReadDao;
+    private final ExecutorService queryExecutor;
+    private final long timeoutMillis;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public ListingApiServlet(ListingReadDao listingReadDao, ExecutorService queryExecutor, long timeoutMillis,
+                             int defaultPageSize, int maxPageSize) {
+        this.listingReadDao = listingReadDao;
+        this.queryExecutor = queryExecutor;
+        this.timeoutMillis = timeoutMillis;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String path = request.getPathInfo() == null ? "/" : request.getPathInfo();
+        AsyncContext async = request.startAsync();
+        async.setTimeout(timeoutMillis);
+        async.addListener(new TimeoutListener());
+
+        Runnable query;
+        try {
+            if (path.equals("/") || path.equals("/search")) {
+                ListingQuery listingQuery = ListingQuery.parse(request, path.equals("/search"), defaultPageSize, maxPageSize);
+                String base = request.getRequestURI();
+                query = () -> {
+                    List<ListingView> rows = listingReadDao.find(listingQuery);
+                    String next = rows.size() < listingQuery.limit() ? null
+                        : nextLink(base, listingQuery, rows.get(rows.size() - 1).id());
+                    respond(async, () -> ListingJsonWriter.page(async, rows, next));
+                };
+            } else if (ID.matcher(path).matches()) {
+                long id = Long.parseLong(path.substring(1));
+                query = () -> {
+                    ListingView listing = listingReadDao.findById(id);
+                    respond(async, listing == null
+                        ? () -> ListingJsonWriter.error(async, HttpServletResponse.SC_NOT_FOUND, "Property not found")
+                        : () -> ListingJsonWriter.single(async, listing));
+                };
+            } else {
+                ListingJsonWriter.error(async, HttpServletResponse.SC_NOT_FOUND, "No such endpoint");
+                return;
+            }
+        } catch (IllegalArgumentException e) {
+            ListingJsonWriter.error(async, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+
+        try {
+            queryExecutor.execute(() -> {
+                try {
+                    query.run();
+                } catch (RuntimeException e) {
+                    log.error("Listing API query failed for {}", path, e);
+                    respond(async, () -> ListingJsonWriter.error(async,
+                        HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Listings are unavailable right now"));
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            response.setHeader("Retry-After", "1");
+            ListingJsonWriter.error(async, HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many requests, try again shortly");
+        }
+    }
+
+    private interface ResponseWriter {
+        void write() throws IOException;
+    }
+
+    // Hand the write back to a container thread; the request may have timed out meanwhile
+    private static void respond(AsyncContext async, ResponseWriter writer) {
+        try {
+            async.start(() -> {
+                try {
+                    writer.write();
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Listing API response not written: {}", e.toString());
+                    async.complete();
+                }
+            });
+        } catch (IllegalStateException e) {
+            log.debug("Listing API request already finished: {}", e.toString());
+        }
+    }
+
+    private static String nextLink(String base, ListingQuery query, long lastId) {
+        StringJoiner link = new StringJoiner("&", base + "?", "");
+        if (query.city() != null) {
+            link.add("city=" + URLEncoder.encode(query.city(), StandardCharsets.UTF_8));
+        }
+        if (query.propertyType() != null) {
+            link.add("propertyType=" + query.propertyType());
+        }
+        if (query.listingType() != null) {
+            link.add("listingType=" + query.listingType());
+        }
+        if (query.minPrice() != null) {
+            link.add("minPrice=" + query.minPrice().toPlainString());
+        }
+        if (query.maxPrice() != null) {
+            link.add("maxPrice=" + query.maxPrice().toPlainString());
+        }
+        if (query.bedrooms() != null) {
+            link.add("bedrooms=" + query.bedrooms());
+        }
+        link.add("after=" + lastId);
+        link.add("limit=" + query.limit());
+        return link.toString();
+    }
+
+    // A query stuck behind a slow database ends the request with whatever has been sent
+    private static final class TimeoutListener implements AsyncListener {
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+            if (!response.isCommitted()) {
+                response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            }
+            event.getAsyncContext().complete();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            event.getAsyncContext().complete();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.realestate.management.api;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+
+// Writes a JSON response with non-blocking servlet output. Rows are serialized a few at a time
+// and only when the socket can take more, so a slow client costs a buffer, not a thread: the
+// container calls back into onWritePossible whenever the previous chunk has drained.
+final class ListingJsonWriter implements WriteListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ListingJsonWriter.class);
+    private static final JsonFactory JSON = new JsonFactory();
+    private static final int ROWS_PER_CHUNK = 16;
+
+    private final AsyncContext async;
+    private final ServletOutputStream out;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(8192);
+    private final JsonGenerator generator;
+    private final Iterator<ListingView> rows;
+    private final String next;
+    private final boolean page;
+    private final String error;
+    private byte[] pending;
+    private boolean started;
+    private boolean done;
+
+    private ListingJsonWriter(AsyncContext async, int status, List<ListingView> rows, String next, boolean page,
+                              String error) throws IOException {
+        this.async = async;
+        this.rows = rows.iterator();
+        this.next = next;
+        this.page = page;
+        this.error = error;
+        this.generator = JSON.createGenerator(buffer);
+        HttpServletResponse response = (HttpServletResponse) async.getResponse();
+        response.setStatus(status);
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+        this.out = response.getOutputStream();
+    }
+
+    // {"items": [...], "next": "/api/v1/properties?...&after=<id>"}; next is null on the last page
+    static void page(AsyncContext async, List<ListingView> rows, String next) throws IOException {
+        start(new ListingJsonWriter(async, HttpServletResponse.SC_OK, rows, next, true, null));
+    }
+
+    static void single(AsyncContext async, ListingView row) throws IOException {
+        start(new ListingJsonWriter(async, HttpServletResponse.SC_OK, List.of(row), null, false, null));
+    }
+
+    // {"error": "..."}
+    static void error(AsyncContext async, int status, String message) throws IOException {
+        start(new ListingJsonWriter(async, status, List.of(), null, false, message));
+    }
+
+    private static void start(ListingJsonWriter writer) {
+        writer.out.setWriteListener(writer);
+    }
+
+    @Override
+    public void onWritePossible() throws IOException {
+        while (out.isReady()) {
+            if (pending != null) {
+                out.write(pending);
+                pending = null;
+            } else if (done) {
+                async.complete();
+                return;
+            } else {
+                pending = nextChunk();
+            }
+        }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        // Usually the client went away mid-response
+        log.debug("Listing API response aborted: {}", t.toString());
+        async.complete();
+    }
+
+    private byte[] nextChunk() throws IOException {
+        if (error != null) {
+            generator.writeStartObject();
+            generator.writeStringField("error", error);
+            generator.writeEndObject();
+            done = true;
+        } else if (!page) {
+            writeListing(rows.next());
+            done = true;
+        } else {
+            if (!started) {
+                generator.writeStartObject();
+                generator.writeArrayFieldStart("items");
+                started = true;
+            }
+            for (int i = 0; i < ROWS_PER_CHUNK && rows.hasNext(); i++) {
+                writeListing(rows.next());
+            }
+            if (!rows.hasNext()) {
+                generator.writeEndArray();
+                generator.writeStringField("next", next);
+                generator.writeEndObject();
+                done = true;
+            }
+        }
+        generator.flush();
+        byte[] chunk = buffer.toByteArray();
+        buffer.reset();
+        return chunk;
+    }
+
+    private void writeListing(ListingView listing) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", listing.id());
+        generator.writeStringField("title", listing.title());
+        if (listing.description() != null) {
+            generator.writeStringField("description", listing.description());
+        }
+        writeDecimal("price", listing.price());
+        generator.writeStringField("address", listing.address());
+        generator.writeStringField("city", listing.city());
+        generator.writeStringField("state", listing.state());
+        generator.writeStringField("zipCode", listing.zipCode());
+        generator.writeStringField("propertyType", listing.propertyType());
+        generator.writeStringField("listingType", listing.listingType());
+        writeInteger("bedrooms", listing.bedrooms());
+        writeInteger("bathrooms", listing.bathrooms());
+        writeInteger("areaSqft", listing.areaSqft());
+        writeInteger("yearBuilt", listing.yearBuilt());
+        generator.writeStringField("imageUrl", listing.imageUrl());
+        if (listing.ownerName() != null) {
+            generator.writeStringField("ownerName", listing.ownerName());
+        }
+        writeDateTime("createdAt", listing.createdAt());
+        writeDateTime("updatedAt", listing.updatedAt());
+        generator.writeEndObject();
+    }
+
+    private void writeDecimal(String name, BigDecimal value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(name);
+        } else {
+            generator.writeNumberField(name, value);
+        }
+    }
+
+    private void writeInteger(String name, Integer value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(name);
+        } else {
+            generator.writeNumberField(name, value);
+        }
+    }
+
+    private void writeDateTime(String name, LocalDateTime value) throws IOException {
+        generator.writeStringField(name, value == null ? null : value.toString());
+    }
+}
@@ -0,0 +1,78 @@
+package com.realestate.management.api;
+
+import com.realestate.management.model.Property;
+import jakarta.servlet.http.HttpServletRequest;
+import java.math.BigDecimal;
+
+// Filters and the keyset page of a listing read: rows with an id below "after", newest first.
+// Any filter may be null; the list endpoint uses none of them.
+public record ListingQuery(String city, Property.PropertyType propertyType, Property.ListingType listingType,
+                           BigDecimal minPrice, BigDecimal maxPrice, Integer bedrooms, Long after, int limit) {
+
+    // Parameters use the same names and meaning as the search form
+    static ListingQuery parse(HttpServletRequest request, boolean filtered, int defaultLimit, int maxLimit) {
+        String city = filtered ? blankToNull(request.getParameter("city")) : null;
+        Property.PropertyType propertyType = filtered
+            ? parseEnum(Property.PropertyType.class, "propertyType", request.getParameter("propertyType")) : null;
+        Property.ListingType listingType = filtered
+            ? parseEnum(Property.ListingType.class, "listingType", request.getParameter("listingType")) : null;
+        BigDecimal minPrice = filtered ? parseDecimal("minPrice", request.getParameter("minPrice")) : null;
+        BigDecimal maxPrice = filtered ? parseDecimal("maxPrice", request.getParameter("maxPrice")) : null;
+        Integer bedrooms = filtered ? parseInteger("bedrooms", request.getParameter("bedrooms")) : null;
+        Long after = parseId("after", request.getParameter("after"));
+        Integer limit = parseInteger("limit", request.getParameter("limit"));
+        if (limit != null && (limit < 1 || limit > maxLimit)) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+        return new ListingQuery(city, propertyType, listingType, minPrice, maxPrice, bedrooms,
+            after, limit == null ? defaultLimit : limit);
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String name, String value) {
+        if (blankToNull(value) == null) {
+            return null;
+        }
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + name + " '" + value + "'");
+        }
+    }
+
+    private static BigDecimal parseDecimal(String name, String value) {
+        if (blankToNull(value) == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a number");
+        }
+    }
+
+    private static Long parseId(String name, String value) {
+        if (blankToNull(value) == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a listing id");
+        }
+    }
+
+    private static Integer parseInteger(String name, String value) {
+        if (blankToNull(value) == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a whole number");
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.realestate.management.api;
+
+import com.realestate.management.model.Property;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Read side of the JSON API: plain JDBC projections of approved listings, no entities, no
+// persistence context and no second-level cache. Reads run in read-only transactions so
+// they go to a replica when replicas are configured.
+public class ListingReadDao {
+
+    private static final String COLUMNS = "p.id, p.title, p.price, p.address, p.city, p.state, p.zip_code,"
+        + " p.property_type, p.listing_type, p.bedrooms, p.bathrooms, p.area_sqft, p.year_built, p.image_url,"
+        + " p.created_at, p.updated_at";
+
+    private static final RowMapper<ListingView> SUMMARY = (rs, row) -> map(rs, null, null);
+
+    private static final RowMapper<ListingView> DETAIL = (rs, row) ->
+        map(rs, rs.getString("description"), rs.getString("first_name") + " " + rs.getString("last_name"));
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnly;
+
+    public ListingReadDao(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    // One keyset page, newest first, with the same filters as the search page
+    public List<ListingView> find(ListingQuery query) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(COLUMNS)
+            .append(" FROM properties p WHERE p.status = ?");
+        List<Object> args = new ArrayList<>();
+        args.add(Property.PropertyStatus.APPROVED.name());
+        if (query.city() != null) {
+            sql.append(" AND LOWER(p.city) LIKE LOWER(?)");
+            args.add("%" + query.city() + "%");
+        }
+        if (query.propertyType() != null) {
+            sql.append(" AND p.property_type = ?");
+            args.add(query.propertyType().name());
+        }
+        if (query.listingType() != null) {
+            sql.append(" AND p.listing_type = ?");
+            args.add(query.listingType().name());
+        }
+        if (query.minPrice() != null) {
+            sql.append(" AND p.price >= ?");
+            args.add(query.minPrice());
+        }
+        if (query.maxPrice() != null) {
+            sql.append(" AND p.price <= ?");
+            args.add(query.maxPrice());
+        }
+        if (query.bedrooms() != null) {
+            sql.append(" AND p.bedrooms >= ?");
+            args.add(query.bedrooms());
+        }
+        if (query.after() != null) {
+            sql.append(" AND p.id < ?");
+            args.add(query.after());
+        }
+        sql.append(" ORDER BY p.id DESC LIMIT ?");
+        args.add(query.limit());
+        return readOnly.execute(status -> jdbcTemplate.query(sql.toString(), SUMMARY, args.toArray()));
+    }
+
+    // A single approved listing, or null
+    public ListingView findById(long id) {
+        List<ListingView> rows = readOnly.execute(status -> jdbcTemplate.query(
+            "SELECT " + COLUMNS + ", p.description, u.first_name, u.last_name"
+                + " FROM properties p JOIN users u ON u.id = p.owner_id WHERE p.id = ? AND p.status = ?",
+            DETAIL, id, Property.PropertyStatus.APPROVED.name()));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private static ListingView map(ResultSet rs, String description, String ownerName) throws SQLException {
+        return new ListingView(rs.getLong("id"), rs.getString("title"), description, rs.getBigDecimal("price"),
+            rs.getString("address"), rs.getString("city"), rs.getString("state"), rs.getString("zip_code"),
+            rs.getString("property_type"), rs.getString("listing_type"), integer(rs, "bedrooms"),
+            integer(rs, "bathrooms"), integer(rs, "area_sqft"), integer(rs, "year_built"), rs.getString("image_url"),
+            ownerName, dateTime(rs.getTimestamp("created_at")), dateTime(rs.getTimestamp("updated_at")));
+    }
+
+    private static Integer integer(ResultSet rs, String column) throws SQLException {
+        int value = rs.getInt(column);
+        return rs.wasNull() ? null : value;
+    }
+
+    private static LocalDateTime dateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
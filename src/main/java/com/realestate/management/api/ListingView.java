@@ -0,0 +1,12 @@
+package com.realestate.management.api;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// One listing as the JSON API exposes it. Description and owner name are only read for the
+// single-listing endpoint and are null in pages.
+public record ListingView(long id, String title, String description, BigDecimal price, String address, String city,
+                          String state, String zipCode, String propertyType, String listingType, Integer bedrooms,
+                          Integer bathrooms, Integer areaSqft, Integer yearBuilt, String imageUrl, String ownerName,
+                          LocalDateTime createdAt, LocalDateTime updatedAt) {
+}
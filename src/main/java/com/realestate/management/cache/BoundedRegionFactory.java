@@ -0,0 +1,78 @@
+package com.realestate.management.cache;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-process second-level cache provider. Each region is a BoundedStorageAccess whose
+// size and time to live come from Hibernate properties:
+//   realestate.cache.<region>.max-entries / realestate.cache.<region>.ttl-seconds
+// falling back to realestate.cache.default.*. The timestamps region is never bounded,
+// since losing an entry there would let the query cache return stale results.
+public class BoundedRegionFactory extends RegionFactoryTemplate {
+
+    public static final String PREFIX = "realestate.cache.";
+
+    private final Map<String, BoundedStorageAccess> regions = new ConcurrentHashMap<>();
+    private Map<String, Object> configValues = Collections.emptyMap();
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        this.configValues = configValues;
+    }
+
+    @Override
+    protected void releaseFromUse() {
+        regions.values().forEach(BoundedStorageAccess::release);
+        regions.clear();
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        return boundedRegion(regionConfig.getRegionName());
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+                                                                  SessionFactoryImplementor sessionFactory) {
+        return boundedRegion(regionName);
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+                                                                SessionFactoryImplementor sessionFactory) {
+        return register(new BoundedStorageAccess(regionName, 0, 0));
+    }
+
+    public Collection<BoundedStorageAccess> getRegions() {
+        return Collections.unmodifiableCollection(regions.values());
+    }
+
+    private BoundedStorageAccess boundedRegion(String regionName) {
+        int maxEntries = (int) setting(regionName, "max-entries", 10_000);
+        long ttlSeconds = setting(regionName, "ttl-seconds", 300);
+        return register(new BoundedStorageAccess(regionName, maxEntries, ttlSeconds * 1000));
+    }
+
+    private BoundedStorageAccess register(BoundedStorageAccess storage) {
+        regions.put(storage.getRegionName(), storage);
+        return storage;
+    }
+
+    private long setting(String regionName, String name, long defaultValue) {
+        Object value = configValues.get(PREFIX + regionName + "." + name);
+        if (value == null) {
+            value = configValues.get(PREFIX + "default." + name);
+        }
+        return value == null ? defaultValue : Long.parseLong(value.toString().trim());
+    }
+}
@@ -0,0 +1,99 @@
+package com.realestate.management.cache;
+
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Storage for one cache region: a concurrent map with an entry limit and a time to live.
+// The TTL bounds how long another node can serve data changed elsewhere. Soft locks
+// written by read-write concurrency are never expired or evicted, so a stale load
+// cannot slip in while an update is in flight.
+public class BoundedStorageAccess implements DomainDataStorageAccess {
+
+    private final String regionName;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final ConcurrentHashMap<Object, Entry> entries = new ConcurrentHashMap<>();
+
+    private record Entry(Object value, long expiresAt) {
+    }
+
+    // maxEntries and ttlMillis of zero mean unbounded
+    public BoundedStorageAccess(String regionName, int maxEntries, long ttlMillis) {
+        this.regionName = regionName;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+    }
+
+    @Override
+    public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt < System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    @Override
+    public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+        long expiresAt = ttlMillis > 0 && !(value instanceof SoftLock)
+            ? System.currentTimeMillis() + ttlMillis
+            : Long.MAX_VALUE;
+        entries.put(key, new Entry(value, expiresAt));
+        if (maxEntries > 0 && entries.size() > maxEntries) {
+            trim();
+        }
+    }
+
+    @Override
+    public boolean contains(Object key) {
+        return getFromCache(key, null) != null;
+    }
+
+    @Override
+    public void evictData() {
+        entries.clear();
+    }
+
+    @Override
+    public void evictData(Object key) {
+        entries.remove(key);
+    }
+
+    @Override
+    public void release() {
+        entries.clear();
+    }
+
+    public String getRegionName() {
+        return regionName;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // Drop expired entries, then arbitrary ones, until a tenth of the limit is free again.
+    // Only the thread that crosses the limit pays for this; reads never take a lock.
+    private void trim() {
+        long now = System.currentTimeMillis();
+        int target = maxEntries - Math.max(1, maxEntries / 10);
+        entries.values().removeIf(entry -> entry.expiresAt < now);
+        Iterator<Entry> it = entries.values().iterator();
+        while (entries.size() > target && it.hasNext()) {
+            if (!(it.next().value instanceof SoftLock)) {
+                it.remove();
+            }
+        }
+    }
+}
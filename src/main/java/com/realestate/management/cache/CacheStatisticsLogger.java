@@ -0,0 +1,46 @@
+package com.realestate.management.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+// Logs size and hit ratio of every second-level cache region now and then
+@Component
+public class CacheStatisticsLogger {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheStatisticsLogger.class);
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    @Autowired
+    public CacheStatisticsLogger(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    }
+
+    @Scheduled(fixedDelayString = "${cache.stats-log-ms:300000}", initialDelayString = "${cache.stats-log-ms:300000}")
+    public void logStatistics() {
+        RegionFactory regionFactory = sessionFactory.getCache().getRegionFactory();
+        Statistics statistics = sessionFactory.getStatistics();
+        if (!(regionFactory instanceof BoundedRegionFactory bounded) || !statistics.isStatisticsEnabled()) {
+            return;
+        }
+        for (BoundedStorageAccess region : bounded.getRegions()) {
+            CacheRegionStatistics stats = statistics.getCacheRegionStatistics(region.getRegionName());
+            if (stats == null) {
+                continue;
+            }
+            long lookups = stats.getHitCount() + stats.getMissCount();
+            log.info("Cache region {}: {}/{} entries, {} hits, {} misses ({}% hit), {} puts",
+                region.getRegionName(), region.size(), region.getMaxEntries() > 0 ? region.getMaxEntries() : "unbounded",
+                stats.getHitCount(), stats.getMissCount(),
+                lookups == 0 ? 0 : stats.getHitCount() * 100 / lookups, stats.getPutCount());
+        }
+    }
+}
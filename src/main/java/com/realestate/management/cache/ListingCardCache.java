@@ -0,0 +1,143 @@
+package com.realestate.management.cache;
+
+import com.realestate.management.metrics.MetricsRegistry;
+import com.realestate.management.model.Property;
+import com.realestate.management.model.TrendingListing;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.spring6.ISpringTemplateEngine;
+import org.thymeleaf.spring6.expression.ThymeleafEvaluationContext;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Rendered HTML of the listing cards in templates/fragments/cards.html, one entry per card kind
+// and listing. An entry remembers the version it was rendered from (updatedAt, plus the counters
+// for trending cards) and is rendered again when the listing has changed since, so edits show
+// up at once without any eviction calls. Pages paste the HTML in with th:utext and render only
+// the per-user parts themselves. Off with the template cache (cache.cards.enabled follows
+// spring.thymeleaf.cache), so template edits show up during development.
+@Component
+public class ListingCardCache {
+
+    private static final String TEMPLATE = "fragments/cards";
+
+    private final ISpringTemplateEngine templateEngine;
+    private final ApplicationContext applicationContext;
+    private final JakartaServletWebApplication webApplication;
+    private final boolean enabled;
+    private final int maxEntries;
+    private final ConcurrentHashMap<CardKey, Card> cards = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private record CardKey(String fragment, Long id) {
+    }
+
+    private record Card(Object version, String html) {
+    }
+
+    @Autowired
+    public ListingCardCache(ISpringTemplateEngine templateEngine, ApplicationContext applicationContext,
+                            ServletContext servletContext, MetricsRegistry metricsRegistry,
+                            @Value("${cache.cards.enabled:${spring.thymeleaf.cache:true}}") boolean enabled,
+                            @Value("${cache.cards.max-entries:20000}") int maxEntries) {
+        this.templateEngine = templateEngine;
+        this.applicationContext = applicationContext;
+        this.webApplication = JakartaServletWebApplication.buildApplication(servletContext);
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        MetricsRegistry.Type counter = MetricsRegistry.Type.COUNTER;
+        metricsRegistry.gauge("listing_card_cache_hits_total", "Listing cards served from the rendered-card cache",
+            counter, hits::get);
+        metricsRegistry.gauge("listing_card_cache_misses_total", "Listing cards rendered because none was cached for their version",
+            counter, misses::get);
+        metricsRegistry.gauge("listing_card_cache_entries", "Rendered listing cards held", MetricsRegistry.Type.GAUGE,
+            cards::size);
+    }
+
+    // Card body for property/list.html
+    public String listingCard(Property property) {
+        return card("listing-card", property.getId(), property.getUpdatedAt(), "property", property);
+    }
+
+    // Card body for favorites.html
+    public String favoriteCard(Property property) {
+        return card("favorite-card", property.getId(), property.getUpdatedAt(), "property", property);
+    }
+
+    // Card body for the trending section of home.html
+    public String trendingCard(TrendingListing listing) {
+        Object version = List.of(String.valueOf(listing.getUpdatedAt()), listing.getFavoriteCount(),
+            listing.getViewingRequestCount());
+        return card("trending-card", listing.getId(), version, "listing", listing);
+    }
+
+    private String card(String fragment, Long id, Object version, String variable, Object value) {
+        if (!enabled || id == null || version == null) {
+            return render(fragment, variable, value);
+        }
+        CardKey key = new CardKey(fragment, id);
+        Card card = cards.get(key);
+        if (card != null && card.version().equals(version)) {
+            hits.incrementAndGet();
+            return card.html();
+        }
+        misses.incrementAndGet();
+        String html = render(fragment, variable, value);
+        cards.put(key, new Card(version, html));
+        if (maxEntries > 0 && cards.size() > maxEntries) {
+            trim();
+        }
+        return html;
+    }
+
+    // Renders in a web context of its own for the current request, so @{...} links resolve as
+    // they do in the page. URL encoding is left out: a session id rewritten into a link must
+    // never end up in HTML that other visitors are served.
+    private String render(String fragment, String variable, Object value) {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+        HttpServletRequest request = attributes.getRequest();
+        HttpServletResponse response = new HttpServletResponseWrapper(attributes.getResponse()) {
+            @Override
+            public String encodeURL(String url) {
+                return url;
+            }
+
+            @Override
+            public String encodeRedirectURL(String url) {
+                return url;
+            }
+        };
+        WebContext context = new WebContext(webApplication.buildExchange(request, response), Locale.ROOT,
+            Map.of(variable, value,
+                ThymeleafEvaluationContext.THYMELEAF_EVALUATION_CONTEXT_CONTEXT_VARIABLE_NAME,
+                new ThymeleafEvaluationContext(applicationContext, null)));
+        return templateEngine.process(TEMPLATE, Set.of(fragment), context).strip();
+    }
+
+    // Same policy as the second-level cache regions: drop arbitrary entries until a tenth of the
+    // limit is free. Only the request that crosses the limit pays for it.
+    private void trim() {
+        int target = maxEntries - Math.max(1, maxEntries / 10);
+        Iterator<CardKey> it = cards.keySet().iterator();
+        while (cards.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+}
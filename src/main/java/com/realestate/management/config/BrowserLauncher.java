@@ -0,0 +1,27 @@
+package com.realestate.management.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import java.awt.Desktop;
+import java.net.URI;
+
+// Opens the app in the desktop browser once it is up, for local runs. Off in the prod profile,
+// where servers have no desktop and probing for one only costs startup time.
+@Component
+@ConditionalOnProperty(name = "app.open-browser", havingValue = "true", matchIfMissing = true)
+public class BrowserLauncher {
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void openBrowser() {
+        String url = "http://localhost:8080";
+        try {
+            if (Desktop.isDesktopSupported()) {
+                Desktop.getDesktop().browse(new URI(url));
+            }
+        } catch (Exception e) {
+            System.out.println("Could not open browser automatically. Please open: " + url);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.realestate.management.config;
+
+import com.realestate.management.controller.MetricsController;
+import com.realestate.management.metrics.PinnedThreadMonitor;
+import com.realestate.management.service.CalendarFeedService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+
+// Startup settings used by the prod profile (application-prod.properties)
+@Configuration
+public class StartupConfig {
+
+    // With spring.main.lazy-initialization most beans are created on first use. These only do
+    // their job if they exist from the start, or check required settings that should stop a bad
+    // deploy at startup rather than on the first request; beans with @Scheduled methods are kept
+    // eager by Spring Boot already.
+    @Bean
+    public static LazyInitializationExcludeFilter eagerInfrastructure() {
+        return LazyInitializationExcludeFilter.forBeanTypes(PinnedThreadMonitor.class, CalendarFeedService.class,
+            MetricsController.class);
+    }
+
+    // Build the entity manager factory on the task executor while the rest of the context starts;
+    // callers get a proxy that waits for it on first use
+    @Bean
+    @ConditionalOnProperty(name = "startup.deferred-jpa", havingValue = "true")
+    public EntityManagerFactoryBuilderCustomizer deferredJpaBootstrap(
+            @Qualifier("applicationTaskExecutor") AsyncTaskExecutor applicationTaskExecutor) {
+        return builder -> builder.setBootstrapExecutor(applicationTaskExecutor);
+    }
+}
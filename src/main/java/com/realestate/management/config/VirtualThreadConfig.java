@@ -0,0 +1,58 @@
+package com.realestate.management.config;
+
+import com.realestate.management.datasource.ConcurrencyLimitedDataSource;
+import com.realestate.management.datasource.DataSourceWrappingPostProcessor;
+import com.realestate.management.metrics.MetricsRegistry;
+import com.realestate.management.metrics.PinnedThreadMonitor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.time.Duration;
+
+// Virtual-thread request execution, switched on with spring.threads.virtual.enabled on JDK 21
+// or later (the "virtual-threads" profile). Spring Boot then runs Tomcat's request handling,
+// the application task executor and @Scheduled jobs on virtual threads. This adds what they
+// need around the database: a permit per connection so thousands of parked requests queue
+// in front of the pool, and pinning diagnostics. Password hashing stays on its bounded
+// platform pool on purpose, since it is CPU-bound.
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    // Ordered outside the statement timing (see DataSourceWrappingPostProcessor), so the permit
+    // covers the whole time a connection is held
+    @Bean
+    public static DataSourceWrappingPostProcessor concurrencyLimitPostProcessor(
+            @Value("${db.concurrency.limit:${spring.datasource.hikari.maximum-pool-size:10}}") int limit,
+            @Value("${db.concurrency.acquire-timeout:5s}") Duration acquireTimeout,
+            MetricsRegistry metricsRegistry) {
+        return new DataSourceWrappingPostProcessor(DataSourceWrappingPostProcessor.CONCURRENCY_LIMIT_ORDER,
+            ConcurrencyLimitedDataSource.class, dataSource -> {
+                ConcurrencyLimitedDataSource limited = new ConcurrencyLimitedDataSource(dataSource, limit, acquireTimeout);
+                MetricsRegistry.Type gauge = MetricsRegistry.Type.GAUGE;
+                metricsRegistry.gauge("db_permits_limit", "Threads allowed to hold a connection at once", gauge,
+                    limited::getLimit);
+                metricsRegistry.gauge("db_permits_in_use", "Threads holding a connection", gauge,
+                    limited::getInUse);
+                metricsRegistry.gauge("db_permits_waiting", "Threads waiting for a connection permit", gauge,
+                    limited::getWaiting);
+                metricsRegistry.gauge("db_permit_timeouts_total", "Requests that gave up waiting for a permit",
+                    MetricsRegistry.Type.COUNTER, limited::getTimeoutCount);
+                return limited;
+            });
+    }
+
+    @Bean(destroyMethod = "close")
+    public PinnedThreadMonitor pinnedThreadMonitor(
+            @Value("${threads.pinning-threshold:20ms}") Duration threshold,
+            MetricsRegistry metricsRegistry) {
+        PinnedThreadMonitor monitor = new PinnedThreadMonitor(threshold);
+        metricsRegistry.gauge("virtual_thread_pinned_total", "Virtual threads that blocked while pinned to a carrier",
+            MetricsRegistry.Type.COUNTER, monitor::getPinnedCount);
+        metricsRegistry.gauge("virtual_thread_pinned_seconds_total", "Time virtual threads spent blocked while pinned",
+            MetricsRegistry.Type.COUNTER, monitor::getPinnedSeconds);
+        return monitor;
+    }
+}
@@ -0,0 +1,78 @@
+package com.realestate.management.config;
+
+import com.realestate.management.service.UserService;
+import com.realestate.management.session.SessionVersionInterceptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistration;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+import java.time.Duration;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    // The name VersionResourceResolver gives a file: its MD5 in hex before the extension
+    private static final String FINGERPRINTED_CSS = "/css/{file:[\\w.-]+-[0-9a-f]{32}}.css";
+
+    private final UserService userService;
+    private final boolean cacheResources;
+
+    @Autowired
+    public WebConfig(UserService userService,
+                     @Value("${spring.thymeleaf.cache:true}") boolean cacheResources) {
+        this.userService = userService;
+        this.cacheResources = cacheResources;
+    }
+
+    // Open-session-in-view as Spring Boot would register it (spring.jpa.open-in-view=false turns
+    // that off), except for the calendar feeds: they read their rows first and then write to
+    // clients that may be slow, which must not hold a pooled connection
+    @Bean
+    public OpenEntityManagerInViewInterceptor openEntityManagerInViewInterceptor() {
+        return new OpenEntityManagerInViewInterceptor();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addWebRequestInterceptor(openEntityManagerInViewInterceptor())
+            .excludePathPatterns("/calendar/**");
+        registry.addInterceptor(new SessionVersionInterceptor(userService))
+            .excludePathPatterns("/calendar/**", "/metrics", "/ready", "/css/**", "/js/**", "/images/**", "/favicon.ico", "/error");
+    }
+
+    // Shared stylesheets under a content-hashed name (/css/app-<md5>.css, written into the pages by
+    // @{/css/app.css}), so browsers may keep them for a year without asking again: a changed file
+    // gets a new name. The plain name stays reachable for anything that links it directly, but
+    // only for a few minutes, since it changes in place. A prebuilt .br or .gz next to the file is
+    // served when the browser accepts it.
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        stylesheets(registry.addResourceHandler(FINGERPRINTED_CSS),
+            CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable());
+        stylesheets(registry.addResourceHandler("/css/**"),
+            CacheControl.maxAge(Duration.ofMinutes(10)).cachePublic());
+    }
+
+    private void stylesheets(ResourceHandlerRegistration registration, CacheControl cacheControl) {
+        registration.addResourceLocations("classpath:/static/css/")
+            .setCacheControl(cacheControl)
+            .resourceChain(cacheResources)
+            .addResolver(new EncodedResourceResolver())
+            .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+    }
+
+    // Rewrites @{/css/...} links in the templates to their hashed names
+    @Bean
+    public ResourceUrlEncodingFilter resourceUrlEncodingFilter() {
+        return new ResourceUrlEncodingFilter();
+    }
+}
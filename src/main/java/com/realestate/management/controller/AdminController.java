@@ -1,5 +1,6 @@
 package com.realestate.management.controller;
 
+import com.realestate.management.metrics.QueryStatistics;
 import com.realestate.management.model.Property;
 import com.realestate.management.model.User;
 import com.realestate.management.service.PropertyService;
@@ -12,6 +13,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import java.util.List;
 
@@ -21,11 +23,14 @@ public class AdminController {
 
     private final PropertyService propertyService;
     private final UserService userService;
+    private final QueryStatistics queryStatistics;
 
     @Autowired
-    public AdminController(PropertyService propertyService, UserService userService) {
+    public AdminController(PropertyService propertyService, UserService userService,
+                           QueryStatistics queryStatistics) {
         this.propertyService = propertyService;
         this.userService = userService;
+        this.queryStatistics = queryStatistics;
     }
 
     // Check if user is admin
@@ -53,6 +58,20 @@ public class AdminController {
         return "admin/dashboard";
     }
 
+    // Statement shapes ranked by total database time
+    @GetMapping("/queries")
+    public String queries(@RequestParam(value = "limit", defaultValue = "25") int limit,
+                          HttpSession session, Model model) {
+        if (!isAdmin(session)) {
+            return "redirect:/auth/login";
+        }
+
+        model.addAttribute("queries", queryStatistics.topByTotalTime(Math.max(1, Math.min(limit, 200))));
+        model.addAttribute("slowCount", queryStatistics.getSlowCount());
+        model.addAttribute("limit", limit);
+        return "admin/queries";
+    }
+
     // View pending properties
     @GetMapping("/properties/pending")
     public String pendingProperties(HttpSession session, Model model) {
@@ -2,8 +2,9 @@ package com.realestate.management.controller;
 
 import com.realestate.management.model.Application;
 import com.realestate.management.model.Property;
-import com.realestate.management.model.User;
+import com.realestate.management.model.SessionUser;
 import com.realestate.management.service.ApplicationService;
+import com.realestate.management.service.DuplicateSubmissionException;
 import com.realestate.management.service.PropertyService;
 import jakarta.servlet.http.HttpSession;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,6 +17,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import java.util.List;
+import java.util.UUID;
 
 @Controller
 @RequestMapping("/applications")
@@ -35,7 +37,7 @@ public class ApplicationController {
     public String showApplicationForm(@PathVariable Long propertyId,
                                       Model model,
                                       HttpSession session) {
-        User loggedInUser = (User) session.getAttribute("loggedInUser");
+        SessionUser loggedInUser = (SessionUser) session.getAttribute("loggedInUser");
         if (loggedInUser == null) {
             return "redirect:/auth/login";
         }
@@ -50,8 +52,12 @@ public class ApplicationController {
             return "redirect:/properties/" + propertyId;
         }
 
+        // One key per rendered form, so retries of the same submission are recognised
+        Application application = new Application();
+        application.setRequestKey(UUID.randomUUID().toString());
+
         model.addAttribute("property", property);
-        model.addAttribute("application", new Application());
+        model.addAttribute("application", application);
         return "applications/submit";
     }
 
@@ -61,16 +67,22 @@ public class ApplicationController {
                                     @ModelAttribute Application application,
                                     HttpSession session,
                                     RedirectAttributes redirectAttributes) {
-        User loggedInUser = (User) session.getAttribute("loggedInUser");
+        SessionUser loggedInUser = (SessionUser) session.getAttribute("loggedInUser");
         if (loggedInUser == null) {
             return "redirect:/auth/login";
         }
 
         try {
+            if (application.getRequestKey() == null || application.getRequestKey().isBlank()) {
+                application.setRequestKey(UUID.randomUUID().toString());
+            }
             applicationService.submitApplication(propertyId, loggedInUser.getId(), application);
             redirectAttributes.addFlashAttribute("successMessage",
                 "Application submitted successfully! The property owner will review your application.");
             return "redirect:/applications/my-applications";
+        } catch (DuplicateSubmissionException e) {
+            redirectAttributes.addFlashAttribute("successMessage", e.getMessage());
+            return "redirect:/applications/my-applications";
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
             return "redirect:/applications/submit/" + propertyId;
@@ -80,7 +92,7 @@ public class ApplicationController {
     // View user's applications (buyer's view)
     @GetMapping("/my-applications")
     public String myApplications(Model model, HttpSession session) {
-        User loggedInUser = (User) session.getAttribute("loggedInUser");
+        SessionUser loggedInUser = (SessionUser) session.getAttribute("loggedInUser");
         if (loggedInUser == null) {
             return "redirect:/auth/login";
         }
@@ -96,7 +108,7 @@ public class ApplicationController {
     // View applications for owner's properties
     @GetMapping("/received")
     public String receivedApplications(Model model, HttpSession session) {
-        User loggedInUser = (User) session.getAttribute("loggedInUser");
+        SessionUser loggedInUser = (SessionUser) session.getAttribute("loggedInUser");
         if (loggedInUser == null) {
             return "redirect:/auth/login";
         }
@@ -116,7 +128,7 @@ public class ApplicationController {
     public String approveApplication(@PathVariable Long id,
                                      HttpSession session,
                                      RedirectAttributes redirectAttributes) {
-        User loggedInUser = (User) session.getAttribute("loggedInUser");
+        SessionUser loggedInUser = (SessionUser) session.getAttribute("loggedInUser");
         if (loggedInUser == null) {
             return "redirect:/auth/login";
         }
@@ -142,7 +154,7 @@ public class ApplicationController {
     public String rejectApplication(@PathVariable Long id,
                                     HttpSession session,
                                     RedirectAttributes redirectAttributes) {
-        User loggedInUser = (User) session.getAttribute("loggedInUser");
+        SessionUser loggedInUser = (SessionUser) session.getAttribute("loggedInUser");
         if (loggedInUser == null) {
             return "redirect:/auth/login";
         }
@@ -168,7 +180,7 @@ public class ApplicationController {
     public String withdrawApplication(@PathVariable Long id,
                                       HttpSession session,
                                       RedirectAttributes redirectAttributes) {
-        User loggedInUser = (User) session.getAttribute("loggedInUser");
+        SessionUser loggedInUser = (SessionUser) session.getAttribute("loggedInUser");
         if (loggedInUser == null) {
             return "redirect:/auth/login";
         }
@@ -194,7 +206,7 @@ public class ApplicationController {
     public String markUnderReview(@PathVariable Long id,
                                   HttpSession session,
                                   RedirectAttributes redirectAttributes) {
-        User loggedInUser = (User) session.getAttribute("loggedInUser");
+        SessionUser loggedInUser = (SessionUser) session.getAttribute("loggedInUser");
         if (loggedInUser == null) {
             return "redirect:/auth/login";
         }
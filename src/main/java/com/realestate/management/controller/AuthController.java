@@ -1,6 +1,9 @@
 package com.realestate.management.controller;
+import com.realestate.management.model.SessionUser;
 import com.realestate.management.model.User;
+import com.realestate.management.service.FavoriteService;
 import com.realestate.management.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,10 +21,12 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 @RequestMapping("/auth")
 public class AuthController {
     private final UserService userService;
+    private final FavoriteService favoriteService;
 
     @Autowired
-    public AuthController(UserService userService) {
+    public AuthController(UserService userService, FavoriteService favoriteService) {
         this.userService = userService;
+        this.favoriteService = favoriteService;
     }
 
     // Show registration page
@@ -73,7 +78,7 @@ public class AuthController {
     @PostMapping("/login")
     public String loginUser(@RequestParam("email") String email,
                             @RequestParam("password") String password,
-                            HttpSession session,
+                            HttpServletRequest request,
                             RedirectAttributes redirectAttributes) {
         
         // Gmail-only validation
@@ -83,10 +88,13 @@ public class AuthController {
         }
         
         try {
-            User user = userService.loginUser(email, password);
+            User user = userService.loginUser(email, password, request.getRemoteAddr());
             
-            // Store user in session
-            session.setAttribute("loggedInUser", user);
+            // Store a compact principal in a fresh session (new id guards against fixation)
+            request.getSession();
+            request.changeSessionId();
+            HttpSession session = request.getSession();
+            session.setAttribute("loggedInUser", SessionUser.from(user));
             session.setAttribute("userId", user.getId());
             session.setAttribute("userRole", user.getRole().toString());
             
@@ -108,6 +116,10 @@ public class AuthController {
     // Handle logout
     @GetMapping("/logout")
     public String logout(HttpSession session, RedirectAttributes redirectAttributes) {
+        Long userId = (Long) session.getAttribute("userId");
+        if (userId != null) {
+            favoriteService.evictCache(userId);
+        }
         session.invalidate();
         redirectAttributes.addFlashAttribute("successMessage", "You have been logged out successfully.");
         return "redirect:/auth/login";
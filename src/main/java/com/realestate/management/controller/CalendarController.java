@@ -0,0 +1,60 @@
+package com.realestate.management.controller;
+
+import com.realestate.management.service.CalendarFeedService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.context.request.WebRequest;
+import java.io.IOException;
+
+@Controller
+@RequestMapping("/calendar")
+public class CalendarController {
+
+    private final CalendarFeedService calendarFeedService;
+
+    @Autowired
+    public CalendarController(CalendarFeedService calendarFeedService) {
+        this.calendarFeedService = calendarFeedService;
+    }
+
+    // Buyer's upcoming approved viewings
+    @GetMapping("/{userId}/{token}/viewings.ics")
+    public void viewingsFeed(@PathVariable Long userId,
+                             @PathVariable String token,
+                             WebRequest webRequest,
+                             HttpServletResponse response) throws IOException {
+        serveFeed(userId, token, CalendarFeedService.Feed.VIEWINGS, webRequest, response);
+    }
+
+    // Owner's upcoming viewing requests
+    @GetMapping("/{userId}/{token}/requests.ics")
+    public void requestsFeed(@PathVariable Long userId,
+                             @PathVariable String token,
+                             WebRequest webRequest,
+                             HttpServletResponse response) throws IOException {
+        serveFeed(userId, token, CalendarFeedService.Feed.REQUESTS, webRequest, response);
+    }
+
+    private void serveFeed(Long userId, String token, CalendarFeedService.Feed feed,
+                           WebRequest webRequest, HttpServletResponse response) throws IOException {
+        if (!calendarFeedService.isValidToken(userId, feed, token)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        // Answer polling clients with 304 from the aggregate alone
+        CalendarFeedService.FeedVersion version = calendarFeedService.getVersion(userId, feed);
+        response.setHeader("Cache-Control", "private, no-cache");
+        if (webRequest.checkNotModified(version.etag(feed, userId), version.lastModifiedMillis())) {
+            return;
+        }
+
+        response.setContentType("text/calendar;charset=UTF-8");
+        response.setHeader("Content-Disposition", "inline; filename=\"" + feed.name().toLowerCase() + ".ics\"");
+        calendarFeedService.writeFeed(userId, feed, response.getWriter());
+    }
+}
@@ -1,6 +1,6 @@
 package com.realestate.management.controller;
 
-import com.realestate.management.model.User;
+import com.realestate.management.model.SessionUser;
 import com.realestate.management.service.PropertyService;
 import com.realestate.management.service.FavoriteService;
 import com.realestate.management.service.ViewingService;
@@ -32,7 +32,7 @@ public class DashboardController {
 
     @GetMapping("/dashboard")
     public String dashboard(HttpSession session, Model model) {
-        User loggedInUser = (User) session.getAttribute("loggedInUser");
+        SessionUser loggedInUser = (SessionUser) session.getAttribute("loggedInUser");
         String userRole = (String) session.getAttribute("userRole");
 
         if (loggedInUser == null) {
@@ -42,7 +42,7 @@ public class DashboardController {
         // Get statistics based on user role
         if ("OWNER".equals(userRole) || "AGENT".equals(userRole)) {
             // Owner/Agent statistics
-            Long propertyCount = propertyService.countPropertiesByOwner(loggedInUser);
+            Long propertyCount = propertyService.countPropertiesByOwner(loggedInUser.getId());
             Long viewingRequestsCount = viewingService.countPendingViewings(loggedInUser.getId());
             Long applicationsCount = applicationService.countPendingApplications(loggedInUser.getId());
 
@@ -10,6 +10,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import java.util.List;
 
@@ -43,6 +44,7 @@ public class FavoriteController {
     // Add to favorites
     @PostMapping("/add/{propertyId}")
     public String addFavorite(@PathVariable Long propertyId,
+                              @RequestParam(required = false) String returnTo,
                               HttpSession session,
                               RedirectAttributes redirectAttributes) {
         Long userId = (Long) session.getAttribute("userId");
@@ -57,12 +59,13 @@ public class FavoriteController {
             redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
         }
 
-        return "redirect:/properties/" + propertyId;
+        return "redirect:" + safeReturnTo(returnTo, "/properties/" + propertyId);
     }
 
     // Remove from favorites
     @PostMapping("/remove/{propertyId}")
     public String removeFavorite(@PathVariable Long propertyId,
+                                 @RequestParam(required = false) String returnTo,
                                  HttpSession session,
                                  RedirectAttributes redirectAttributes) {
         Long userId = (Long) session.getAttribute("userId");
@@ -77,6 +80,14 @@ public class FavoriteController {
             redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
         }
 
-        return "redirect:/favorites";
+        return "redirect:" + safeReturnTo(returnTo, "/favorites");
+    }
+
+    // Only allow returning to property listing pages on this site
+    private String safeReturnTo(String returnTo, String fallback) {
+        if (returnTo != null && returnTo.startsWith("/properties") && !returnTo.startsWith("//")) {
+            return returnTo;
+        }
+        return fallback;
     }
 }
\ No newline at end of file
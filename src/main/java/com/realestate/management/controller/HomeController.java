@@ -1,16 +1,37 @@
 package com.realestate.management.controller;
 
+import com.realestate.management.model.TrendingListing;
+import com.realestate.management.service.PopularityService;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.SessionAttribute;
+import java.util.List;
 
 @Controller
 public class HomeController {
 
+    private final PopularityService popularityService;
+
+    @Autowired
+    public HomeController(PopularityService popularityService) {
+        this.popularityService = popularityService;
+    }
+
     @GetMapping("/")
-    public String home(Model model) {
+    public String home(@SessionAttribute(name = "lastSearchCity", required = false) String city, Model model) {
         model.addAttribute("title", "Real Estate Management System");
         model.addAttribute("message", "Welcome to the Real Estate Management System");
+
+        // Trending in the city the visitor last searched, otherwise across all cities
+        List<TrendingListing> trending = popularityService.getTrending(city);
+        if (trending.isEmpty() && city != null) {
+            city = null;
+            trending = popularityService.getTrending(null);
+        }
+        model.addAttribute("trendingCity", city);
+        model.addAttribute("trendingListings", trending);
         return "home";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,57 @@
+package com.realestate.management.controller;
+
+import com.realestate.management.metrics.MetricsRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+@Controller
+public class MetricsController {
+
+    private final MetricsRegistry metricsRegistry;
+    private final String scrapeToken;
+    private final boolean allowLocalWithoutToken;
+
+    // A reverse proxy on the same host makes every caller look local, so outside a developer
+    // machine the endpoint is only ever open to the token; prod does not start without one
+    @Autowired
+    public MetricsController(MetricsRegistry metricsRegistry,
+                             @Value("${metrics.scrape-token:}") String scrapeToken,
+                             @Value("${metrics.require-token:false}") boolean requireToken,
+                             @Value("${metrics.allow-local-without-token:false}") boolean allowLocalWithoutToken) {
+        if (requireToken && scrapeToken.isBlank()) {
+            throw new IllegalStateException("metrics.scrape-token (METRICS_SCRAPE_TOKEN) must be set; /metrics is only served to it");
+        }
+        this.metricsRegistry = metricsRegistry;
+        this.scrapeToken = scrapeToken;
+        this.allowLocalWithoutToken = allowLocalWithoutToken;
+    }
+
+    // Prometheus scrape endpoint; needs the bearer token, or a local caller on a developer machine
+    @GetMapping("/metrics")
+    public void scrape(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!isAllowed(request)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        response.setContentType("text/plain;version=0.0.4;charset=UTF-8");
+        response.setHeader("Cache-Control", "no-store");
+        metricsRegistry.scrape(response.getWriter());
+    }
+
+    private boolean isAllowed(HttpServletRequest request) throws IOException {
+        if (scrapeToken.isBlank()) {
+            return allowLocalWithoutToken && InetAddress.getByName(request.getRemoteAddr()).isLoopbackAddress();
+        }
+        String header = request.getHeader("Authorization");
+        return header != null && MessageDigest.isEqual(
+            header.getBytes(StandardCharsets.UTF_8), ("Bearer " + scrapeToken).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -1,7 +1,9 @@
 package com.realestate.management.controller;
 
 import com.realestate.management.model.Property;
+import com.realestate.management.model.SessionUser;
 import com.realestate.management.model.User;
+import com.realestate.management.service.PropertyPageCache;
 import com.realestate.management.service.PropertyService;
 import com.realestate.management.service.UserService;
 import com.realestate.management.service.FavoriteService;
@@ -17,8 +19,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import org.springframework.web.util.UriComponents;
 import java.math.BigDecimal;
+import java.util.Collections;
 import java.util.List;
 
 @Controller
@@ -28,19 +34,30 @@ public class PropertyController {
     private final PropertyService propertyService;
     private final UserService userService;
     private final FavoriteService favoriteService;
+    private final PropertyPageCache propertyPageCache;
 
     @Autowired
-    public PropertyController(PropertyService propertyService, UserService userService, FavoriteService favoriteService) {
+    public PropertyController(PropertyService propertyService, UserService userService, FavoriteService favoriteService,
+                              PropertyPageCache propertyPageCache) {
         this.propertyService = propertyService;
         this.userService = userService;
         this.favoriteService = favoriteService;
+        this.propertyPageCache = propertyPageCache;
     }
 
     // List all approved properties (public)
     @GetMapping
-    public String listProperties(Model model) {
+    public String listProperties(Model model, ServletWebRequest webRequest) {
+        HttpSession session = existingSession(webRequest);
+        if (propertyPageCache.checkNotModified(webRequest, session, () -> propertyPageCache.listValidator(session))) {
+            return null;
+        }
         List<Property> properties = propertyService.getAllApprovedProperties();
+        if (propertyPageCache.checkNotModified(webRequest, session, propertyPageCache.listValidator(properties, session))) {
+            return null;
+        }
         model.addAttribute("properties", properties);
+        addFavoriteIds(model, properties, session);
         model.addAttribute("propertyTypes", Property.PropertyType.values());
         model.addAttribute("listingTypes", Property.ListingType.values());
         return "property/list";
@@ -55,7 +72,16 @@ public class PropertyController {
             @RequestParam(required = false) BigDecimal minPrice,
             @RequestParam(required = false) BigDecimal maxPrice,
             @RequestParam(required = false) Integer bedrooms,
-            Model model) {
+            Model model,
+            ServletWebRequest webRequest) {
+
+        // Remember the city so the home page can show what is trending there. Only in a session the
+        // visitor already has: an anonymous search must not start one, nor send a session cookie
+        // with a page shared caches may keep.
+        HttpSession session = existingSession(webRequest);
+        if (session != null && city != null && !city.isBlank()) {
+            session.setAttribute("lastSearchCity", city.trim());
+        }
 
         Property.PropertyType propType = null;
         Property.ListingType listType = null;
@@ -69,8 +95,12 @@ public class PropertyController {
 
         List<Property> properties = propertyService.searchProperties(
                 city, propType, listType, minPrice, maxPrice, bedrooms);
+        if (propertyPageCache.checkNotModified(webRequest, session, propertyPageCache.listValidator(properties, session))) {
+            return null;
+        }
 
         model.addAttribute("properties", properties);
+        addFavoriteIds(model, properties, session);
         model.addAttribute("propertyTypes", Property.PropertyType.values());
         model.addAttribute("listingTypes", Property.ListingType.values());
         model.addAttribute("searchCity", city);
@@ -85,16 +115,24 @@ public class PropertyController {
 
     // View single property details
     @GetMapping("/{id}")
-    public String viewProperty(@PathVariable Long id, Model model, HttpSession session) {
+    public String viewProperty(@PathVariable Long id, Model model, ServletWebRequest webRequest) {
+        HttpSession session = existingSession(webRequest);
+        // Revalidations of an unchanged listing end here, before the entity is loaded
+        if (propertyPageCache.checkNotModified(webRequest, session, () -> propertyPageCache.detailsValidator(id, session))) {
+            return null;
+        }
         Property property = propertyService.getPropertyById(id);
         if (property == null) {
             return "redirect:/properties";
         }
+        if (propertyPageCache.checkNotModified(webRequest, session, propertyPageCache.detailsValidator(property, session))) {
+            return null;
+        }
 
         model.addAttribute("property", property);
 
         // Check if current user is the owner
-        User loggedInUser = (User) session.getAttribute("loggedInUser");
+        SessionUser loggedInUser = session == null ? null : (SessionUser) session.getAttribute("loggedInUser");
         if (loggedInUser != null) {
             model.addAttribute("isOwner", property.getOwner().getId().equals(loggedInUser.getId()));
             
@@ -131,7 +169,7 @@ public class PropertyController {
                                  RedirectAttributes redirectAttributes) {
 
         // Check if user is logged in
-        User loggedInUser = (User) session.getAttribute("loggedInUser");
+        SessionUser loggedInUser = (SessionUser) session.getAttribute("loggedInUser");
         if (loggedInUser == null) {
             return "redirect:/auth/login";
         }
@@ -160,7 +198,7 @@ public class PropertyController {
     // Show user's properties
     @GetMapping("/my-properties")
     public String myProperties(Model model, HttpSession session) {
-        User loggedInUser = (User) session.getAttribute("loggedInUser");
+        SessionUser loggedInUser = (SessionUser) session.getAttribute("loggedInUser");
         if (loggedInUser == null) {
             return "redirect:/auth/login";
         }
@@ -174,7 +212,7 @@ public class PropertyController {
     // Show edit property form
     @GetMapping("/{id}/edit")
     public String showEditForm(@PathVariable Long id, Model model, HttpSession session) {
-        User loggedInUser = (User) session.getAttribute("loggedInUser");
+        SessionUser loggedInUser = (SessionUser) session.getAttribute("loggedInUser");
         if (loggedInUser == null) {
             return "redirect:/auth/login";
         }
@@ -204,7 +242,7 @@ public class PropertyController {
                                  HttpSession session,
                                  RedirectAttributes redirectAttributes) {
 
-        User loggedInUser = (User) session.getAttribute("loggedInUser");
+        SessionUser loggedInUser = (SessionUser) session.getAttribute("loggedInUser");
         if (loggedInUser == null) {
             return "redirect:/auth/login";
         }
@@ -244,7 +282,7 @@ public class PropertyController {
                                  HttpSession session,
                                  RedirectAttributes redirectAttributes) {
 
-        User loggedInUser = (User) session.getAttribute("loggedInUser");
+        SessionUser loggedInUser = (SessionUser) session.getAttribute("loggedInUser");
         if (loggedInUser == null) {
             return "redirect:/auth/login";
         }
@@ -269,7 +307,7 @@ public class PropertyController {
     public String markAsSold(@PathVariable Long id,
                              HttpSession session,
                              RedirectAttributes redirectAttributes) {
-        User loggedInUser = (User) session.getAttribute("loggedInUser");
+        SessionUser loggedInUser = (SessionUser) session.getAttribute("loggedInUser");
         if (loggedInUser == null) {
             return "redirect:/auth/login";
         }
@@ -295,7 +333,7 @@ public class PropertyController {
     public String markAsRented(@PathVariable Long id,
                                HttpSession session,
                                RedirectAttributes redirectAttributes) {
-        User loggedInUser = (User) session.getAttribute("loggedInUser");
+        SessionUser loggedInUser = (SessionUser) session.getAttribute("loggedInUser");
         if (loggedInUser == null) {
             return "redirect:/auth/login";
         }
@@ -315,4 +353,24 @@ public class PropertyController {
 
         return "redirect:/properties/my-properties";
     }
-}
\ No newline at end of file
+
+    // Mark which listed properties the logged-in user has favorited (one in-memory lookup for the page)
+    private void addFavoriteIds(Model model, List<Property> properties, HttpSession session) {
+        Long userId = session == null ? null : (Long) session.getAttribute("userId");
+        if (userId == null || properties.isEmpty()) {
+            model.addAttribute("favoriteIds", Collections.emptySet());
+            return;
+        }
+        model.addAttribute("favoriteIds",
+            favoriteService.getFavoritedIds(userId, properties.stream().map(Property::getId).toList()));
+
+        // Heart toggles come back to the same (possibly filtered) listing
+        UriComponents current = ServletUriComponentsBuilder.fromCurrentRequest().build();
+        model.addAttribute("returnTo", current.getPath() + (current.getQuery() != null ? "?" + current.getQuery() : ""));
+    }
+
+    // The public pages never create a session; an HttpSession parameter would, for every visitor
+    private static HttpSession existingSession(ServletWebRequest webRequest) {
+        return webRequest.getRequest().getSession(false);
+    }
+}
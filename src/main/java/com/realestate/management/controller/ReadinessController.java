@@ -0,0 +1,28 @@
+package com.realestate.management.controller;
+
+import com.realestate.management.warmup.Readiness;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import java.io.IOException;
+
+@Controller
+public class ReadinessController {
+
+    private final Readiness readiness;
+
+    @Autowired
+    public ReadinessController(Readiness readiness) {
+        this.readiness = readiness;
+    }
+
+    // Load balancer health check: 200 once warmed up, 503 while starting, warming up or stopping
+    @GetMapping("/ready")
+    public void ready(HttpServletResponse response) throws IOException {
+        response.setStatus(readiness.isReady() ? HttpServletResponse.SC_OK : HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setContentType("text/plain;charset=UTF-8");
+        response.setHeader("Cache-Control", "no-store");
+        response.getWriter().write(readiness.getState().name());
+    }
+}
@@ -1,8 +1,13 @@
 package com.realestate.management.controller;
 
+import com.realestate.management.model.AvailabilityWindow;
 import com.realestate.management.model.Property;
 import com.realestate.management.model.PropertyViewing;
-import com.realestate.management.model.User;
+import com.realestate.management.model.SessionUser;
+import com.realestate.management.service.AvailabilityService;
+import com.realestate.management.service.CalendarFeedService;
+import com.realestate.management.service.DuplicateSubmissionException;
+import com.realestate.management.service.OpenHouseService;
 import com.realestate.management.service.PropertyService;
 import com.realestate.management.service.ViewingService;
 import jakarta.servlet.http.HttpSession;
@@ -18,6 +23,7 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.UUID;
 
 @Controller
 @RequestMapping("/viewings")
@@ -25,11 +31,19 @@ public class ViewingController {
 
     private final ViewingService viewingService;
     private final PropertyService propertyService;
+    private final AvailabilityService availabilityService;
+    private final OpenHouseService openHouseService;
+    private final CalendarFeedService calendarFeedService;
 
     @Autowired
-    public ViewingController(ViewingService viewingService, PropertyService propertyService) {
+    public ViewingController(ViewingService viewingService, PropertyService propertyService,
+                             AvailabilityService availabilityService, OpenHouseService openHouseService,
+                             CalendarFeedService calendarFeedService) {
         this.viewingService = viewingService;
         this.propertyService = propertyService;
+        this.availabilityService = availabilityService;
+        this.openHouseService = openHouseService;
+        this.calendarFeedService = calendarFeedService;
     }
 
     // Show request viewing form
@@ -37,7 +51,7 @@ public class ViewingController {
     public String showRequestForm(@PathVariable Long propertyId, 
                                    Model model, 
                                    HttpSession session) {
-        User loggedInUser = (User) session.getAttribute("loggedInUser");
+        SessionUser loggedInUser = (SessionUser) session.getAttribute("loggedInUser");
         if (loggedInUser == null) {
             return "redirect:/auth/login";
         }
@@ -53,6 +67,10 @@ public class ViewingController {
         }
 
         model.addAttribute("property", property);
+        model.addAttribute("availableSlots", availabilityService.getFreeSlots(property, 7));
+        model.addAttribute("openHouses", openHouseService.getUpcomingOpenHouses(propertyId));
+        // One key per rendered form, so retries of the same submission are recognised
+        model.addAttribute("requestKey", UUID.randomUUID().toString());
         return "viewings/request";
     }
 
@@ -61,9 +79,10 @@ public class ViewingController {
     public String submitViewingRequest(@PathVariable Long propertyId,
                                        @RequestParam("viewingDate") String viewingDateStr,
                                        @RequestParam("message") String message,
+                                       @RequestParam(value = "requestKey", required = false) String requestKey,
                                        HttpSession session,
                                        RedirectAttributes redirectAttributes) {
-        User loggedInUser = (User) session.getAttribute("loggedInUser");
+        SessionUser loggedInUser = (SessionUser) session.getAttribute("loggedInUser");
         if (loggedInUser == null) {
             return "redirect:/auth/login";
         }
@@ -73,10 +92,16 @@ public class ViewingController {
             DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
             LocalDateTime viewingDate = LocalDateTime.parse(viewingDateStr, formatter);
 
-            viewingService.requestViewing(propertyId, loggedInUser.getId(), viewingDate, message);
+            if (requestKey == null || requestKey.isBlank()) {
+                requestKey = UUID.randomUUID().toString();
+            }
+            viewingService.requestViewing(propertyId, loggedInUser.getId(), viewingDate, message, requestKey);
             redirectAttributes.addFlashAttribute("successMessage", 
                 "Viewing request submitted successfully! The owner will review your request.");
             return "redirect:/viewings/my-viewings";
+        } catch (DuplicateSubmissionException e) {
+            redirectAttributes.addFlashAttribute("successMessage", e.getMessage());
+            return "redirect:/viewings/my-viewings";
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
             return "redirect:/viewings/request/" + propertyId;
@@ -86,7 +111,7 @@ public class ViewingController {
     // View user's viewing requests (buyer's view)
     @GetMapping("/my-viewings")
     public String myViewings(Model model, HttpSession session) {
-        User loggedInUser = (User) session.getAttribute("loggedInUser");
+        SessionUser loggedInUser = (SessionUser) session.getAttribute("loggedInUser");
         if (loggedInUser == null) {
             return "redirect:/auth/login";
         }
@@ -96,13 +121,15 @@ public class ViewingController {
 
         model.addAttribute("viewings", viewings);
         model.addAttribute("upcomingViewings", upcomingViewings);
+        model.addAttribute("calendarFeedUrl",
+            calendarFeedService.feedPath(loggedInUser.getId(), CalendarFeedService.Feed.VIEWINGS));
         return "viewings/my-viewings";
     }
 
     // View viewing requests for owner's properties
     @GetMapping("/requests")
     public String viewingRequests(Model model, HttpSession session) {
-        User loggedInUser = (User) session.getAttribute("loggedInUser");
+        SessionUser loggedInUser = (SessionUser) session.getAttribute("loggedInUser");
         if (loggedInUser == null) {
             return "redirect:/auth/login";
         }
@@ -114,6 +141,8 @@ public class ViewingController {
         model.addAttribute("viewings", viewings);
         model.addAttribute("pendingViewings", pendingViewings);
         model.addAttribute("pendingCount", pendingCount);
+        model.addAttribute("calendarFeedUrl",
+            calendarFeedService.feedPath(loggedInUser.getId(), CalendarFeedService.Feed.REQUESTS));
         return "viewings/requests";
     }
 
@@ -122,7 +151,7 @@ public class ViewingController {
     public String approveViewing(@PathVariable Long id,
                                  HttpSession session,
                                  RedirectAttributes redirectAttributes) {
-        User loggedInUser = (User) session.getAttribute("loggedInUser");
+        SessionUser loggedInUser = (SessionUser) session.getAttribute("loggedInUser");
         if (loggedInUser == null) {
             return "redirect:/auth/login";
         }
@@ -148,7 +177,7 @@ public class ViewingController {
     public String rejectViewing(@PathVariable Long id,
                                 HttpSession session,
                                 RedirectAttributes redirectAttributes) {
-        User loggedInUser = (User) session.getAttribute("loggedInUser");
+        SessionUser loggedInUser = (SessionUser) session.getAttribute("loggedInUser");
         if (loggedInUser == null) {
             return "redirect:/auth/login";
         }
@@ -174,7 +203,7 @@ public class ViewingController {
     public String cancelViewing(@PathVariable Long id,
                                 HttpSession session,
                                 RedirectAttributes redirectAttributes) {
-        User loggedInUser = (User) session.getAttribute("loggedInUser");
+        SessionUser loggedInUser = (SessionUser) session.getAttribute("loggedInUser");
         if (loggedInUser == null) {
             return "redirect:/auth/login";
         }
@@ -200,7 +229,7 @@ public class ViewingController {
     public String completeViewing(@PathVariable Long id,
                                   HttpSession session,
                                   RedirectAttributes redirectAttributes) {
-        User loggedInUser = (User) session.getAttribute("loggedInUser");
+        SessionUser loggedInUser = (SessionUser) session.getAttribute("loggedInUser");
         if (loggedInUser == null) {
             return "redirect:/auth/login";
         }
@@ -220,4 +249,147 @@ public class ViewingController {
 
         return "redirect:/viewings/requests";
     }
+
+    // Show availability windows for an owner's property
+    @GetMapping("/availability/{propertyId}")
+    public String showAvailability(@PathVariable Long propertyId,
+                                   Model model,
+                                   HttpSession session) {
+        SessionUser loggedInUser = (SessionUser) session.getAttribute("loggedInUser");
+        if (loggedInUser == null) {
+            return "redirect:/auth/login";
+        }
+
+        Property property = propertyService.getPropertyById(propertyId);
+        if (property == null || !property.getOwner().getId().equals(loggedInUser.getId())) {
+            return "redirect:/properties/my-properties";
+        }
+
+        List<AvailabilityWindow> windows = availabilityService.getUpcomingWindows(propertyId);
+        model.addAttribute("property", property);
+        model.addAttribute("windows", windows);
+        model.addAttribute("freeSlots", availabilityService.getFreeSlots(property, 7));
+        model.addAttribute("openHouses", openHouseService.getUpcomingOpenHouses(propertyId));
+        return "viewings/availability";
+    }
+
+    // Publish an availability window
+    @PostMapping("/availability/{propertyId}")
+    public String addAvailability(@PathVariable Long propertyId,
+                                  @RequestParam("startTime") String startTimeStr,
+                                  @RequestParam("endTime") String endTimeStr,
+                                  HttpSession session,
+                                  RedirectAttributes redirectAttributes) {
+        SessionUser loggedInUser = (SessionUser) session.getAttribute("loggedInUser");
+        if (loggedInUser == null) {
+            return "redirect:/auth/login";
+        }
+
+        if (!propertyService.isOwner(propertyId, loggedInUser.getId())) {
+            redirectAttributes.addFlashAttribute("errorMessage", "You don't have permission to manage this property.");
+            return "redirect:/properties/my-properties";
+        }
+
+        try {
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+            LocalDateTime startTime = LocalDateTime.parse(startTimeStr, formatter);
+            LocalDateTime endTime = LocalDateTime.parse(endTimeStr, formatter);
+
+            availabilityService.addWindow(propertyId, startTime, endTime);
+            redirectAttributes.addFlashAttribute("successMessage", "Availability published!");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+        }
+
+        return "redirect:/viewings/availability/" + propertyId;
+    }
+
+    // Remove an availability window
+    @PostMapping("/availability/{propertyId}/{windowId}/delete")
+    public String removeAvailability(@PathVariable Long propertyId,
+                                     @PathVariable Long windowId,
+                                     HttpSession session,
+                                     RedirectAttributes redirectAttributes) {
+        SessionUser loggedInUser = (SessionUser) session.getAttribute("loggedInUser");
+        if (loggedInUser == null) {
+            return "redirect:/auth/login";
+        }
+
+        if (!availabilityService.isWindowOwner(windowId, loggedInUser.getId())) {
+            redirectAttributes.addFlashAttribute("errorMessage", "You don't have permission to remove this window.");
+            return "redirect:/viewings/availability/" + propertyId;
+        }
+
+        try {
+            availabilityService.removeWindow(windowId);
+            redirectAttributes.addFlashAttribute("successMessage", "Availability removed.");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("errorMessage", "Error removing availability.");
+        }
+
+        return "redirect:/viewings/availability/" + propertyId;
+    }
+
+    // Schedule an open house
+    @PostMapping("/open-house/{propertyId}")
+    public String createOpenHouse(@PathVariable Long propertyId,
+                                  @RequestParam("startTime") String startTimeStr,
+                                  @RequestParam("endTime") String endTimeStr,
+                                  @RequestParam("capacity") int capacity,
+                                  HttpSession session,
+                                  RedirectAttributes redirectAttributes) {
+        SessionUser loggedInUser = (SessionUser) session.getAttribute("loggedInUser");
+        if (loggedInUser == null) {
+            return "redirect:/auth/login";
+        }
+
+        if (!propertyService.isOwner(propertyId, loggedInUser.getId())) {
+            redirectAttributes.addFlashAttribute("errorMessage", "You don't have permission to manage this property.");
+            return "redirect:/properties/my-properties";
+        }
+
+        try {
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm");
+            LocalDateTime startTime = LocalDateTime.parse(startTimeStr, formatter);
+            LocalDateTime endTime = LocalDateTime.parse(endTimeStr, formatter);
+
+            openHouseService.createOpenHouse(propertyId, startTime, endTime, capacity);
+            redirectAttributes.addFlashAttribute("successMessage", "Open house scheduled!");
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+        }
+
+        return "redirect:/viewings/availability/" + propertyId;
+    }
+
+    // Sign up for an open house
+    @PostMapping("/open-house/{openHouseId}/join")
+    public String joinOpenHouse(@PathVariable Long openHouseId,
+                                @RequestParam("propertyId") Long propertyId,
+                                @RequestParam(value = "message", required = false) String message,
+                                HttpSession session,
+                                RedirectAttributes redirectAttributes) {
+        SessionUser loggedInUser = (SessionUser) session.getAttribute("loggedInUser");
+        if (loggedInUser == null) {
+            return "redirect:/auth/login";
+        }
+
+        if (openHouseService.isOpenHouseOwner(openHouseId, loggedInUser.getId())) {
+            return "redirect:/properties/" + propertyId;
+        }
+
+        try {
+            PropertyViewing viewing = openHouseService.join(openHouseId, loggedInUser.getId(), message);
+            if (viewing.getStatus() == PropertyViewing.ViewingStatus.WAITLISTED) {
+                redirectAttributes.addFlashAttribute("successMessage",
+                    "The open house is full. You're on the waitlist and will be moved up automatically if a seat frees up.");
+            } else {
+                redirectAttributes.addFlashAttribute("successMessage", "You're signed up for the open house!");
+            }
+            return "redirect:/viewings/my-viewings";
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("errorMessage", e.getMessage());
+            return "redirect:/viewings/request/" + propertyId;
+        }
+    }
 }
\ No newline at end of file
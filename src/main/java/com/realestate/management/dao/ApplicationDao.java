@@ -6,8 +6,10 @@ import com.realestate.management.model.User;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
+import org.hibernate.query.NativeQuery;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -33,11 +35,13 @@ public class ApplicationDao {
     }
 
     // Find application by ID
+    @Transactional(readOnly = true)
     public Application findById(Long id) {
         return entityManager.find(Application.class, id);
     }
 
     // Get all applications
+    @Transactional(readOnly = true)
     public List<Application> findAll() {
         TypedQuery<Application> query = entityManager.createQuery(
             "SELECT a FROM Application a ORDER BY a.createdAt DESC", 
@@ -46,15 +50,17 @@ public class ApplicationDao {
     }
 
     // Get applications by user (buyer's applications)
+    @Transactional(readOnly = true)
     public List<Application> findByUser(Long userId) {
         TypedQuery<Application> query = entityManager.createQuery(
-            "SELECT a FROM Application a WHERE a.user.id = :userId ORDER BY a.createdAt DESC", 
+            "SELECT a FROM Application a JOIN FETCH a.property JOIN FETCH a.user WHERE a.user.id = :userId ORDER BY a.createdAt DESC", 
             Application.class);
         query.setParameter("userId", userId);
         return query.getResultList();
     }
 
     // Get applications by property
+    @Transactional(readOnly = true)
     public List<Application> findByProperty(Long propertyId) {
         TypedQuery<Application> query = entityManager.createQuery(
             "SELECT a FROM Application a WHERE a.property.id = :propertyId ORDER BY a.createdAt DESC", 
@@ -64,15 +70,17 @@ public class ApplicationDao {
     }
 
     // Get applications by property owner (for owner to review)
+    @Transactional(readOnly = true)
     public List<Application> findByPropertyOwner(Long ownerId) {
         TypedQuery<Application> query = entityManager.createQuery(
-            "SELECT a FROM Application a WHERE a.property.owner.id = :ownerId ORDER BY a.createdAt DESC", 
+            "SELECT a FROM Application a JOIN FETCH a.property JOIN FETCH a.user WHERE a.property.owner.id = :ownerId ORDER BY a.createdAt DESC", 
             Application.class);
         query.setParameter("ownerId", ownerId);
         return query.getResultList();
     }
 
     // Get applications by status
+    @Transactional(readOnly = true)
     public List<Application> findByStatus(Application.ApplicationStatus status) {
         TypedQuery<Application> query = entityManager.createQuery(
             "SELECT a FROM Application a WHERE a.status = :status ORDER BY a.createdAt DESC", 
@@ -82,9 +90,10 @@ public class ApplicationDao {
     }
 
     // Get pending applications for owner
+    @Transactional(readOnly = true)
     public List<Application> findPendingByOwner(Long ownerId) {
         TypedQuery<Application> query = entityManager.createQuery(
-            "SELECT a FROM Application a WHERE a.property.owner.id = :ownerId AND a.status = :status ORDER BY a.createdAt DESC", 
+            "SELECT a FROM Application a JOIN FETCH a.property JOIN FETCH a.user WHERE a.property.owner.id = :ownerId AND a.status = :status ORDER BY a.createdAt DESC", 
             Application.class);
         query.setParameter("ownerId", ownerId);
         query.setParameter("status", Application.ApplicationStatus.PENDING);
@@ -92,6 +101,7 @@ public class ApplicationDao {
     }
 
     // Count pending applications for owner
+    @Transactional(readOnly = true)
     public Long countPendingByOwner(Long ownerId) {
         TypedQuery<Long> query = entityManager.createQuery(
             "SELECT COUNT(a) FROM Application a WHERE a.property.owner.id = :ownerId AND a.status = :status", 
@@ -102,6 +112,7 @@ public class ApplicationDao {
     }
 
     // Check if user already has an application for property
+    @Transactional(readOnly = true)
     public boolean hasApplication(Long userId, Long propertyId) {
         TypedQuery<Long> query = entityManager.createQuery(
             "SELECT COUNT(a) FROM Application a WHERE a.user.id = :userId AND a.property.id = :propertyId AND a.status IN (:statuses)", 
@@ -117,6 +128,7 @@ public class ApplicationDao {
     }
 
     // Count applications by user
+    @Transactional(readOnly = true)
     public Long countByUser(Long userId) {
         TypedQuery<Long> query = entityManager.createQuery(
             "SELECT COUNT(a) FROM Application a WHERE a.user.id = :userId", 
@@ -124,4 +136,46 @@ public class ApplicationDao {
         query.setParameter("userId", userId);
         return query.getSingleResult();
     }
-}
\ No newline at end of file
+
+    // Get the next chunk of application ids in a status created before the cutoff
+    @Transactional(readOnly = true)
+    public List<Long> findIdsByStatusCreatedBefore(Application.ApplicationStatus status, LocalDateTime cutoff,
+                                                   long afterId, int limit) {
+        TypedQuery<Long> query = entityManager.createQuery(
+            "SELECT a.id FROM Application a WHERE a.status = :status AND a.createdAt < :cutoff AND a.id > :afterId ORDER BY a.id ASC",
+            Long.class);
+        query.setParameter("status", status);
+        query.setParameter("cutoff", cutoff);
+        query.setParameter("afterId", afterId);
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+
+    // Move a chunk of applications from one status to another in a single statement
+    public int updateStatusByIds(List<Long> ids, Application.ApplicationStatus from, Application.ApplicationStatus to) {
+        return entityManager.createQuery(
+                "UPDATE Application a SET a.status = :to, a.activeKey = NULL, a.updatedAt = :now WHERE a.id IN (:ids) AND a.status = :from")
+            .setParameter("to", to)
+            .setParameter("from", from)
+            .setParameter("now", LocalDateTime.now())
+            .setParameter("ids", ids)
+            .executeUpdate();
+    }
+
+    // Fill active keys for rows created before they existed. Where several open applications share
+    // a key only the oldest gets it, and none takes a key already in use, so nothing hits the
+    // unique index; the grouped derived table is materialized, which MySQL needs to update the
+    // table it reads from.
+    public int backfillActiveKeys() {
+        return entityManager.createNativeQuery(
+                "UPDATE applications a "
+                    + "JOIN (SELECT MIN(id) AS id, CONCAT(user_id, ':', property_id) AS active_key FROM applications "
+                    + "WHERE active_key IS NULL AND status IN ('PENDING', 'UNDER_REVIEW', 'APPROVED') "
+                    + "GROUP BY CONCAT(user_id, ':', property_id)) first ON first.id = a.id "
+                    + "LEFT JOIN applications taken ON taken.active_key = first.active_key "
+                    + "SET a.active_key = first.active_key WHERE taken.id IS NULL")
+            .unwrap(NativeQuery.class)
+            .addSynchronizedEntityClass(Application.class)
+            .executeUpdate();
+    }
+}
@@ -0,0 +1,55 @@
+package com.realestate.management.dao;
+
+import com.realestate.management.model.AvailabilityWindow;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@Transactional
+public class AvailabilityDao {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Save availability window
+    public void save(AvailabilityWindow window) {
+        entityManager.persist(window);
+    }
+
+    // Delete availability window
+    public void delete(AvailabilityWindow window) {
+        entityManager.remove(entityManager.contains(window) ? window : entityManager.merge(window));
+    }
+
+    // Find availability window by ID
+    @Transactional(readOnly = true)
+    public AvailabilityWindow findById(Long id) {
+        return entityManager.find(AvailabilityWindow.class, id);
+    }
+
+    // Get upcoming availability windows for a property
+    @Transactional(readOnly = true)
+    public List<AvailabilityWindow> findUpcomingByProperty(Long propertyId) {
+        TypedQuery<AvailabilityWindow> query = entityManager.createQuery(
+            "SELECT w FROM AvailabilityWindow w WHERE w.property.id = :propertyId AND w.endTime > :now ORDER BY w.startTime ASC",
+            AvailabilityWindow.class);
+        query.setParameter("propertyId", propertyId);
+        query.setParameter("now", LocalDateTime.now());
+        return query.getResultList();
+    }
+
+    // Get all windows that have not ended yet (used to build the in-memory slot index)
+    @Transactional(readOnly = true)
+    public List<AvailabilityWindow> findEndingAfter(LocalDateTime time) {
+        TypedQuery<AvailabilityWindow> query = entityManager.createQuery(
+            "SELECT w FROM AvailabilityWindow w JOIN FETCH w.property p JOIN FETCH p.owner WHERE w.endTime > :time",
+            AvailabilityWindow.class);
+        query.setParameter("time", time);
+        return query.getResultList();
+    }
+}
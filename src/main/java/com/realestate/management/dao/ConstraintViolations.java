@@ -0,0 +1,35 @@
+package com.realestate.management.dao;
+
+import org.hibernate.exception.ConstraintViolationException;
+import java.sql.SQLIntegrityConstraintViolationException;
+
+// Helpers for telling which unique constraint rejected a write
+public final class ConstraintViolations {
+
+    private ConstraintViolations() {
+    }
+
+    // Check whether the exception (or any cause) was raised by the named constraint
+    public static boolean isViolationOf(Throwable error, String constraintName) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation) {
+                String name = violation.getConstraintName();
+                if (name != null && name.toLowerCase().contains(constraintName)) {
+                    return true;
+                }
+                // Fall back to the driver message, e.g. "Duplicate entry ... for key 'table.constraint'"
+                String message = violation.getSQLException() != null ? violation.getSQLException().getMessage() : null;
+                return message != null && message.toLowerCase().contains(constraintName);
+            }
+            // Plain JDBC (JdbcTemplate) reports the driver's exception without Hibernate's wrapper
+            if (cause instanceof SQLIntegrityConstraintViolationException violation) {
+                String message = violation.getMessage();
+                return message != null && message.toLowerCase().contains(constraintName);
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+}
@@ -5,8 +5,12 @@ import com.realestate.management.model.Property;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -16,17 +20,51 @@ public class FavoriteDao {
     @PersistenceContext
     private EntityManager entityManager;
 
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public FavoriteDao(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
     // Save favorite
     public void save(Favorite favorite) {
         entityManager.persist(favorite);
     }
 
+    // Insert a favorite unless it already exists (or the property does not); returns rows inserted.
+    // Only the (user, property) key is tolerated; any other error still fails the call. Through
+    // JDBC on the transaction's connection, since a failed Hibernate statement would mark the
+    // whole transaction rollback-only, while MySQL just undoes the one statement.
+    public int insertIfAbsent(Long userId, Long propertyId) {
+        try {
+            return jdbcTemplate.update(
+                "INSERT INTO favorites (user_id, property_id, created_at) SELECT ?, p.id, ? FROM properties p WHERE p.id = ?",
+                userId, LocalDateTime.now(), propertyId);
+        } catch (DuplicateKeyException e) {
+            if (ConstraintViolations.isViolationOf(e, "uk_favorites_user_property")) {
+                return 0;
+            }
+            throw e;
+        }
+    }
+
+    // Delete a favorite by its natural key; returns rows deleted
+    public int deleteByUserAndProperty(Long userId, Long propertyId) {
+        return entityManager.createQuery(
+                "DELETE FROM Favorite f WHERE f.user.id = :userId AND f.property.id = :propertyId")
+            .setParameter("userId", userId)
+            .setParameter("propertyId", propertyId)
+            .executeUpdate();
+    }
+
     // Delete favorite
     public void delete(Favorite favorite) {
         entityManager.remove(entityManager.contains(favorite) ? favorite : entityManager.merge(favorite));
     }
 
     // Find favorite by user and property
+    @Transactional(readOnly = true)
     public Favorite findByUserAndProperty(Long userId, Long propertyId) {
         TypedQuery<Favorite> query = entityManager.createQuery(
             "SELECT f FROM Favorite f WHERE f.user.id = :userId AND f.property.id = :propertyId",
@@ -38,6 +76,7 @@ public class FavoriteDao {
     }
 
     // Get all favorites for a user
+    @Transactional(readOnly = true)
     public List<Property> findFavoritePropertiesByUser(Long userId) {
         TypedQuery<Property> query = entityManager.createQuery(
             "SELECT f.property FROM Favorite f WHERE f.user.id = :userId ORDER BY f.createdAt DESC",
@@ -46,7 +85,18 @@ public class FavoriteDao {
         return query.getResultList();
     }
 
+    // Get ids of all properties a user has favorited
+    @Transactional(readOnly = true)
+    public List<Long> findFavoritePropertyIdsByUser(Long userId) {
+        TypedQuery<Long> query = entityManager.createQuery(
+            "SELECT f.property.id FROM Favorite f WHERE f.user.id = :userId",
+            Long.class);
+        query.setParameter("userId", userId);
+        return query.getResultList();
+    }
+
     // Check if property is favorited by user
+    @Transactional(readOnly = true)
     public boolean isFavorited(Long userId, Long propertyId) {
         TypedQuery<Long> query = entityManager.createQuery(
             "SELECT COUNT(f) FROM Favorite f WHERE f.user.id = :userId AND f.property.id = :propertyId",
@@ -57,6 +107,7 @@ public class FavoriteDao {
     }
 
     // Count favorites for a user
+    @Transactional(readOnly = true)
     public Long countByUser(Long userId) {
         TypedQuery<Long> query = entityManager.createQuery(
             "SELECT COUNT(f) FROM Favorite f WHERE f.user.id = :userId",
@@ -2,55 +2,61 @@ package com.realestate.management.service;
 
 import com.realestate.management.dao.FavoriteDao;
 import com.realestate.management.dao.PropertyDao;
-import com.realestate.management.dao.UserDao;
-import com.realestate.management.model.Favorite;
 import com.realestate.management.model.Property;
-import com.realestate.management.model.User;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class FavoriteService {
 
     private final FavoriteDao favoriteDao;
-    private final UserDao userDao;
     private final PropertyDao propertyDao;
+    private final FavoriteSetCache favoriteSetCache;
+    private final PopularityService popularityService;
 
     @Autowired
-    public FavoriteService(FavoriteDao favoriteDao, UserDao userDao, PropertyDao propertyDao) {
+    public FavoriteService(FavoriteDao favoriteDao, PropertyDao propertyDao,
+                           FavoriteSetCache favoriteSetCache, PopularityService popularityService) {
         this.favoriteDao = favoriteDao;
-        this.userDao = userDao;
         this.propertyDao = propertyDao;
+        this.favoriteSetCache = favoriteSetCache;
+        this.popularityService = popularityService;
     }
 
-    // Add to favorites
+    // Add to favorites. Idempotent: adding an existing favorite again is a no-op, and
+    // the unique (user, property) index settles concurrent double submits in one insert.
+    // Always asks the table: the cached set may be stale after a change on another node.
     @Transactional
     public void addFavorite(Long userId, Long propertyId) {
-        // Check if already favorited
-        if (favoriteDao.isFavorited(userId, propertyId)) {
-            throw new RuntimeException("Property is already in favorites");
+        int inserted = favoriteDao.insertIfAbsent(userId, propertyId);
+        if (inserted == 0) {
+            // Either it is already a favorite or the property does not exist
+            if (propertyDao.findById(propertyId) == null) {
+                throw new RuntimeException("Property not found");
+            }
+            TransactionCallbacks.afterCommit(() -> favoriteSetCache.added(userId, propertyId));
+            return;
         }
-
-        User user = userDao.findById(userId);
-        Property property = propertyDao.findById(propertyId);
-
-        if (user == null || property == null) {
-            throw new RuntimeException("User or Property not found");
-        }
-
-        Favorite favorite = new Favorite(user, property);
-        favoriteDao.save(favorite);
+        TransactionCallbacks.afterCommit(() -> {
+            favoriteSetCache.added(userId, propertyId);
+            popularityService.favoriteAdded(propertyId);
+        });
     }
 
-    // Remove from favorites
+    // Remove from favorites; the cached set is corrected even if another node removed it first
     @Transactional
     public void removeFavorite(Long userId, Long propertyId) {
-        Favorite favorite = favoriteDao.findByUserAndProperty(userId, propertyId);
-        if (favorite != null) {
-            favoriteDao.delete(favorite);
-        }
+        boolean deleted = favoriteDao.deleteByUserAndProperty(userId, propertyId) > 0;
+        TransactionCallbacks.afterCommit(() -> {
+            favoriteSetCache.removed(userId, propertyId);
+            if (deleted) {
+                popularityService.favoriteRemoved(propertyId);
+            }
+        });
     }
 
     // Get all favorite properties for a user
@@ -60,7 +66,22 @@ public class FavoriteService {
 
     // Check if property is favorited
     public boolean isFavorited(Long userId, Long propertyId) {
-        return favoriteDao.isFavorited(userId, propertyId);
+        return favoriteSetCache.contains(userId, propertyId);
+    }
+
+    // Check which of the given properties are favorited, without a query per property
+    public Set<Long> getFavoritedIds(Long userId, Collection<Long> propertyIds) {
+        return favoriteSetCache.favoritedAmong(userId, propertyIds);
+    }
+
+    // Changes whenever the user's favorites do (page validators)
+    public int favoritesFingerprint(Long userId) {
+        return favoriteSetCache.fingerprint(userId);
+    }
+
+    // Forget the user's cached favorites (on logout)
+    public void evictCache(Long userId) {
+        favoriteSetCache.evict(userId);
     }
 
     // Count favorites for a user
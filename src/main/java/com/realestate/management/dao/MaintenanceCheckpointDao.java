@@ -0,0 +1,59 @@
+package com.realestate.management.dao;
+
+import com.realestate.management.model.MaintenanceCheckpoint;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+
+@Repository
+@Transactional
+public class MaintenanceCheckpointDao {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Find checkpoint for a job, creating it on first use
+    public MaintenanceCheckpoint findOrCreate(String jobName) {
+        MaintenanceCheckpoint checkpoint = entityManager.find(MaintenanceCheckpoint.class, jobName);
+        if (checkpoint == null) {
+            checkpoint = new MaintenanceCheckpoint(jobName);
+            entityManager.persist(checkpoint);
+        }
+        return checkpoint;
+    }
+
+    // Take or extend a lease held in the row of the given name; returns false while another
+    // holder's lease has not yet run out. The conditional update is atomic across nodes.
+    public boolean tryLease(String leaseName, String holder, LocalDateTime now, LocalDateTime until) {
+        findOrCreate(leaseName);
+        entityManager.flush();
+        return entityManager.createQuery(
+                "UPDATE MaintenanceCheckpoint c SET c.leaseHolder = :holder, c.leaseUntil = :until " +
+                "WHERE c.jobName = :name AND (c.leaseHolder = :holder OR c.leaseUntil IS NULL OR c.leaseUntil < :now)")
+            .setParameter("holder", holder)
+            .setParameter("until", until)
+            .setParameter("name", leaseName)
+            .setParameter("now", now)
+            .executeUpdate() == 1;
+    }
+
+    // Give up a lease early if this holder still has it
+    public void releaseLease(String leaseName, String holder) {
+        entityManager.createQuery(
+                "UPDATE MaintenanceCheckpoint c SET c.leaseHolder = NULL, c.leaseUntil = NULL " +
+                "WHERE c.jobName = :name AND c.leaseHolder = :holder")
+            .setParameter("name", leaseName)
+            .setParameter("holder", holder)
+            .executeUpdate();
+    }
+
+    // Record progress for a job
+    public void advance(String jobName, long lastId, long rows) {
+        MaintenanceCheckpoint checkpoint = findOrCreate(jobName);
+        checkpoint.setLastId(lastId);
+        checkpoint.setRowsProcessed(checkpoint.getRowsProcessed() + rows);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+    }
+}
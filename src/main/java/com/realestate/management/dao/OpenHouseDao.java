@@ -0,0 +1,83 @@
+package com.realestate.management.dao;
+
+import com.realestate.management.model.OpenHouse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@Transactional
+public class OpenHouseDao {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Save open house
+    public void save(OpenHouse openHouse) {
+        entityManager.persist(openHouse);
+    }
+
+    // Find open house by ID
+    @Transactional(readOnly = true)
+    public OpenHouse findById(Long id) {
+        return entityManager.find(OpenHouse.class, id);
+    }
+
+    // Get upcoming open houses for a property
+    @Transactional(readOnly = true)
+    public List<OpenHouse> findUpcomingByProperty(Long propertyId) {
+        TypedQuery<OpenHouse> query = entityManager.createQuery(
+            "SELECT o FROM OpenHouse o WHERE o.property.id = :propertyId AND o.endTime > :now ORDER BY o.startTime ASC",
+            OpenHouse.class);
+        query.setParameter("propertyId", propertyId);
+        query.setParameter("now", LocalDateTime.now());
+        return query.getResultList();
+    }
+
+    // Get all open houses that have not ended yet (used to build the in-memory slot index)
+    @Transactional(readOnly = true)
+    public List<OpenHouse> findEndingAfter(LocalDateTime time) {
+        TypedQuery<OpenHouse> query = entityManager.createQuery(
+            "SELECT o FROM OpenHouse o JOIN FETCH o.property p JOIN FETCH p.owner WHERE o.endTime > :time",
+            OpenHouse.class);
+        query.setParameter("time", time);
+        return query.getResultList();
+    }
+
+    // Get the number of seats still free
+    @Transactional(readOnly = true)
+    public int findSeatsLeft(Long id) {
+        TypedQuery<Integer> query = entityManager.createQuery(
+            "SELECT o.capacity - o.reservedSeats FROM OpenHouse o WHERE o.id = :id", Integer.class);
+        query.setParameter("id", id);
+        List<Integer> results = query.getResultList();
+        return results.isEmpty() ? 0 : Math.max(0, results.get(0));
+    }
+
+    // Take one seat if any is left. Runs in the caller's transaction, so the seat is given back
+    // by a rollback and no second pooled connection is needed; the row lock lasts until the
+    // sign-up commits, which is one insert later.
+    public boolean tryReserveSeat(Long id) {
+        int updated = entityManager.createQuery(
+                "UPDATE OpenHouse o SET o.reservedSeats = o.reservedSeats + 1, o.updatedAt = :now " +
+                "WHERE o.id = :id AND o.reservedSeats < o.capacity")
+            .setParameter("id", id)
+            .setParameter("now", LocalDateTime.now())
+            .executeUpdate();
+        return updated == 1;
+    }
+
+    // Give back one seat, in the caller's transaction
+    public void releaseSeat(Long id) {
+        entityManager.createQuery(
+                "UPDATE OpenHouse o SET o.reservedSeats = o.reservedSeats - 1, o.updatedAt = :now " +
+                "WHERE o.id = :id AND o.reservedSeats > 0")
+            .setParameter("id", id)
+            .setParameter("now", LocalDateTime.now())
+            .executeUpdate();
+    }
+}
@@ -33,11 +33,13 @@ public class PropertyDao {
     }
 
     // Find property by ID
+    @Transactional(readOnly = true)
     public Property findById(Long id) {
         return entityManager.find(Property.class, id);
     }
 
     // Get all properties
+    @Transactional(readOnly = true)
     public List<Property> findAll() {
         TypedQuery<Property> query = entityManager.createQuery(
             "SELECT p FROM Property p ORDER BY p.createdAt DESC", Property.class);
@@ -45,14 +47,18 @@ public class PropertyDao {
     }
 
     // Get all approved properties
+    @Transactional(readOnly = true)
     public List<Property> findAllApproved() {
         TypedQuery<Property> query = entityManager.createQuery(
             "SELECT p FROM Property p WHERE p.status = :status ORDER BY p.createdAt DESC", Property.class);
         query.setParameter("status", Property.PropertyStatus.APPROVED);
+        query.setHint("org.hibernate.cacheable", true);
+        query.setHint("org.hibernate.cacheRegion", "property-queries");
         return query.getResultList();
     }
 
     // Get properties by owner
+    @Transactional(readOnly = true)
     public List<Property> findByOwner(User owner) {
         TypedQuery<Property> query = entityManager.createQuery(
             "SELECT p FROM Property p WHERE p.owner = :owner ORDER BY p.createdAt DESC", Property.class);
@@ -61,14 +67,16 @@ public class PropertyDao {
     }
 
     // Get properties by status
+    @Transactional(readOnly = true)
     public List<Property> findByStatus(Property.PropertyStatus status) {
         TypedQuery<Property> query = entityManager.createQuery(
-            "SELECT p FROM Property p WHERE p.status = :status ORDER BY p.createdAt DESC", Property.class);
+            "SELECT p FROM Property p JOIN FETCH p.owner WHERE p.status = :status ORDER BY p.createdAt DESC", Property.class);
         query.setParameter("status", status);
         return query.getResultList();
     }
 
     // Get properties by listing type (SALE or RENT)
+    @Transactional(readOnly = true)
     public List<Property> findByListingType(Property.ListingType listingType) {
         TypedQuery<Property> query = entityManager.createQuery(
             "SELECT p FROM Property p WHERE p.listingType = :listingType AND p.status = :status ORDER BY p.createdAt DESC", Property.class);
@@ -78,6 +86,7 @@ public class PropertyDao {
     }
 
     // Get properties by property type
+    @Transactional(readOnly = true)
     public List<Property> findByPropertyType(Property.PropertyType propertyType) {
         TypedQuery<Property> query = entityManager.createQuery(
             "SELECT p FROM Property p WHERE p.propertyType = :propertyType AND p.status = :status ORDER BY p.createdAt DESC", Property.class);
@@ -87,6 +96,7 @@ public class PropertyDao {
     }
 
     // Get properties by city
+    @Transactional(readOnly = true)
     public List<Property> findByCity(String city) {
         TypedQuery<Property> query = entityManager.createQuery(
             "SELECT p FROM Property p WHERE LOWER(p.city) LIKE LOWER(:city) AND p.status = :status ORDER BY p.createdAt DESC", Property.class);
@@ -96,6 +106,7 @@ public class PropertyDao {
     }
 
     // Get properties by price range
+    @Transactional(readOnly = true)
     public List<Property> findByPriceRange(BigDecimal minPrice, BigDecimal maxPrice) {
         TypedQuery<Property> query = entityManager.createQuery(
             "SELECT p FROM Property p WHERE p.price BETWEEN :minPrice AND :maxPrice AND p.status = :status ORDER BY p.price ASC", Property.class);
@@ -106,6 +117,7 @@ public class PropertyDao {
     }
 
     // Get properties by bedrooms
+    @Transactional(readOnly = true)
     public List<Property> findByBedrooms(Integer bedrooms) {
         TypedQuery<Property> query = entityManager.createQuery(
             "SELECT p FROM Property p WHERE p.bedrooms >= :bedrooms AND p.status = :status ORDER BY p.createdAt DESC", Property.class);
@@ -115,6 +127,7 @@ public class PropertyDao {
     }
 
     // Search properties with filters
+    @Transactional(readOnly = true)
     public List<Property> searchProperties(String city, Property.PropertyType propertyType, 
                                            Property.ListingType listingType, BigDecimal minPrice, 
                                            BigDecimal maxPrice, Integer bedrooms) {
@@ -167,18 +180,22 @@ public class PropertyDao {
     }
 
     // Count properties by owner
-    public Long countByOwner(User owner) {
+    @Transactional(readOnly = true)
+    public Long countByOwner(Long ownerId) {
         TypedQuery<Long> query = entityManager.createQuery(
-            "SELECT COUNT(p) FROM Property p WHERE p.owner = :owner", Long.class);
-        query.setParameter("owner", owner);
+            "SELECT COUNT(p) FROM Property p WHERE p.owner.id = :ownerId", Long.class);
+        query.setParameter("ownerId", ownerId);
         return query.getSingleResult();
     }
 
     // Count pending properties
+    @Transactional(readOnly = true)
     public Long countPending() {
         TypedQuery<Long> query = entityManager.createQuery(
             "SELECT COUNT(p) FROM Property p WHERE p.status = :status", Long.class);
         query.setParameter("status", Property.PropertyStatus.PENDING);
+        query.setHint("org.hibernate.cacheable", true);
+        query.setHint("org.hibernate.cacheRegion", "property-queries");
         return query.getSingleResult();
     }
 }
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.realestate.management.dao;
+
+import com.realestate.management.model.Property;
+import com.realestate.management.model.PropertyStats;
+import com.realestate.management.model.TrendingListing;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+@Transactional
+public class PropertyStatsDao {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // One row of pending counter changes for a property
+    public record Delta(long propertyId, long favorites, long viewingRequests, long applications, double score) {
+    }
+
+    // Add a batch of deltas with a single multi-row upsert, creating missing rows
+    public int applyDeltas(List<Delta> deltas) {
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        StringBuilder sql = new StringBuilder(
+            "INSERT INTO property_stats (property_id, favorite_count, viewing_request_count, application_count, trending_score, updated_at) VALUES ");
+        for (int i = 0; i < deltas.size(); i++) {
+            sql.append(i == 0 ? "(?, ?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?, ?)");
+        }
+        sql.append(" ON DUPLICATE KEY UPDATE"
+            + " favorite_count = GREATEST(favorite_count + VALUES(favorite_count), 0),"
+            + " viewing_request_count = viewing_request_count + VALUES(viewing_request_count),"
+            + " application_count = application_count + VALUES(application_count),"
+            + " trending_score = trending_score + VALUES(trending_score),"
+            + " updated_at = VALUES(updated_at)");
+
+        Query query = entityManager.createNativeQuery(sql.toString())
+            .unwrap(NativeQuery.class)
+            .addSynchronizedEntityClass(PropertyStats.class);
+        LocalDateTime now = LocalDateTime.now();
+        int position = 1;
+        for (Delta delta : deltas) {
+            query.setParameter(position++, delta.propertyId());
+            query.setParameter(position++, delta.favorites());
+            query.setParameter(position++, delta.viewingRequests());
+            query.setParameter(position++, delta.applications());
+            query.setParameter(position++, delta.score());
+            query.setParameter(position++, now);
+        }
+        return query.executeUpdate();
+    }
+
+    // Check whether any counters exist yet
+    @Transactional(readOnly = true)
+    public boolean isEmpty() {
+        return entityManager.createQuery("SELECT s.propertyId FROM PropertyStats s")
+            .setMaxResults(1)
+            .getResultList()
+            .isEmpty();
+    }
+
+    // Seed lifetime counts from existing rows; history carries no trending score
+    public int seedFromHistory() {
+        return entityManager.createNativeQuery(
+                "INSERT INTO property_stats (property_id, favorite_count, viewing_request_count, application_count, trending_score, updated_at) "
+                    + "SELECT p.id, "
+                    + "(SELECT COUNT(*) FROM favorites f WHERE f.property_id = p.id), "
+                    + "(SELECT COUNT(*) FROM property_viewings v WHERE v.property_id = p.id), "
+                    + "(SELECT COUNT(*) FROM applications a WHERE a.property_id = p.id), "
+                    + "0, ? FROM properties p "
+                    + "WHERE NOT EXISTS (SELECT 1 FROM property_stats s WHERE s.property_id = p.id)")
+            .unwrap(NativeQuery.class)
+            .addSynchronizedEntityClass(PropertyStats.class)
+            .setParameter(1, LocalDateTime.now())
+            .executeUpdate();
+    }
+
+    // Highest-scoring approved listings in a city
+    @Transactional(readOnly = true)
+    public List<TrendingListing> findTrendingByCity(String city, int limit) {
+        TypedQuery<TrendingListing> query = entityManager.createQuery(
+            "SELECT new com.realestate.management.model.TrendingListing(p.id, p.title, p.city, p.state, p.price, p.listingType, p.imageUrl, s.favoriteCount, s.viewingRequestCount, p.updatedAt) "
+                + "FROM PropertyStats s JOIN Property p ON p.id = s.propertyId "
+                + "WHERE p.status = :status AND LOWER(p.city) = LOWER(:city) AND s.trendingScore > 0 "
+                + "ORDER BY s.trendingScore DESC",
+            TrendingListing.class);
+        query.setParameter("status", Property.PropertyStatus.APPROVED);
+        query.setParameter("city", city);
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+
+    // Highest-scoring approved listings overall
+    @Transactional(readOnly = true)
+    public List<TrendingListing> findTrending(int limit) {
+        TypedQuery<TrendingListing> query = entityManager.createQuery(
+            "SELECT new com.realestate.management.model.TrendingListing(p.id, p.title, p.city, p.state, p.price, p.listingType, p.imageUrl, s.favoriteCount, s.viewingRequestCount, p.updatedAt) "
+                + "FROM PropertyStats s JOIN Property p ON p.id = s.propertyId "
+                + "WHERE p.status = :status AND s.trendingScore > 0 "
+                + "ORDER BY s.trendingScore DESC",
+            TrendingListing.class);
+        query.setParameter("status", Property.PropertyStatus.APPROVED);
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+}
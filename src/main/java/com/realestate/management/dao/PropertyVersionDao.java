@@ -0,0 +1,51 @@
+package com.realestate.management.dao;
+
+import com.realestate.management.model.Property;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Version columns of listings for conditional GETs. Plain JDBC on purpose: answering a
+// revalidation must not load entities or go through Hibernate's session and caches.
+@Repository
+public class PropertyVersionDao {
+
+    public record Version(long count, LocalDateTime lastModified) {
+
+        // The later of two change times, either of which may be missing
+        public static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+            if (a == null || b == null) {
+                return a == null ? b : a;
+            }
+            return a.isAfter(b) ? a : b;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public PropertyVersionDao(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Latest change to a listing or to its owner, who is shown on the details page; null if there is no such listing
+    public Version findDetailsVersion(Long propertyId) {
+        List<Version> rows = jdbcTemplate.query(
+            "SELECT p.updated_at, u.updated_at FROM properties p JOIN users u ON u.id = p.owner_id WHERE p.id = ?",
+            (rs, rowNum) -> new Version(1, Version.latest(rs.getObject(1, LocalDateTime.class), rs.getObject(2, LocalDateTime.class))),
+            propertyId);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    // Count and latest change of the approved listings, which is all the list page shows. A listing
+    // leaving the set is either an update (newer updated_at) or a delete (lower count). Reads the
+    // status/updated_at index; callers only ask on revalidations and share the answer briefly.
+    public Version findApprovedVersion() {
+        return jdbcTemplate.queryForObject(
+            "SELECT COUNT(*), MAX(updated_at) FROM properties WHERE status = ?",
+            (rs, rowNum) -> new Version(rs.getLong(1), rs.getObject(2, LocalDateTime.class)),
+            Property.PropertyStatus.APPROVED.name());
+    }
+}
@@ -7,11 +7,14 @@ import jakarta.persistence.TypedQuery;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Repository
 @Transactional
 public class UserDao {
 
+    private static final int EMAIL_PAGE_SIZE = 1000;
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -31,11 +34,55 @@ public class UserDao {
     }
 
     // Find user by ID
+    @Transactional(readOnly = true)
     public User findById(Long id) {
         return entityManager.find(User.class, id);
     }
 
+    // Find user by ID in the database itself. This node's second-level cache entry may predate a
+    // change made on another node (nothing invalidates it across nodes), so drop it first; the
+    // load puts the fresh row back for everyone else on this node.
+    @Transactional(readOnly = true)
+    public User findByIdUncached(Long id) {
+        entityManager.getEntityManagerFactory().getCache().evict(User.class, id);
+        return entityManager.find(User.class, id);
+    }
+
+    // Get a reference to a user without loading it (for setting foreign keys)
+    public User getReference(Long id) {
+        return entityManager.getReference(User.class, id);
+    }
+
+    // Lock an owner's row until the transaction ends, so bookings of their time are made one at
+    // a time across all nodes; the in-memory slot index only serializes them within one node
+    public void lockForScheduling(Long ownerId) {
+        entityManager.createNativeQuery("SELECT id FROM users WHERE id = :id FOR UPDATE")
+            .setParameter("id", ownerId)
+            .getResultList();
+    }
+
+    // Get a user's session version and active flag without loading the entity
+    @Transactional(readOnly = true)
+    public Object[] findSessionState(Long id) {
+        List<Object[]> results = entityManager.createQuery(
+                "SELECT u.sessionVersion, u.isActive FROM User u WHERE u.id = :id", Object[].class)
+            .setParameter("id", id)
+            .getResultList();
+        return results.isEmpty() ? null : results.get(0);
+    }
+
+    // Replace a stored password hash, unless another login already upgraded it
+    public int updatePassword(Long id, String expected, String password) {
+        return entityManager.createQuery(
+                "UPDATE User u SET u.password = :password WHERE u.id = :id AND u.password = :expected")
+            .setParameter("password", password)
+            .setParameter("id", id)
+            .setParameter("expected", expected)
+            .executeUpdate();
+    }
+
     // Find user by email
+    @Transactional(readOnly = true)
     public User findByEmail(String email) {
         TypedQuery<User> query = entityManager.createQuery(
             "SELECT u FROM User u WHERE u.email = :email", User.class);
@@ -45,6 +92,7 @@ public class UserDao {
     }
 
     // Get all users
+    @Transactional(readOnly = true)
     public List<User> findAll() {
         TypedQuery<User> query = entityManager.createQuery(
             "SELECT u FROM User u", User.class);
@@ -52,6 +100,7 @@ public class UserDao {
     }
 
     // Find users by role
+    @Transactional(readOnly = true)
     public List<User> findByRole(User.UserRole role) {
         TypedQuery<User> query = entityManager.createQuery(
             "SELECT u FROM User u WHERE u.role = :role", User.class);
@@ -60,6 +109,7 @@ public class UserDao {
     }
 
     // Check if email exists
+    @Transactional(readOnly = true)
     public boolean emailExists(String email) {
         TypedQuery<Long> query = entityManager.createQuery(
             "SELECT COUNT(u) FROM User u WHERE u.email = :email", Long.class);
@@ -67,7 +117,28 @@ public class UserDao {
         return query.getSingleResult() > 0;
     }
 
+    // Hand every registered email to the consumer without loading users. Connector/J buffers a
+    // whole result set unless told to stream, so read it in keyset pages of EMAIL_PAGE_SIZE rows
+    @Transactional(readOnly = true)
+    public void forEachEmail(Consumer<String> consumer) {
+        TypedQuery<Object[]> query = entityManager.createQuery(
+            "SELECT u.id, u.email FROM User u WHERE u.id > :afterId ORDER BY u.id ASC", Object[].class);
+        query.setMaxResults(EMAIL_PAGE_SIZE);
+        long afterId = 0L;
+        List<Object[]> page;
+        do {
+            page = query.setParameter("afterId", afterId).getResultList();
+            for (Object[] row : page) {
+                consumer.accept((String) row[1]);
+            }
+            if (!page.isEmpty()) {
+                afterId = (Long) page.get(page.size() - 1)[0];
+            }
+        } while (page.size() == EMAIL_PAGE_SIZE);
+    }
+
     // Find active users
+    @Transactional(readOnly = true)
     public List<User> findActiveUsers() {
         TypedQuery<User> query = entityManager.createQuery(
             "SELECT u FROM User u WHERE u.isActive = true", User.class);
@@ -6,8 +6,10 @@ import com.realestate.management.model.Property;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.TypedQuery;
+import org.hibernate.query.NativeQuery;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -34,11 +36,13 @@ public class ViewingDao {
     }
 
     // Find viewing by ID
+    @Transactional(readOnly = true)
     public PropertyViewing findById(Long id) {
         return entityManager.find(PropertyViewing.class, id);
     }
 
     // Get all viewings
+    @Transactional(readOnly = true)
     public List<PropertyViewing> findAll() {
         TypedQuery<PropertyViewing> query = entityManager.createQuery(
             "SELECT v FROM PropertyViewing v ORDER BY v.viewingDate DESC", 
@@ -47,15 +51,17 @@ public class ViewingDao {
     }
 
     // Get viewings by user (buyer's viewings)
+    @Transactional(readOnly = true)
     public List<PropertyViewing> findByUser(Long userId) {
         TypedQuery<PropertyViewing> query = entityManager.createQuery(
-            "SELECT v FROM PropertyViewing v WHERE v.user.id = :userId ORDER BY v.viewingDate DESC", 
+            "SELECT v FROM PropertyViewing v JOIN FETCH v.property p JOIN FETCH p.owner JOIN FETCH v.user WHERE v.user.id = :userId ORDER BY v.viewingDate DESC", 
             PropertyViewing.class);
         query.setParameter("userId", userId);
         return query.getResultList();
     }
 
     // Get viewings by property
+    @Transactional(readOnly = true)
     public List<PropertyViewing> findByProperty(Long propertyId) {
         TypedQuery<PropertyViewing> query = entityManager.createQuery(
             "SELECT v FROM PropertyViewing v WHERE v.property.id = :propertyId ORDER BY v.viewingDate DESC", 
@@ -65,15 +71,17 @@ public class ViewingDao {
     }
 
     // Get viewings by property owner (for owner to see requests)
+    @Transactional(readOnly = true)
     public List<PropertyViewing> findByPropertyOwner(Long ownerId) {
         TypedQuery<PropertyViewing> query = entityManager.createQuery(
-            "SELECT v FROM PropertyViewing v WHERE v.property.owner.id = :ownerId ORDER BY v.viewingDate DESC", 
+            "SELECT v FROM PropertyViewing v JOIN FETCH v.property JOIN FETCH v.user WHERE v.property.owner.id = :ownerId ORDER BY v.viewingDate DESC", 
             PropertyViewing.class);
         query.setParameter("ownerId", ownerId);
         return query.getResultList();
     }
 
     // Get viewings by status
+    @Transactional(readOnly = true)
     public List<PropertyViewing> findByStatus(PropertyViewing.ViewingStatus status) {
         TypedQuery<PropertyViewing> query = entityManager.createQuery(
             "SELECT v FROM PropertyViewing v WHERE v.status = :status ORDER BY v.viewingDate DESC", 
@@ -83,9 +91,10 @@ public class ViewingDao {
     }
 
     // Get pending viewings for owner
+    @Transactional(readOnly = true)
     public List<PropertyViewing> findPendingByOwner(Long ownerId) {
         TypedQuery<PropertyViewing> query = entityManager.createQuery(
-            "SELECT v FROM PropertyViewing v WHERE v.property.owner.id = :ownerId AND v.status = :status ORDER BY v.viewingDate ASC", 
+            "SELECT v FROM PropertyViewing v JOIN FETCH v.property JOIN FETCH v.user WHERE v.property.owner.id = :ownerId AND v.status = :status ORDER BY v.viewingDate ASC", 
             PropertyViewing.class);
         query.setParameter("ownerId", ownerId);
         query.setParameter("status", PropertyViewing.ViewingStatus.PENDING);
@@ -93,6 +102,7 @@ public class ViewingDao {
     }
 
     // Get upcoming approved viewings for user
+    @Transactional(readOnly = true)
     public List<PropertyViewing> findUpcomingByUser(Long userId) {
         TypedQuery<PropertyViewing> query = entityManager.createQuery(
             "SELECT v FROM PropertyViewing v WHERE v.user.id = :userId AND v.status = :status AND v.viewingDate > :now ORDER BY v.viewingDate ASC", 
@@ -103,7 +113,50 @@ public class ViewingDao {
         return query.getResultList();
     }
 
+    // Get pending/approved viewings from a point in time (used to build the in-memory slot index)
+    @Transactional(readOnly = true)
+    public List<PropertyViewing> findActiveFrom(LocalDateTime from) {
+        TypedQuery<PropertyViewing> query = entityManager.createQuery(
+            "SELECT v FROM PropertyViewing v JOIN FETCH v.property p JOIN FETCH p.owner WHERE v.openHouse IS NULL AND v.status IN (:statuses) AND v.viewingDate >= :from",
+            PropertyViewing.class);
+        query.setParameter("statuses", List.of(
+            PropertyViewing.ViewingStatus.PENDING,
+            PropertyViewing.ViewingStatus.APPROVED
+        ));
+        query.setParameter("from", from);
+        return query.getResultList();
+    }
+
+    // Check whether an owner already has a private viewing or an open house in part of the
+    // interval, other than exceptViewingId (may be null); a viewing occupies slotLength from its
+    // start. Used with the owner's scheduling lock held, so it sees every booking any node has committed.
+    public boolean hasBookingOverlap(Long ownerId, LocalDateTime start, LocalDateTime end, Duration slotLength,
+                                     Long exceptViewingId) {
+        Long viewings = entityManager.createQuery(
+                "SELECT COUNT(v) FROM PropertyViewing v WHERE v.property.owner.id = :ownerId AND v.openHouse IS NULL " +
+                "AND v.status IN (:statuses) AND v.viewingDate > :earliest AND v.viewingDate < :end " +
+                "AND v.id <> :exceptId", Long.class)
+            .setParameter("ownerId", ownerId)
+            .setParameter("exceptId", exceptViewingId == null ? 0L : exceptViewingId)
+            .setParameter("statuses", List.of(PropertyViewing.ViewingStatus.PENDING, PropertyViewing.ViewingStatus.APPROVED))
+            .setParameter("earliest", start.minus(slotLength))
+            .setParameter("end", end)
+            .getSingleResult();
+        if (viewings > 0) {
+            return true;
+        }
+        Long openHouses = entityManager.createQuery(
+                "SELECT COUNT(o) FROM OpenHouse o WHERE o.property.owner.id = :ownerId " +
+                "AND o.startTime < :end AND o.endTime > :start", Long.class)
+            .setParameter("ownerId", ownerId)
+            .setParameter("start", start)
+            .setParameter("end", end)
+            .getSingleResult();
+        return openHouses > 0;
+    }
+
     // Count pending viewings for owner
+    @Transactional(readOnly = true)
     public Long countPendingByOwner(Long ownerId) {
         TypedQuery<Long> query = entityManager.createQuery(
             "SELECT COUNT(v) FROM PropertyViewing v WHERE v.property.owner.id = :ownerId AND v.status = :status", 
@@ -114,9 +167,10 @@ public class ViewingDao {
     }
 
     // Check if user already has a viewing request for property
+    @Transactional(readOnly = true)
     public boolean hasViewingRequest(Long userId, Long propertyId) {
         TypedQuery<Long> query = entityManager.createQuery(
-            "SELECT COUNT(v) FROM PropertyViewing v WHERE v.user.id = :userId AND v.property.id = :propertyId AND v.status IN (:statuses)", 
+            "SELECT COUNT(v) FROM PropertyViewing v WHERE v.user.id = :userId AND v.property.id = :propertyId AND v.openHouse IS NULL AND v.status IN (:statuses)", 
             Long.class);
         query.setParameter("userId", userId);
         query.setParameter("propertyId", propertyId);
@@ -126,4 +180,146 @@ public class ViewingDao {
         ));
         return query.getSingleResult() > 0;
     }
+
+    // Check if user already signed up for an open house
+    @Transactional(readOnly = true)
+    public boolean hasOpenHouseSignup(Long userId, Long openHouseId) {
+        TypedQuery<Long> query = entityManager.createQuery(
+            "SELECT COUNT(v) FROM PropertyViewing v WHERE v.user.id = :userId AND v.openHouse.id = :openHouseId AND v.status IN (:statuses)",
+            Long.class);
+        query.setParameter("userId", userId);
+        query.setParameter("openHouseId", openHouseId);
+        query.setParameter("statuses", List.of(
+            PropertyViewing.ViewingStatus.APPROVED,
+            PropertyViewing.ViewingStatus.WAITLISTED
+        ));
+        return query.getSingleResult() > 0;
+    }
+
+    // Get waitlisted sign-up ids for an open house, oldest first
+    @Transactional(readOnly = true)
+    public List<Long> findWaitlistedIds(Long openHouseId, int limit) {
+        TypedQuery<Long> query = entityManager.createQuery(
+            "SELECT v.id FROM PropertyViewing v WHERE v.openHouse.id = :openHouseId AND v.status = :status ORDER BY v.createdAt ASC, v.id ASC",
+            Long.class);
+        query.setParameter("openHouseId", openHouseId);
+        query.setParameter("status", PropertyViewing.ViewingStatus.WAITLISTED);
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+
+    // Move a waitlisted sign-up to approved; returns false if someone else already did
+    public boolean promoteFromWaitlist(Long viewingId) {
+        int updated = entityManager.createQuery(
+                "UPDATE PropertyViewing v SET v.status = :approved, v.updatedAt = :now WHERE v.id = :id AND v.status = :waitlisted")
+            .setParameter("approved", PropertyViewing.ViewingStatus.APPROVED)
+            .setParameter("waitlisted", PropertyViewing.ViewingStatus.WAITLISTED)
+            .setParameter("now", LocalDateTime.now())
+            .setParameter("id", viewingId)
+            .executeUpdate();
+        return updated == 1;
+    }
+
+    // Get the next chunk of viewing ids in a status with a viewing date before the cutoff
+    @Transactional(readOnly = true)
+    public List<Long> findIdsByStatusBefore(PropertyViewing.ViewingStatus status, LocalDateTime cutoff,
+                                            long afterId, int limit) {
+        TypedQuery<Long> query = entityManager.createQuery(
+            "SELECT v.id FROM PropertyViewing v WHERE v.status = :status AND v.viewingDate < :cutoff AND v.id > :afterId ORDER BY v.id ASC",
+            Long.class);
+        query.setParameter("status", status);
+        query.setParameter("cutoff", cutoff);
+        query.setParameter("afterId", afterId);
+        query.setMaxResults(limit);
+        return query.getResultList();
+    }
+
+    // Move a chunk of viewings from one status to another in a single statement.
+    // Only used for terminal target states, so the active key is released as well.
+    public int updateStatusByIds(List<Long> ids, PropertyViewing.ViewingStatus from, PropertyViewing.ViewingStatus to) {
+        return entityManager.createQuery(
+                "UPDATE PropertyViewing v SET v.status = :to, v.activeKey = NULL, v.updatedAt = :now WHERE v.id IN (:ids) AND v.status = :from")
+            .setParameter("to", to)
+            .setParameter("from", from)
+            .setParameter("now", LocalDateTime.now())
+            .setParameter("ids", ids)
+            .executeUpdate();
+    }
+
+    // Fill active keys for rows created before they existed. Where several open requests share a
+    // key only the oldest gets it, and none takes a key already in use, so nothing hits the unique
+    // index; the grouped derived table is materialized, which MySQL needs to update the table it
+    // reads from.
+    public int backfillActiveKeys() {
+        String key = "CASE WHEN open_house_id IS NULL THEN CONCAT(user_id, ':', property_id) "
+            + "ELSE CONCAT('oh:', open_house_id, ':', user_id) END";
+        return entityManager.createNativeQuery(
+                "UPDATE property_viewings v "
+                    + "JOIN (SELECT MIN(id) AS id, " + key + " AS active_key FROM property_viewings "
+                    + "WHERE active_key IS NULL AND ("
+                    + "(open_house_id IS NULL AND status IN ('PENDING', 'APPROVED')) OR "
+                    + "(open_house_id IS NOT NULL AND status IN ('APPROVED', 'WAITLISTED'))) "
+                    + "GROUP BY " + key + ") first ON first.id = v.id "
+                    + "LEFT JOIN property_viewings taken ON taken.active_key = first.active_key "
+                    + "SET v.active_key = first.active_key WHERE taken.id IS NULL")
+            .unwrap(NativeQuery.class)
+            .addSynchronizedEntityClass(PropertyViewing.class)
+            .executeUpdate();
+    }
+
+    // Count and latest updates of a buyer's upcoming approved viewings and of the listings and
+    // open houses they show (calendar feed validator)
+    @Transactional(readOnly = true)
+    public Object[] findFeedVersionByUser(Long userId, LocalDateTime now) {
+        TypedQuery<Object[]> query = entityManager.createQuery(
+            "SELECT COUNT(v), MAX(v.updatedAt), MAX(p.updatedAt), MAX(oh.updatedAt) FROM PropertyViewing v JOIN v.property p LEFT JOIN v.openHouse oh WHERE v.user.id = :userId AND v.status = :status AND v.viewingDate > :now",
+            Object[].class);
+        query.setParameter("userId", userId);
+        query.setParameter("status", PropertyViewing.ViewingStatus.APPROVED);
+        query.setParameter("now", now);
+        return query.getSingleResult();
+    }
+
+    // Count and latest updates of upcoming requests for an owner's properties and of the listings,
+    // open houses and buyers they show (calendar feed validator)
+    @Transactional(readOnly = true)
+    public Object[] findFeedVersionByOwner(Long ownerId, LocalDateTime now) {
+        TypedQuery<Object[]> query = entityManager.createQuery(
+            "SELECT COUNT(v), MAX(v.updatedAt), MAX(p.updatedAt), MAX(oh.updatedAt), MAX(u.updatedAt) FROM PropertyViewing v JOIN v.property p JOIN v.user u LEFT JOIN v.openHouse oh WHERE p.owner.id = :ownerId AND v.status IN (:statuses) AND v.viewingDate > :now",
+            Object[].class);
+        query.setParameter("ownerId", ownerId);
+        query.setParameter("statuses", List.of(
+            PropertyViewing.ViewingStatus.PENDING,
+            PropertyViewing.ViewingStatus.APPROVED
+        ));
+        query.setParameter("now", now);
+        return query.getSingleResult();
+    }
+
+    // A buyer's upcoming approved viewings with the listing and open house each one shows
+    @Transactional(readOnly = true)
+    public List<PropertyViewing> findUpcomingByUser(Long userId, LocalDateTime now) {
+        TypedQuery<PropertyViewing> query = entityManager.createQuery(
+            "SELECT v FROM PropertyViewing v JOIN FETCH v.property LEFT JOIN FETCH v.openHouse WHERE v.user.id = :userId AND v.status = :status AND v.viewingDate > :now ORDER BY v.viewingDate ASC",
+            PropertyViewing.class);
+        query.setParameter("userId", userId);
+        query.setParameter("status", PropertyViewing.ViewingStatus.APPROVED);
+        query.setParameter("now", now);
+        return query.getResultList();
+    }
+
+    // Upcoming requests for an owner's properties with the listing, buyer and open house each one shows
+    @Transactional(readOnly = true)
+    public List<PropertyViewing> findUpcomingByOwner(Long ownerId, LocalDateTime now) {
+        TypedQuery<PropertyViewing> query = entityManager.createQuery(
+            "SELECT v FROM PropertyViewing v JOIN FETCH v.property JOIN FETCH v.user LEFT JOIN FETCH v.openHouse WHERE v.property.owner.id = :ownerId AND v.status IN (:statuses) AND v.viewingDate > :now ORDER BY v.viewingDate ASC",
+            PropertyViewing.class);
+        query.setParameter("ownerId", ownerId);
+        query.setParameter("statuses", List.of(
+            PropertyViewing.ViewingStatus.PENDING,
+            PropertyViewing.ViewingStatus.APPROVED
+        ));
+        query.setParameter("now", now);
+        return query.getResultList();
+    }
 }
\ No newline at end of file
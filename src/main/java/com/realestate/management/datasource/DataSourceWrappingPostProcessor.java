@@ -0,0 +1,46 @@
+package com.realestate.management.datasource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+import javax.sql.DataSource;
+import java.util.function.UnaryOperator;
+
+// Wraps the application's main data source once it is initialized. Several wrappers nest by
+// their order: the lowest is applied first and sits closest to the pool, the highest ends up
+// outermost and is what the rest of the application is handed. @Bean methods must declare
+// this class as their return type, because Spring decides which post-processors are ordered
+// from the declared type before it creates them.
+public class DataSourceWrappingPostProcessor implements BeanPostProcessor, Ordered {
+
+    // Statement timing sits right on the pool, so it measures the database and not the queue in front of it
+    public static final int TIMING_ORDER = Ordered.LOWEST_PRECEDENCE - 20;
+
+    // The connection permit is outermost, so it covers the whole time a connection is held
+    public static final int CONCURRENCY_LIMIT_ORDER = Ordered.LOWEST_PRECEDENCE - 10;
+
+    private static final String DATA_SOURCE_BEAN = "dataSource";
+
+    private final int order;
+    private final Class<? extends DataSource> wrapperType;
+    private final UnaryOperator<DataSource> wrapper;
+
+    public DataSourceWrappingPostProcessor(int order, Class<? extends DataSource> wrapperType,
+                                           UnaryOperator<DataSource> wrapper) {
+        this.order = order;
+        this.wrapperType = wrapperType;
+        this.wrapper = wrapper;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (DATA_SOURCE_BEAN.equals(beanName) && bean instanceof DataSource dataSource && !wrapperType.isInstance(bean)) {
+            return wrapper.apply(dataSource);
+        }
+        return bean;
+    }
+
+    @Override
+    public int getOrder() {
+        return order;
+    }
+}
@@ -0,0 +1,74 @@
+package com.realestate.management.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+import java.time.Duration;
+
+// Read-your-writes for replica routing. A request that may write (anything but GET,
+// HEAD or OPTIONS) pins the browser to the primary for a short window through a cookie,
+// so the redirect that follows and the next few pages see the user's own changes even
+// when another node serves them. Pinned requests send all reads to the primary.
+public class PrimaryPinFilter extends OncePerRequestFilter {
+
+    private static final String COOKIE_NAME = "PRIMARY_PIN";
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final Duration window;
+
+    public PrimaryPinFilter(Duration window) {
+        this.window = window;
+    }
+
+    static boolean isPinned() {
+        return Boolean.TRUE.equals(PINNED.get());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long now = System.currentTimeMillis();
+        boolean writing = switch (request.getMethod()) {
+            case "GET", "HEAD", "OPTIONS" -> false;
+            default -> true;
+        };
+        if (writing) {
+            // Set before the chain runs; a redirect commits the response
+            response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(COOKIE_NAME, Long.toString(now + window.toMillis()))
+                .path("/")
+                .maxAge(window)
+                .httpOnly(true)
+                .sameSite("Lax")
+                .build()
+                .toString());
+        }
+        PINNED.set(writing || pinnedUntil(request) > now);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            PINNED.remove();
+        }
+    }
+
+    private static long pinnedUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (COOKIE_NAME.equals(cookie.getName())) {
+                    try {
+                        return Long.parseLong(cookie.getValue());
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,126 @@
+package com.realestate.management.datasource;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// Read replicas. Enabled by listing replica JDBC URLs in datasource.replica.urls; the
+// primary keeps using spring.datasource.*. Read-only transactions go to a replica that
+// passes the lag check, everything else (and any request pinned by a recent write)
+// goes to the primary.
+@Configuration
+@ConditionalOnExpression("!'${datasource.replica.urls:}'.isBlank()")
+public class ReplicaRoutingConfig implements DisposableBean {
+
+    private final List<HikariDataSource> replicaPools = new ArrayList<>();
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            @Value("${datasource.replica.urls}") List<String> urls,
+            @Value("${datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${datasource.replica.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${datasource.replica.lag-query:SHOW REPLICA STATUS}") String lagQuery,
+            @Value("${datasource.replica.lag-column:Seconds_Behind_Source}") String lagColumn,
+            @Value("${datasource.replica.max-lag-seconds:5}") long maxLagSeconds,
+            ObjectProvider<MetricsTrackerFactory> metricsTrackerFactory) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + replicas.size());
+            config.setJdbcUrl(url.trim());
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setDriverClassName(properties.determineDriverClassName());
+            config.setMaximumPoolSize(maximumPoolSize);
+            config.setReadOnly(true);
+            // Start without connections so an unreachable replica does not block startup
+            config.setInitializationFailTimeout(-1);
+            metricsTrackerFactory.ifAvailable(config::setMetricsTrackerFactory);
+            HikariDataSource pool = new HikariDataSource(config);
+            replicaPools.add(pool);
+            replicas.add(pool);
+        }
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primaryDataSource, replicas,
+            lagQuery, lagColumn, maxLagSeconds);
+        routing.afterPropertiesSet();
+        routing.checkReplicas();
+        return routing;
+    }
+
+    // What the rest of the application sees; connections are fetched on first use,
+    // after the transaction's read-only flag is known
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    // Return connections after each transaction, so an open-session-in-view request
+    // picks a data source per transaction instead of keeping the first one it got
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandling() {
+        return properties -> properties.put("hibernate.connection.handling_mode",
+            "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+
+    // Runs ahead of the session filter and everything else that may read
+    @Bean
+    public FilterRegistrationBean<PrimaryPinFilter> primaryPinFilter(
+            @Value("${datasource.replica.read-your-writes:5s}") Duration window) {
+        FilterRegistrationBean<PrimaryPinFilter> registration = new FilterRegistrationBean<>(new PrimaryPinFilter(window));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 40);
+        return registration;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new ReplicaLagMonitor(replicaRoutingDataSource);
+    }
+
+    @Override
+    public void destroy() {
+        replicaPools.forEach(HikariDataSource::close);
+    }
+
+    // Takes lagging or unreachable replicas out of rotation and puts them back
+    public static class ReplicaLagMonitor {
+
+        private final ReplicaRoutingDataSource routing;
+
+        public ReplicaLagMonitor(ReplicaRoutingDataSource routing) {
+            this.routing = routing;
+        }
+
+        @Scheduled(fixedDelayString = "${datasource.replica.check-ms:2000}")
+        public void check() {
+            routing.checkReplicas();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.realestate.management.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Sends read-only transactions to a healthy replica and everything else to the primary.
+// Must sit behind a LazyConnectionDataSourceProxy: the transaction's read-only flag is
+// only published after the transaction manager has asked for its connection.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    static final String PRIMARY = "primary";
+
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final String lagColumn;
+    private final long maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources,
+                                    String lagQuery, String lagColumn, long maxLagSeconds) {
+        this.replicas = replicaDataSources.stream().map(Replica::new).toList();
+        this.lagQuery = lagQuery;
+        this.lagColumn = lagColumn;
+        this.maxLagSeconds = maxLagSeconds;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            targets.put(i, replicas.get(i).dataSource);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || PrimaryPinFilter.isPinned()) {
+            return PRIMARY;
+        }
+        // Round-robin over replicas, skipping any that are down or lagging
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            int index = (start + i) % replicas.size();
+            if (replicas.get(index).healthy) {
+                return index;
+            }
+        }
+        return PRIMARY;
+    }
+
+    // Re-check every replica's lag; called on a schedule
+    public void checkReplicas() {
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(i);
+            String problem = probe(replica.dataSource);
+            boolean healthy = problem == null;
+            if (healthy != replica.healthy) {
+                if (healthy) {
+                    log.info("Replica {} is back in rotation", i);
+                } else {
+                    log.warn("Replica {} taken out of rotation: {}", i, problem);
+                }
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    public int getHealthyReplicaCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    // Null when the replica can serve reads, otherwise the reason it cannot
+    private String probe(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            if (lagQuery == null || lagQuery.isBlank()) {
+                return connection.isValid(2) ? null : "connection not valid";
+            }
+            try (ResultSet rs = statement.executeQuery(lagQuery)) {
+                if (!rs.next()) {
+                    return "lag query returned no rows (replication not configured?)";
+                }
+                long lag = rs.getLong(lagColumn);
+                if (rs.wasNull()) {
+                    return "replication is not running";
+                }
+                return lag > maxLagSeconds ? "lagging " + lag + "s behind the primary" : null;
+            }
+        } catch (SQLException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static final class Replica {
+
+        private final DataSource dataSource;
+        // Out of rotation until the first check passes
+        private volatile boolean healthy;
+
+        Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.realestate.management.metrics;
+
+import com.realestate.management.service.LoginThrottle;
+import com.realestate.management.service.PasswordHasher;
+import jakarta.persistence.EntityManagerFactory;
+import org.apache.catalina.connector.Connector;
+import org.apache.coyote.AbstractProtocol;
+import org.apache.coyote.ProtocolHandler;
+import org.apache.tomcat.util.threads.ThreadPoolExecutor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.context.WebServerInitializedEvent;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+// Gauges read from Hibernate, the slow-query log, the login pipeline and Tomcat's request thread pool
+@Component
+public class ApplicationMetrics implements ApplicationListener<WebServerInitializedEvent> {
+
+    private final MetricsRegistry registry;
+
+    @Autowired
+    public ApplicationMetrics(MetricsRegistry registry, EntityManagerFactory entityManagerFactory,
+                              PasswordHasher passwordHasher, LoginThrottle loginThrottle,
+                              QueryStatistics queryStatistics) {
+        this.registry = registry;
+        HibernateMetrics.bind(registry, entityManagerFactory.unwrap(SessionFactoryImplementor.class).getStatistics());
+
+        MetricsRegistry.Type gauge = MetricsRegistry.Type.GAUGE;
+        MetricsRegistry.Type counter = MetricsRegistry.Type.COUNTER;
+        registry.gauge("password_hash_queue_depth", "Hashing tasks waiting for a thread", gauge,
+            passwordHasher::getQueueDepth);
+        registry.gauge("password_hash_active", "Hashing tasks running", gauge, passwordHasher::getActiveCount);
+        registry.gauge("password_hash_completed_total", "Hashing tasks finished", counter,
+            passwordHasher::getCompletedCount);
+        registry.gauge("password_hash_rejected_total", "Hashing tasks turned away by a full queue", counter,
+            passwordHasher::getRejectedCount);
+        registry.gauge("password_hash_timeouts_total", "Hashing tasks abandoned after the wait limit", counter,
+            passwordHasher::getTimedOutCount);
+        registry.gauge("sql_slow_queries_total", "Statements slower than sql.slow-threshold", counter,
+            queryStatistics::getSlowCount);
+        registry.gauge("login_throttled_total", "Login attempts refused by the email or IP throttle", counter,
+            loginThrottle::getThrottledCount);
+    }
+
+    // Tomcat's pool only exists once the embedded server is up
+    @Override
+    public void onApplicationEvent(WebServerInitializedEvent event) {
+        if (!(event.getWebServer() instanceof TomcatWebServer tomcat)) {
+            return;
+        }
+        Connector connector = tomcat.getTomcat().getConnector();
+        ProtocolHandler handler = connector.getProtocolHandler();
+        String name = connector.getScheme() + "-" + connector.getPort();
+        MetricsRegistry.Type gauge = MetricsRegistry.Type.GAUGE;
+        if (handler.getExecutor() instanceof ThreadPoolExecutor pool) {
+            registry.gauge("tomcat_threads_busy", "Request threads handling a request", gauge,
+                pool::getActiveCount, "connector", name);
+            registry.gauge("tomcat_threads_current", "Request threads started", gauge,
+                pool::getPoolSize, "connector", name);
+            registry.gauge("tomcat_threads_config_max", "Maximum request threads", gauge,
+                pool::getMaximumPoolSize, "connector", name);
+            registry.gauge("tomcat_threads_queued", "Requests waiting for a thread", gauge,
+                () -> pool.getQueue().size(), "connector", name);
+        }
+        if (handler instanceof AbstractProtocol<?> protocol) {
+            registry.gauge("tomcat_connections_current", "Open connections", gauge,
+                protocol::getConnectionCount, "connector", name);
+            registry.gauge("tomcat_connections_config_max", "Maximum connections", gauge,
+                protocol::getMaxConnections, "connector", name);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.realestate.management.metrics;
+
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import java.util.function.ToLongFunction;
+
+// Hibernate statistics as counters; needs hibernate.generate_statistics=true
+public final class HibernateMetrics {
+
+    private HibernateMetrics() {
+    }
+
+    public static void bind(MetricsRegistry registry, Statistics statistics) {
+        counter(registry, statistics, "hibernate_query_executions_total", "HQL and SQL queries executed",
+            Statistics::getQueryExecutionCount);
+        counter(registry, statistics, "hibernate_entity_loads_total", "Entities loaded", Statistics::getEntityLoadCount);
+        counter(registry, statistics, "hibernate_entity_fetches_total", "Entities fetched lazily",
+            Statistics::getEntityFetchCount);
+        counter(registry, statistics, "hibernate_entity_inserts_total", "Entities inserted",
+            Statistics::getEntityInsertCount);
+        counter(registry, statistics, "hibernate_entity_updates_total", "Entities updated",
+            Statistics::getEntityUpdateCount);
+        counter(registry, statistics, "hibernate_entity_deletes_total", "Entities deleted",
+            Statistics::getEntityDeleteCount);
+        counter(registry, statistics, "hibernate_collection_loads_total", "Collections loaded",
+            Statistics::getCollectionLoadCount);
+        counter(registry, statistics, "hibernate_flushes_total", "Session flushes", Statistics::getFlushCount);
+        counter(registry, statistics, "hibernate_sessions_open_total", "Sessions opened",
+            Statistics::getSessionOpenCount);
+        counter(registry, statistics, "hibernate_transactions_total", "Transactions completed",
+            Statistics::getTransactionCount);
+        counter(registry, statistics, "hibernate_statements_prepared_total", "JDBC statements prepared",
+            Statistics::getPrepareStatementCount);
+        counter(registry, statistics, "hibernate_query_cache_hits_total", "Query cache hits",
+            Statistics::getQueryCacheHitCount);
+        counter(registry, statistics, "hibernate_query_cache_misses_total", "Query cache misses",
+            Statistics::getQueryCacheMissCount);
+        registry.gauge("hibernate_query_execution_max_seconds", "Slowest query since startup",
+            MetricsRegistry.Type.GAUGE, () -> statistics.getQueryExecutionMaxTime() / 1000.0);
+
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            regionCounter(registry, statistics, region, "hibernate_second_level_cache_hits_total",
+                "Second-level cache hits", CacheRegionStatistics::getHitCount);
+            regionCounter(registry, statistics, region, "hibernate_second_level_cache_misses_total",
+                "Second-level cache misses", CacheRegionStatistics::getMissCount);
+            regionCounter(registry, statistics, region, "hibernate_second_level_cache_puts_total",
+                "Second-level cache puts", CacheRegionStatistics::getPutCount);
+        }
+    }
+
+    private static void counter(MetricsRegistry registry, Statistics statistics, String name, String help,
+                                ToLongFunction<Statistics> value) {
+        registry.gauge(name, help, MetricsRegistry.Type.COUNTER, () -> value.applyAsLong(statistics));
+    }
+
+    private static void regionCounter(MetricsRegistry registry, Statistics statistics, String region, String name,
+                                      String help, ToLongFunction<CacheRegionStatistics> value) {
+        registry.gauge(name, help, MetricsRegistry.Type.COUNTER,
+            () -> value.applyAsLong(statistics.getCacheRegionStatistics(region)), "region", region);
+    }
+}
@@ -0,0 +1,57 @@
+package com.realestate.management.metrics;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Hikari hook: pool gauges from the pool's own stats plus connection acquire and usage timers
+public class HikariMetrics implements MetricsTrackerFactory {
+
+    private final MetricsRegistry registry;
+
+    public HikariMetrics(MetricsRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats stats) {
+        MetricsRegistry.Type gauge = MetricsRegistry.Type.GAUGE;
+        registry.gauge("hikaricp_connections_active", "Connections in use", gauge,
+            stats::getActiveConnections, "pool", poolName);
+        registry.gauge("hikaricp_connections_idle", "Idle connections", gauge,
+            stats::getIdleConnections, "pool", poolName);
+        registry.gauge("hikaricp_connections_pending", "Threads waiting for a connection", gauge,
+            stats::getPendingThreads, "pool", poolName);
+        registry.gauge("hikaricp_connections", "Open connections", gauge,
+            stats::getTotalConnections, "pool", poolName);
+        registry.gauge("hikaricp_connections_max", "Maximum pool size", gauge,
+            stats::getMaxConnections, "pool", poolName);
+
+        Timer acquire = registry.timer("hikaricp_connections_acquire_seconds",
+            "Time to get a connection from the pool", "pool", poolName);
+        Timer usage = registry.timer("hikaricp_connections_usage_seconds",
+            "Time a connection was held before being returned", "pool", poolName);
+        LongAdder timeouts = new LongAdder();
+        registry.gauge("hikaricp_connections_timeout_total", "Connection requests that timed out",
+            MetricsRegistry.Type.COUNTER, timeouts::sum, "pool", poolName);
+
+        return new IMetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquire.record(elapsedAcquiredNanos);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usage.record(TimeUnit.MILLISECONDS.toNanos(elapsedBorrowedMillis));
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+}
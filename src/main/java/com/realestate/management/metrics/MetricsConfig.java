@@ -0,0 +1,69 @@
+package com.realestate.management.metrics;
+
+import com.realestate.management.datasource.DataSourceWrappingPostProcessor;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.time.Duration;
+import java.util.Set;
+
+// Metrics infrastructure. The registry and post-processors are static beans so they
+// exist before the beans they instrument; gauges are bound in ApplicationMetrics.
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public static MetricsRegistry metricsRegistry(@Value("${metrics.percentile-window:2m}") Duration window) {
+        return new MetricsRegistry(window);
+    }
+
+    @Bean
+    public static TimedMethodPostProcessor timedMethodPostProcessor(MetricsRegistry metricsRegistry) {
+        return new TimedMethodPostProcessor(metricsRegistry,
+            Set.of("com.realestate.management.dao", "com.realestate.management.service"));
+    }
+
+    @Bean
+    public static HikariMetrics hikariMetrics(MetricsRegistry metricsRegistry) {
+        return new HikariMetrics(metricsRegistry);
+    }
+
+    // Hikari only accepts a metrics tracker before the pool starts
+    @Bean
+    public static BeanPostProcessor hikariMetricsPostProcessor(HikariMetrics hikariMetrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource && dataSource.getMetricsTrackerFactory() == null) {
+                    dataSource.setMetricsTrackerFactory(hikariMetrics);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean(destroyMethod = "shutdown")
+    public static QueryStatistics queryStatistics(@Value("${metrics.percentile-window:2m}") Duration window,
+                                                  @Value("${sql.slow-threshold:200ms}") Duration slowThreshold,
+                                                  @Value("${sql.explain-interval:10m}") Duration explainInterval,
+                                                  @Value("${sql.max-shapes:500}") int maxShapes) {
+        return new QueryStatistics(window, slowThreshold, explainInterval, maxShapes);
+    }
+
+    // Time every statement that goes through the application's main data source; ordered
+    // innermost (see DataSourceWrappingPostProcessor), so waiting for a connection is not timed
+    @Bean
+    public static DataSourceWrappingPostProcessor timedDataSourcePostProcessor(QueryStatistics queryStatistics,
+                                                                 @Value("${sql.statistics.enabled:true}") boolean enabled) {
+        return new DataSourceWrappingPostProcessor(DataSourceWrappingPostProcessor.TIMING_ORDER,
+            TimedDataSource.class, dataSource -> {
+                if (!enabled) {
+                    return dataSource;
+                }
+                queryStatistics.setExplainDataSource(dataSource);
+                return new TimedDataSource(dataSource, queryStatistics);
+            });
+    }
+}
@@ -0,0 +1,117 @@
+package com.realestate.management.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+
+// Holds every timer and gauge and renders them in the Prometheus text format.
+// Metrics are identified by name plus an ordered list of label name/value pairs.
+public class MetricsRegistry {
+
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99, 0.999};
+
+    public enum Type {
+        GAUGE("gauge"), COUNTER("counter");
+
+        private final String prometheusName;
+
+        Type(String prometheusName) {
+            this.prometheusName = prometheusName;
+        }
+    }
+
+    private record Family(String help, Type type) {
+    }
+
+    private final long windowNanos;
+    private final Map<String, String> timerHelp = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Timer>> timers = new ConcurrentHashMap<>();
+    private final Map<String, Family> gaugeFamilies = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, DoubleSupplier>> gauges = new ConcurrentHashMap<>();
+
+    public MetricsRegistry(Duration percentileWindow) {
+        this.windowNanos = percentileWindow.toNanos();
+    }
+
+    // Get or create a timer; labels are alternating names and values
+    public Timer timer(String name, String help, String... labels) {
+        timerHelp.putIfAbsent(name, help);
+        return timers.computeIfAbsent(name, key -> new ConcurrentHashMap<>())
+            .computeIfAbsent(labelString(labels), key -> new Timer(windowNanos));
+    }
+
+    // Register a value read at scrape time; labels are alternating names and values
+    public void gauge(String name, String help, Type type, DoubleSupplier value, String... labels) {
+        gaugeFamilies.putIfAbsent(name, new Family(help, type));
+        gauges.computeIfAbsent(name, key -> new ConcurrentHashMap<>()).put(labelString(labels), value);
+    }
+
+    public void scrape(Writer out) throws IOException {
+        for (Map.Entry<String, Map<String, Timer>> family : new TreeMap<>(timers).entrySet()) {
+            String name = family.getKey();
+            out.write("# HELP " + name + " " + timerHelp.get(name) + "\n");
+            out.write("# TYPE " + name + " summary\n");
+            List<String> maxLines = new ArrayList<>();
+            for (Map.Entry<String, Timer> series : new TreeMap<>(family.getValue()).entrySet()) {
+                String labels = series.getKey();
+                Timer timer = series.getValue();
+                for (double quantile : QUANTILES) {
+                    out.write(name + "{" + join(labels, "quantile=\"" + quantile + "\"") + "} "
+                        + timer.percentileSeconds(quantile) + "\n");
+                }
+                out.write(name + "_count" + braces(labels) + " " + timer.count() + "\n");
+                out.write(name + "_sum" + braces(labels) + " " + timer.totalSeconds() + "\n");
+                maxLines.add(name + "_max" + braces(labels) + " " + timer.maxSeconds() + "\n");
+            }
+            out.write("# HELP " + name + "_max Longest recent duration\n");
+            out.write("# TYPE " + name + "_max gauge\n");
+            for (String line : maxLines) {
+                out.write(line);
+            }
+        }
+        for (Map.Entry<String, Map<String, DoubleSupplier>> family : new TreeMap<>(gauges).entrySet()) {
+            String name = family.getKey();
+            Family meta = gaugeFamilies.get(name);
+            out.write("# HELP " + name + " " + meta.help() + "\n");
+            out.write("# TYPE " + name + " " + meta.type().prometheusName + "\n");
+            for (Map.Entry<String, DoubleSupplier> series : new TreeMap<>(family.getValue()).entrySet()) {
+                double value;
+                try {
+                    value = series.getValue().getAsDouble();
+                } catch (RuntimeException e) {
+                    continue;
+                }
+                out.write(name + braces(series.getKey()) + " " + value + "\n");
+            }
+        }
+    }
+
+    private static String labelString(String[] labels) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i + 1 < labels.length; i += 2) {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(labels[i]).append("=\"").append(escape(labels[i + 1])).append('"');
+        }
+        return sb.toString();
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String braces(String labels) {
+        return labels.isEmpty() ? "" : "{" + labels + "}";
+    }
+
+    private static String join(String labels, String extra) {
+        return labels.isEmpty() ? extra : labels + "," + extra;
+    }
+}
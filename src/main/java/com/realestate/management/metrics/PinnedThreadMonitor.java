@@ -0,0 +1,74 @@
+package com.realestate.management.metrics;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// Listens for the JDK's jdk.VirtualThreadPinned flight-recorder event: a virtual thread that
+// blocked while stuck to its carrier (inside synchronized, or in native code) for longer than
+// the threshold. Each event is counted; the stack is logged once per distinct blocking site,
+// which is usually a synchronized block in a driver or library worth knowing about.
+public class PinnedThreadMonitor implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(PinnedThreadMonitor.class);
+    private static final int MAX_LOGGED_SITES = 100;
+    private static final int LOGGED_FRAMES = 12;
+
+    private final RecordingStream stream;
+    private final Set<String> loggedSites = ConcurrentHashMap.newKeySet();
+    private final AtomicLong pinnedCount = new AtomicLong();
+    private final AtomicLong pinnedNanos = new AtomicLong();
+
+    public PinnedThreadMonitor(Duration threshold) {
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(threshold).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::onPinned);
+        stream.startAsync();
+    }
+
+    public long getPinnedCount() {
+        return pinnedCount.get();
+    }
+
+    public double getPinnedSeconds() {
+        return pinnedNanos.get() / 1e9;
+    }
+
+    private void onPinned(RecordedEvent event) {
+        pinnedCount.incrementAndGet();
+        pinnedNanos.addAndGet(event.getDuration().toNanos());
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return;
+        }
+        String stack = stackTrace.getFrames().stream()
+            .limit(LOGGED_FRAMES)
+            .map(PinnedThreadMonitor::describe)
+            .collect(Collectors.joining("\n    at ", "    at ", ""));
+        // The blocking frame plus the nearest application frame that led there
+        String site = describe(stackTrace.getFrames().get(0)) + " from "
+            + stack.lines().filter(line -> line.contains("com.realestate")).findFirst().orElse("");
+        if (loggedSites.size() < MAX_LOGGED_SITES && loggedSites.add(site)) {
+            log.warn("Virtual thread pinned for {} ms; further pins at this site are only counted\n{}",
+                event.getDuration().toMillis(), stack);
+        }
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+            + (frame.getLineNumber() > 0 ? ":" + frame.getLineNumber() : "");
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+    }
+}
@@ -0,0 +1,70 @@
+package com.realestate.management.metrics;
+
+import java.util.Date;
+
+// One row of the slow-query report
+public class QueryShapeSummary {
+
+    private final String sql;
+    private final long count;
+    private final double totalMillis;
+    private final double p50Millis;
+    private final double p95Millis;
+    private final double p99Millis;
+    private final double maxMillis;
+    private final String plan;
+    private final long planCapturedAt;
+
+    public QueryShapeSummary(String sql, long count, double totalMillis, double p50Millis, double p95Millis,
+                             double p99Millis, double maxMillis, String plan, long planCapturedAt) {
+        this.sql = sql;
+        this.count = count;
+        this.totalMillis = totalMillis;
+        this.p50Millis = p50Millis;
+        this.p95Millis = p95Millis;
+        this.p99Millis = p99Millis;
+        this.maxMillis = maxMillis;
+        this.plan = plan;
+        this.planCapturedAt = planCapturedAt;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getTotalMillis() {
+        return totalMillis;
+    }
+
+    public double getAverageMillis() {
+        return count == 0 ? 0 : totalMillis / count;
+    }
+
+    public double getP50Millis() {
+        return p50Millis;
+    }
+
+    public double getP95Millis() {
+        return p95Millis;
+    }
+
+    public double getP99Millis() {
+        return p99Millis;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+
+    public String getPlan() {
+        return plan;
+    }
+
+    public Date getPlanCapturedDate() {
+        return new Date(planCapturedAt);
+    }
+}
@@ -0,0 +1,187 @@
+package com.realestate.management.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+// Per-shape statement latency. SQL is normalized (literals and IN lists folded, whitespace
+// collapsed) so executions of the same statement share one histogram. Statements over the
+// slow threshold are logged with their bind values, and a SELECT that is slow gets its
+// plan captured with EXPLAIN on a background thread, at most once per shape per interval.
+public class QueryStatistics {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryStatistics.class);
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final String OTHER_SHAPE = "(other statements)";
+    private static final int MAX_VALUE_LENGTH = 100;
+
+    private final ConcurrentHashMap<String, String> shapeBySql = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Shape> shapes = new ConcurrentHashMap<>();
+    private final LongAdder slowCount = new LongAdder();
+    private final long windowNanos;
+    private final long slowThresholdNanos;
+    private final long explainIntervalMillis;
+    private final int maxShapes;
+    private final ThreadPoolExecutor explainExecutor;
+    private volatile DataSource explainDataSource;
+
+    public QueryStatistics(Duration percentileWindow, Duration slowThreshold, Duration explainInterval, int maxShapes) {
+        this.windowNanos = percentileWindow.toNanos();
+        this.slowThresholdNanos = slowThreshold.toNanos();
+        this.explainIntervalMillis = explainInterval.toMillis();
+        this.maxShapes = maxShapes;
+        this.explainExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(16),
+            runnable -> {
+                Thread thread = new Thread(runnable, "query-explain");
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    // Connections for EXPLAIN; must not be the timed data source itself
+    public void setExplainDataSource(DataSource explainDataSource) {
+        this.explainDataSource = explainDataSource;
+    }
+
+    public void record(String sql, Object[] parameters, int parameterCount, long nanos) {
+        if (sql == null) {
+            return;
+        }
+        String shapeSql = shapeBySql.size() < maxShapes * 4
+            ? shapeBySql.computeIfAbsent(sql, QueryStatistics::normalize)
+            : normalize(sql);
+        Shape shape = shapes.get(shapeSql);
+        if (shape == null) {
+            shape = shapes.size() < maxShapes
+                ? shapes.computeIfAbsent(shapeSql, key -> new Shape(key, new Timer(windowNanos)))
+                : shapes.computeIfAbsent(OTHER_SHAPE, key -> new Shape(key, new Timer(windowNanos)));
+        }
+        shape.timer.record(nanos);
+
+        if (nanos >= slowThresholdNanos) {
+            slowCount.increment();
+            Object[] bound = Arrays.copyOf(parameters, parameterCount);
+            boolean sensitive = shapeSql.toLowerCase(Locale.ROOT).contains("password");
+            log.warn("Slow query ({} ms): {} {}", TimeUnit.NANOSECONDS.toMillis(nanos),
+                WHITESPACE.matcher(sql).replaceAll(" ").trim(), sensitive ? "[parameters hidden]" : format(bound));
+            maybeExplain(shape, sql, bound);
+        }
+    }
+
+    public long getSlowCount() {
+        return slowCount.sum();
+    }
+
+    // Shapes ordered by total time spent, largest first
+    public List<QueryShapeSummary> topByTotalTime(int limit) {
+        List<QueryShapeSummary> summaries = new ArrayList<>();
+        for (Shape shape : shapes.values()) {
+            Timer timer = shape.timer;
+            summaries.add(new QueryShapeSummary(shape.sql, timer.count(), timer.totalSeconds() * 1000,
+                timer.percentileSeconds(0.5) * 1000, timer.percentileSeconds(0.95) * 1000,
+                timer.percentileSeconds(0.99) * 1000, timer.maxSeconds() * 1000, shape.plan, shape.planCapturedAt));
+        }
+        summaries.sort(Comparator.comparingDouble(QueryShapeSummary::getTotalMillis).reversed());
+        return summaries.size() > limit ? summaries.subList(0, limit) : summaries;
+    }
+
+    public void shutdown() {
+        explainExecutor.shutdownNow();
+    }
+
+    static String normalize(String sql) {
+        String shape = WHITESPACE.matcher(sql).replaceAll(" ").trim();
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        return IN_LIST.matcher(shape).replaceAll("(?...)");
+    }
+
+    private void maybeExplain(Shape shape, String sql, Object[] parameters) {
+        DataSource dataSource = explainDataSource;
+        long now = System.currentTimeMillis();
+        if (dataSource == null
+                || !sql.stripLeading().regionMatches(true, 0, "select", 0, 6)
+                || now - shape.lastExplainAttempt < explainIntervalMillis) {
+            return;
+        }
+        shape.lastExplainAttempt = now;
+        explainExecutor.execute(() -> {
+            try (Connection connection = dataSource.getConnection();
+                 PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                for (int i = 0; i < parameters.length; i++) {
+                    statement.setObject(i + 1, parameters[i]);
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    shape.plan = formatPlan(rs);
+                    shape.planCapturedAt = System.currentTimeMillis();
+                }
+            } catch (SQLException | RuntimeException e) {
+                log.debug("Could not capture plan for {}", shape.sql, e);
+            }
+        });
+    }
+
+    private static String formatPlan(ResultSet rs) throws SQLException {
+        ResultSetMetaData meta = rs.getMetaData();
+        StringBuilder plan = new StringBuilder();
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+            plan.append(i > 1 ? " | " : "").append(meta.getColumnLabel(i));
+        }
+        while (rs.next()) {
+            plan.append('\n');
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                plan.append(i > 1 ? " | " : "").append(rs.getString(i));
+            }
+        }
+        return plan.toString();
+    }
+
+    private static String format(Object[] parameters) {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < parameters.length; i++) {
+            String value = String.valueOf(parameters[i]);
+            if (value.length() > MAX_VALUE_LENGTH) {
+                value = value.substring(0, MAX_VALUE_LENGTH) + "...";
+            }
+            sb.append(i > 0 ? ", " : "").append(value);
+        }
+        return sb.append(']').toString();
+    }
+
+    private static final class Shape {
+
+        private final String sql;
+        private final Timer timer;
+        private volatile String plan;
+        private volatile long planCapturedAt;
+        private volatile long lastExplainAttempt;
+
+        Shape(String sql, Timer timer) {
+            this.sql = sql;
+            this.timer = timer;
+        }
+    }
+}
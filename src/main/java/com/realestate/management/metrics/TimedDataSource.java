@@ -0,0 +1,126 @@
+package com.realestate.management.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+// Wraps connections so every executed statement is timed and reported to QueryStatistics
+// together with its bind parameters. Everything else passes straight through.
+public class TimedDataSource extends DelegatingDataSource {
+
+    private final QueryStatistics statistics;
+
+    public TimedDataSource(DataSource target, QueryStatistics statistics) {
+        super(target);
+        this.statistics = statistics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, new ConnectionHandler(connection));
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(TimedDataSource.class.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = TimedDataSource.invoke(target, method, args);
+            return switch (method.getName()) {
+                case "prepareStatement" -> proxy(PreparedStatement.class, new StatementHandler(result, (String) args[0]));
+                case "prepareCall" -> proxy(CallableStatement.class, new StatementHandler(result, (String) args[0]));
+                case "createStatement" -> proxy(Statement.class, new StatementHandler(result, null));
+                default -> result;
+            };
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Object target;
+        private final String sql;
+        private Object[] parameters = new Object[8];
+        private int parameterCount;
+        private int batchSize;
+
+        StatementHandler(Object target, String sql) {
+            this.target = target;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                String statementSql = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+                long start = System.nanoTime();
+                try {
+                    return TimedDataSource.invoke(target, method, args);
+                } finally {
+                    long elapsed = System.nanoTime() - start;
+                    if (batchSize > 0) {
+                        statistics.record(statementSql, new Object[] {"batch of " + batchSize}, 1, elapsed);
+                    } else {
+                        statistics.record(statementSql, parameters, parameterCount, elapsed);
+                    }
+                    batchSize = 0;
+                }
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                remember(index, name.equals("setNull") ? null : args[1]);
+            } else if (name.equals("clearParameters")) {
+                Arrays.fill(parameters, null);
+                parameterCount = 0;
+            } else if (name.equals("addBatch")) {
+                batchSize++;
+            }
+            return TimedDataSource.invoke(target, method, args);
+        }
+
+        private void remember(int index, Object value) {
+            if (index < 1) {
+                return;
+            }
+            if (index > parameters.length) {
+                parameters = Arrays.copyOf(parameters, Math.max(index, parameters.length * 2));
+            }
+            parameters[index - 1] = value;
+            parameterCount = Math.max(parameterCount, index);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.realestate.management.metrics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Times every public method of beans in the dao and service packages, tagged with the
+// class, method and outcome. The advice is added in front of any existing proxy, so
+// DAO timings include their transaction.
+public class TimedMethodPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    static final String METRIC = "app_method_duration_seconds";
+
+    public TimedMethodPostProcessor(MetricsRegistry registry, Set<String> packages) {
+        StaticMethodMatcherPointcut pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return Modifier.isPublic(method.getModifiers())
+                    && !Modifier.isStatic(method.getModifiers())
+                    && method.getDeclaringClass() != Object.class
+                    && packages.contains(method.getDeclaringClass().getPackageName());
+            }
+        };
+        pointcut.setClassFilter(type -> packages.contains(type.getPackageName()));
+        this.advisor = new DefaultPointcutAdvisor(pointcut, new TimingInterceptor(registry));
+        setBeforeExistingAdvisors(true);
+        setProxyTargetClass(true);
+    }
+
+    private static final class TimingInterceptor implements MethodInterceptor {
+
+        private final MetricsRegistry registry;
+        private final ConcurrentHashMap<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
+        TimingInterceptor(MetricsRegistry registry) {
+            this.registry = registry;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Timer[] pair = timers.computeIfAbsent(invocation.getMethod(), this::timersFor);
+            long start = System.nanoTime();
+            try {
+                Object result = invocation.proceed();
+                pair[0].record(System.nanoTime() - start);
+                return result;
+            } catch (Throwable e) {
+                pair[1].record(System.nanoTime() - start);
+                throw e;
+            }
+        }
+
+        private Timer[] timersFor(Method method) {
+            String className = method.getDeclaringClass().getSimpleName();
+            String layer = method.getDeclaringClass().getPackageName();
+            layer = layer.substring(layer.lastIndexOf('.') + 1);
+            String help = "Time spent in public dao and service methods";
+            return new Timer[] {
+                registry.timer(METRIC, help, "layer", layer, "class", className, "method", method.getName(),
+                    "outcome", "success"),
+                registry.timer(METRIC, help, "layer", layer, "class", className, "method", method.getName(),
+                    "outcome", "error")
+            };
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.realestate.management.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Count, total time and recent percentiles for one labelled operation. Percentiles
+// and max cover a sliding window: every value goes into a ring of histograms, the
+// oldest of which is cleared and reused each time the window advances a step.
+public class Timer {
+
+    private static final int RING_SIZE = 3;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LatencyHistogram[] ring = new LatencyHistogram[RING_SIZE];
+    private final long stepNanos;
+    private volatile int current;
+    private volatile long nextRotation;
+
+    Timer(long windowNanos) {
+        for (int i = 0; i < RING_SIZE; i++) {
+            ring[i] = new LatencyHistogram();
+        }
+        this.stepNanos = windowNanos / RING_SIZE;
+        this.nextRotation = System.nanoTime() + stepNanos;
+    }
+
+    public void record(long nanos) {
+        rotate();
+        count.increment();
+        totalNanos.add(nanos);
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        for (LatencyHistogram histogram : ring) {
+            histogram.record(micros);
+        }
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public double totalSeconds() {
+        return totalNanos.sum() / 1e9;
+    }
+
+    public double percentileSeconds(double quantile) {
+        rotate();
+        return ring[current].percentile(quantile) / 1e6;
+    }
+
+    public double maxSeconds() {
+        rotate();
+        return ring[current].max() / 1e6;
+    }
+
+    private void rotate() {
+        if (System.nanoTime() - nextRotation < 0) {
+            return;
+        }
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (now - nextRotation >= stepNanos * RING_SIZE) {
+                // Idle for a whole window: nothing left worth keeping
+                for (LatencyHistogram histogram : ring) {
+                    histogram.reset();
+                }
+                nextRotation = now + stepNanos;
+                return;
+            }
+            while (now - nextRotation >= 0) {
+                // The histogram that has been collecting longest is handed out next;
+                // the one being retired starts over
+                ring[current].reset();
+                current = (current + 1) % RING_SIZE;
+                nextRotation += stepNanos;
+            }
+        }
+    }
+}
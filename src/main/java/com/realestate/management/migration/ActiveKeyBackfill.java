@@ -0,0 +1,51 @@
+package com.realestate.management.migration;
+
+import com.realestate.management.dao.ApplicationDao;
+import com.realestate.management.dao.ViewingDao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+// One-off migration for databases that have viewings and applications from before the active
+// keys (the unique index that makes submits idempotent). Run it once after the active_key columns
+// and their unique indexes exist, against the same configuration as the application, e.g.
+//   java -jar management.jar --spring.profiles.active=prod,backfill-active-keys --server.port=0
+// It gives each open request its key, then exits. Running it again is harmless: only rows still
+// without a key are touched. Normal starts never run it.
+@Component
+@Profile("backfill-active-keys")
+public class ActiveKeyBackfill implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ActiveKeyBackfill.class);
+
+    private final ViewingDao viewingDao;
+    private final ApplicationDao applicationDao;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${migration.exit-when-done:true}")
+    private boolean exitWhenDone;
+
+    @Autowired
+    public ActiveKeyBackfill(ViewingDao viewingDao, ApplicationDao applicationDao,
+                             ConfigurableApplicationContext context) {
+        this.viewingDao = viewingDao;
+        this.applicationDao = applicationDao;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("Gave {} viewing requests and {} applications their active key",
+            viewingDao.backfillActiveKeys(), applicationDao.backfillActiveKeys());
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+}
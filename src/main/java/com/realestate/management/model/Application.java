@@ -5,7 +5,13 @@ import java.time.LocalDateTime;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "applications")
+@Table(name = "applications", indexes = {
+    @Index(name = "idx_applications_status_created", columnList = "status, created_at"),
+    @Index(name = "idx_applications_status_id", columnList = "status, id")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_applications_request_key", columnNames = "request_key"),
+    @UniqueConstraint(name = "uk_applications_active", columnNames = "active_key")
+})
 public class Application {
 
     @Id
@@ -55,6 +61,15 @@ public class Application {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Idempotency key of the form submission that created this row
+    @Column(name = "request_key", length = 36)
+    private String requestKey;
+
+    // Set only while the application is open, so the unique index allows one open
+    // application per user and property
+    @Column(name = "active_key", length = 64)
+    private String activeKey;
+
     public enum ApplicationType {
         PURCHASE,
         RENTAL
@@ -65,18 +80,28 @@ public class Application {
         UNDER_REVIEW,
         APPROVED,
         REJECTED,
-        WITHDRAWN
+        WITHDRAWN,
+        EXPIRED
     }
 
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        activeKey = computeActiveKey();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        activeKey = computeActiveKey();
+    }
+
+    private String computeActiveKey() {
+        boolean active = status == ApplicationStatus.PENDING
+            || status == ApplicationStatus.UNDER_REVIEW
+            || status == ApplicationStatus.APPROVED;
+        return active ? user.getId() + ":" + property.getId() : null;
     }
 
     // Constructors
@@ -202,4 +227,16 @@ public class Application {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
-}
\ No newline at end of file
+
+    public String getRequestKey() {
+        return requestKey;
+    }
+
+    public void setRequestKey(String requestKey) {
+        this.requestKey = requestKey;
+    }
+
+    public String getActiveKey() {
+        return activeKey;
+    }
+}
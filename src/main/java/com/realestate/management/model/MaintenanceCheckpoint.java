@@ -0,0 +1,92 @@
+package com.realestate.management.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "maintenance_checkpoints")
+public class MaintenanceCheckpoint {
+
+    @Id
+    @Column(name = "job_name", length = 64)
+    private String jobName;
+
+    @Column(name = "last_id", nullable = false)
+    private long lastId;
+
+    @Column(name = "rows_processed", nullable = false)
+    private long rowsProcessed;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Only used on the lease row: the node running maintenance and until when
+    @Column(name = "lease_holder", length = 64)
+    private String leaseHolder;
+
+    @Column(name = "lease_until")
+    private LocalDateTime leaseUntil;
+
+    // Constructors
+    public MaintenanceCheckpoint() {
+    }
+
+    public MaintenanceCheckpoint(String jobName) {
+        this.jobName = jobName;
+        this.lastId = 0L;
+        this.rowsProcessed = 0L;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getJobName() {
+        return jobName;
+    }
+
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public long getLastId() {
+        return lastId;
+    }
+
+    public void setLastId(long lastId) {
+        this.lastId = lastId;
+    }
+
+    public long getRowsProcessed() {
+        return rowsProcessed;
+    }
+
+    public void setRowsProcessed(long rowsProcessed) {
+        this.rowsProcessed = rowsProcessed;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public String getLeaseHolder() {
+        return leaseHolder;
+    }
+
+    public void setLeaseHolder(String leaseHolder) {
+        this.leaseHolder = leaseHolder;
+    }
+
+    public LocalDateTime getLeaseUntil() {
+        return leaseUntil;
+    }
+
+    public void setLeaseUntil(LocalDateTime leaseUntil) {
+        this.leaseUntil = leaseUntil;
+    }
+}
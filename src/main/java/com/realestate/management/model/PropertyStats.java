@@ -0,0 +1,89 @@
+package com.realestate.management.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+// Popularity counters for a property, maintained in batches by PopularityService
+@Entity
+@Table(name = "property_stats", indexes = {
+    @Index(name = "idx_property_stats_trending", columnList = "trending_score")
+})
+public class PropertyStats {
+
+    @Id
+    @Column(name = "property_id")
+    private Long propertyId;
+
+    @Column(name = "favorite_count", nullable = false)
+    private long favoriteCount;
+
+    @Column(name = "viewing_request_count", nullable = false)
+    private long viewingRequestCount;
+
+    @Column(name = "application_count", nullable = false)
+    private long applicationCount;
+
+    // Decayed score scaled to a fixed landmark time, see PopularityService
+    @Column(name = "trending_score", nullable = false)
+    private double trendingScore;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public PropertyStats() {
+    }
+
+    // Getters and Setters
+    public Long getPropertyId() {
+        return propertyId;
+    }
+
+    public void setPropertyId(Long propertyId) {
+        this.propertyId = propertyId;
+    }
+
+    public long getFavoriteCount() {
+        return favoriteCount;
+    }
+
+    public void setFavoriteCount(long favoriteCount) {
+        this.favoriteCount = favoriteCount;
+    }
+
+    public long getViewingRequestCount() {
+        return viewingRequestCount;
+    }
+
+    public void setViewingRequestCount(long viewingRequestCount) {
+        this.viewingRequestCount = viewingRequestCount;
+    }
+
+    public long getApplicationCount() {
+        return applicationCount;
+    }
+
+    public void setApplicationCount(long applicationCount) {
+        this.applicationCount = applicationCount;
+    }
+
+    public double getTrendingScore() {
+        return trendingScore;
+    }
+
+    public void setTrendingScore(double trendingScore) {
+        this.trendingScore = trendingScore;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
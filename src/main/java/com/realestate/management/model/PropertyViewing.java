@@ -4,7 +4,13 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "property_viewings")
+@Table(name = "property_viewings", indexes = {
+    @Index(name = "idx_viewings_status_date", columnList = "status, viewing_date"),
+    @Index(name = "idx_viewings_status_id", columnList = "status, id")
+}, uniqueConstraints = {
+    @UniqueConstraint(name = "uk_viewings_request_key", columnNames = "request_key"),
+    @UniqueConstraint(name = "uk_viewings_active", columnNames = "active_key")
+})
 public class PropertyViewing {
 
     @Id
@@ -19,6 +25,10 @@ public class PropertyViewing {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "open_house_id")
+    private OpenHouse openHouse;
+
     @Column(name = "viewing_date", nullable = false)
     private LocalDateTime viewingDate;
 
@@ -35,23 +45,45 @@ public class PropertyViewing {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Idempotency key of the form submission that created this row
+    @Column(name = "request_key", length = 36)
+    private String requestKey;
+
+    // Set only while the request is active, so the unique index allows one active
+    // request per user and property (or per user and open house)
+    @Column(name = "active_key", length = 64)
+    private String activeKey;
+
     public enum ViewingStatus {
         PENDING,
         APPROVED,
         REJECTED,
         COMPLETED,
-        CANCELLED
+        CANCELLED,
+        WAITLISTED,
+        EXPIRED
     }
 
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        activeKey = computeActiveKey();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        activeKey = computeActiveKey();
+    }
+
+    private String computeActiveKey() {
+        if (openHouse != null) {
+            boolean active = status == ViewingStatus.APPROVED || status == ViewingStatus.WAITLISTED;
+            return active ? "oh:" + openHouse.getId() + ":" + user.getId() : null;
+        }
+        boolean active = status == ViewingStatus.PENDING || status == ViewingStatus.APPROVED;
+        return active ? user.getId() + ":" + property.getId() : null;
     }
 
     // Constructors
@@ -91,6 +123,14 @@ public class PropertyViewing {
         this.user = user;
     }
 
+    public OpenHouse getOpenHouse() {
+        return openHouse;
+    }
+
+    public void setOpenHouse(OpenHouse openHouse) {
+        this.openHouse = openHouse;
+    }
+
     public LocalDateTime getViewingDate() {
         return viewingDate;
     }
@@ -130,4 +170,16 @@ public class PropertyViewing {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
-}
\ No newline at end of file
+
+    public String getRequestKey() {
+        return requestKey;
+    }
+
+    public void setRequestKey(String requestKey) {
+        this.requestKey = requestKey;
+    }
+
+    public String getActiveKey() {
+        return activeKey;
+    }
+}
@@ -0,0 +1,55 @@
+package com.realestate.management.model;
+
+import java.io.Serializable;
+
+// Compact, immutable identity kept in the HTTP session instead of the User entity.
+// The version is compared against the database so role and active-flag changes
+// reach sessions on every node.
+public final class SessionUser implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final User.UserRole role;
+    private final String firstName;
+    private final String lastName;
+    private final long version;
+
+    public SessionUser(Long id, User.UserRole role, String firstName, String lastName, long version) {
+        this.id = id;
+        this.role = role;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.version = version;
+    }
+
+    public static SessionUser from(User user) {
+        return new SessionUser(user.getId(), user.getRole(), user.getFirstName(), user.getLastName(),
+            user.getSessionVersion());
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public User.UserRole getRole() {
+        return role;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getFullName() {
+        return firstName + " " + lastName;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
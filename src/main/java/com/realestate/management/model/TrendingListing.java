@@ -0,0 +1,75 @@
+package com.realestate.management.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Read-only card data for the trending section; safe to share between requests
+public class TrendingListing {
+
+    private final Long id;
+    private final String title;
+    private final String city;
+    private final String state;
+    private final BigDecimal price;
+    private final Property.ListingType listingType;
+    private final String imageUrl;
+    private final long favoriteCount;
+    private final long viewingRequestCount;
+    private final LocalDateTime updatedAt;
+
+    public TrendingListing(Long id, String title, String city, String state, BigDecimal price,
+                           Property.ListingType listingType, String imageUrl, long favoriteCount,
+                           long viewingRequestCount, LocalDateTime updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.city = city;
+        this.state = state;
+        this.price = price;
+        this.listingType = listingType;
+        this.imageUrl = imageUrl;
+        this.favoriteCount = favoriteCount;
+        this.viewingRequestCount = viewingRequestCount;
+        this.updatedAt = updatedAt;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getCity() {
+        return city;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public Property.ListingType getListingType() {
+        return listingType;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public long getFavoriteCount() {
+        return favoriteCount;
+    }
+
+    public long getViewingRequestCount() {
+        return viewingRequestCount;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
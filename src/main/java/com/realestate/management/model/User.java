@@ -1,5 +1,6 @@
 package com.realestate.management.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -11,9 +12,13 @@ import jakarta.persistence.Table;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 @Table(name = "users")
 public class User {
 
@@ -56,6 +61,10 @@ public class User {
     @Column(name = "is_active")
     private boolean isActive = true;
 
+    // Bumped whenever role or active flag change, so sessions elsewhere can notice
+    @Column(name = "session_version", nullable = false, columnDefinition = "bigint default 0")
+    private long sessionVersion;
+
     public enum UserRole {
         ADMIN,
         OWNER,
@@ -152,6 +161,14 @@ public class User {
         isActive = active;
     }
 
+    public long getSessionVersion() {
+        return sessionVersion;
+    }
+
+    public void bumpSessionVersion() {
+        sessionVersion++;
+    }
+
     public String getFullName() {
         return firstName + " " + lastName;
     }
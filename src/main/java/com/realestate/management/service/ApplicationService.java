@@ -1,12 +1,13 @@
 package com.realestate.management.service;
 
 import com.realestate.management.dao.ApplicationDao;
+import com.realestate.management.dao.ConstraintViolations;
 import com.realestate.management.dao.PropertyDao;
 import com.realestate.management.dao.UserDao;
 import com.realestate.management.model.Application;
 import com.realestate.management.model.Property;
-import com.realestate.management.model.User;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
@@ -17,32 +18,30 @@ public class ApplicationService {
     private final ApplicationDao applicationDao;
     private final PropertyDao propertyDao;
     private final UserDao userDao;
+    private final PopularityService popularityService;
 
     @Autowired
-    public ApplicationService(ApplicationDao applicationDao, PropertyDao propertyDao, UserDao userDao) {
+    public ApplicationService(ApplicationDao applicationDao, PropertyDao propertyDao, UserDao userDao,
+                              PopularityService popularityService) {
         this.applicationDao = applicationDao;
         this.propertyDao = propertyDao;
         this.userDao = userDao;
+        this.popularityService = popularityService;
     }
 
-    // Submit an application
+    // Submit an application. Duplicates are settled by the insert itself: the unique
+    // request key rejects a replayed submission and the unique active key a second
+    // open application for the same property.
     @Transactional
     public Application submitApplication(Long propertyId, Long userId, Application application) {
-        // Check if user already has an application for this property
-        if (applicationDao.hasApplication(userId, propertyId)) {
-            throw new RuntimeException("You already have an application for this property");
-        }
-
         Property property = propertyDao.findById(propertyId);
-        User user = userDao.findById(userId);
-
-        if (property == null || user == null) {
-            throw new RuntimeException("Property or User not found");
+        if (property == null) {
+            throw new RuntimeException("Property not found");
         }
 
         // Set the relationships
         application.setProperty(property);
-        application.setUser(user);
+        application.setUser(userDao.getReference(userId));
         
         // Set application type based on property listing type
         if (property.getListingType() == Property.ListingType.SALE) {
@@ -51,7 +50,18 @@ public class ApplicationService {
             application.setApplicationType(Application.ApplicationType.RENTAL);
         }
 
-        applicationDao.save(application);
+        try {
+            applicationDao.save(application);
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.isViolationOf(e, "uk_applications_request_key")) {
+                throw new DuplicateSubmissionException("Your application was already received.");
+            }
+            if (ConstraintViolations.isViolationOf(e, "uk_applications_active")) {
+                throw new RuntimeException("You already have an application for this property");
+            }
+            throw e;
+        }
+        TransactionCallbacks.afterCommit(() -> popularityService.applicationSubmitted(propertyId));
         return application;
     }
 
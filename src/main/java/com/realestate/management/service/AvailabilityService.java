@@ -0,0 +1,118 @@
+package com.realestate.management.service;
+
+import com.realestate.management.dao.AvailabilityDao;
+import com.realestate.management.dao.OpenHouseDao;
+import com.realestate.management.dao.PropertyDao;
+import com.realestate.management.dao.ViewingDao;
+import com.realestate.management.model.AvailabilityWindow;
+import com.realestate.management.model.OpenHouse;
+import com.realestate.management.model.Property;
+import com.realestate.management.model.PropertyViewing;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+public class AvailabilityService {
+
+    private static final int MAX_LOOKAHEAD_DAYS = 60;
+
+    private final AvailabilityDao availabilityDao;
+    private final ViewingDao viewingDao;
+    private final PropertyDao propertyDao;
+    private final OpenHouseDao openHouseDao;
+    private final ViewingSlotIndex slotIndex;
+
+    @Autowired
+    public AvailabilityService(AvailabilityDao availabilityDao, ViewingDao viewingDao,
+                               PropertyDao propertyDao, OpenHouseDao openHouseDao,
+                               ViewingSlotIndex slotIndex) {
+        this.availabilityDao = availabilityDao;
+        this.viewingDao = viewingDao;
+        this.propertyDao = propertyDao;
+        this.openHouseDao = openHouseDao;
+        this.slotIndex = slotIndex;
+    }
+
+    // Build the in-memory slot index from published windows, open houses and active viewing requests
+    @PostConstruct
+    public void loadIndex() {
+        LocalDateTime now = LocalDateTime.now();
+        for (AvailabilityWindow window : availabilityDao.findEndingAfter(now)) {
+            Property property = window.getProperty();
+            slotIndex.addWindow(property.getOwner().getId(), property.getId(), window.getId(),
+                window.getStartTime(), window.getEndTime());
+        }
+        for (OpenHouse openHouse : openHouseDao.findEndingAfter(now)) {
+            Property property = openHouse.getProperty();
+            slotIndex.book(property.getOwner().getId(), property.getId(),
+                ViewingSlotIndex.openHouseKey(openHouse.getId()),
+                openHouse.getStartTime(), openHouse.getEndTime());
+        }
+        for (PropertyViewing viewing : viewingDao.findActiveFrom(now.minus(slotIndex.getSlotLength()))) {
+            Property property = viewing.getProperty();
+            slotIndex.book(property.getOwner().getId(), property.getId(),
+                ViewingSlotIndex.viewingKey(viewing.getId()),
+                viewing.getViewingDate(), viewing.getViewingDate().plus(slotIndex.getSlotLength()));
+        }
+    }
+
+    // Publish an availability window for a property
+    @Transactional
+    public AvailabilityWindow addWindow(Long propertyId, LocalDateTime start, LocalDateTime end) {
+        Property property = propertyDao.findById(propertyId);
+        if (property == null) {
+            throw new RuntimeException("Property not found");
+        }
+        if (!end.isAfter(start)) {
+            throw new RuntimeException("End time must be after start time");
+        }
+        if (end.isBefore(LocalDateTime.now())) {
+            throw new RuntimeException("Availability window must be in the future");
+        }
+        if (start.isAfter(LocalDateTime.now().plusDays(MAX_LOOKAHEAD_DAYS))) {
+            throw new RuntimeException("Availability can be published up to " + MAX_LOOKAHEAD_DAYS + " days ahead");
+        }
+
+        AvailabilityWindow window = new AvailabilityWindow(property, start, end);
+        availabilityDao.save(window);
+
+        Long ownerId = property.getOwner().getId();
+        TransactionCallbacks.afterCommit(() ->
+            slotIndex.addWindow(ownerId, propertyId, window.getId(), start, end));
+        return window;
+    }
+
+    // Remove an availability window
+    @Transactional
+    public void removeWindow(Long windowId) {
+        AvailabilityWindow window = availabilityDao.findById(windowId);
+        if (window != null) {
+            Property property = window.getProperty();
+            Long ownerId = property.getOwner().getId();
+            Long propertyId = property.getId();
+            availabilityDao.delete(window);
+            TransactionCallbacks.afterCommit(() -> slotIndex.removeWindow(ownerId, propertyId, windowId));
+        }
+    }
+
+    // Get upcoming windows for a property
+    public List<AvailabilityWindow> getUpcomingWindows(Long propertyId) {
+        return availabilityDao.findUpcomingByProperty(propertyId);
+    }
+
+    // Get free slots for a property over the next few days
+    public List<LocalDateTime> getFreeSlots(Property property, int days) {
+        LocalDateTime now = LocalDateTime.now();
+        return slotIndex.freeSlots(property.getOwner().getId(), property.getId(), now, now.plusDays(days));
+    }
+
+    // Check if user owns the window's property
+    public boolean isWindowOwner(Long windowId, Long userId) {
+        AvailabilityWindow window = availabilityDao.findById(windowId);
+        return window != null && window.getProperty().getOwner().getId().equals(userId);
+    }
+}
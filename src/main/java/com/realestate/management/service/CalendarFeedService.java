@@ -0,0 +1,137 @@
+package com.realestate.management.service;
+
+import com.realestate.management.dao.ViewingDao;
+import com.realestate.management.model.Property;
+import com.realestate.management.model.PropertyViewing;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.List;
+
+@Service
+public class CalendarFeedService {
+
+    public enum Feed {
+        VIEWINGS,
+        REQUESTS
+    }
+
+    // Validator for a feed: how many events it holds and when the newest one changed
+    public record FeedVersion(long count, LocalDateTime lastModified) {
+
+        public String etag(Feed feed, Long userId) {
+            long stamp = lastModified == null ? 0L : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            return "\"" + feed.name().toLowerCase() + "-" + userId + "-" + count + "-" + stamp + "\"";
+        }
+
+        public long lastModifiedMillis() {
+            return lastModified == null ? -1L : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+    }
+
+    private static final int MIN_SECRET_LENGTH = 32;
+
+    // The placeholder application.properties used to ship with; deployments may still set it
+    private static final String FORMER_DEFAULT_SECRET = "change-me-calendar-feed-secret";
+
+    private final ViewingDao viewingDao;
+    private final ViewingSlotIndex slotIndex;
+    private final byte[] secret;
+
+    // Anyone who knows the secret can sign a feed link for any user, so there is no default:
+    // the application does not start without a real one
+    @Autowired
+    public CalendarFeedService(ViewingDao viewingDao, ViewingSlotIndex slotIndex,
+                               @Value("${calendar.feed-secret:}") String secret) {
+        if (secret.length() < MIN_SECRET_LENGTH || secret.equals(FORMER_DEFAULT_SECRET)) {
+            throw new IllegalStateException("calendar.feed-secret (CALENDAR_FEED_SECRET) must be set to a random value of at least "
+                + MIN_SECRET_LENGTH + " characters; calendar feed links are signed with it");
+        }
+        this.viewingDao = viewingDao;
+        this.slotIndex = slotIndex;
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    // Unguessable per-user token so calendar clients can subscribe without a session
+    public String tokenFor(Long userId, Feed feed) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret, "HmacSHA256"));
+            byte[] digest = mac.doFinal((feed.name() + ":" + userId).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 32);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    public boolean isValidToken(Long userId, Feed feed, String token) {
+        return MessageDigest.isEqual(tokenFor(userId, feed).getBytes(StandardCharsets.UTF_8),
+            token.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String feedPath(Long userId, Feed feed) {
+        return "/calendar/" + userId + "/" + tokenFor(userId, feed) + "/" + feed.name().toLowerCase() + ".ics";
+    }
+
+    // Cheap aggregate lookup; never loads the viewing rows. Covers everything an event shows:
+    // the viewing, its listing and open house, and for owners the buyer's name.
+    @Transactional(readOnly = true)
+    public FeedVersion getVersion(Long userId, Feed feed) {
+        LocalDateTime now = LocalDateTime.now();
+        Object[] row = feed == Feed.VIEWINGS
+            ? viewingDao.findFeedVersionByUser(userId, now)
+            : viewingDao.findFeedVersionByOwner(userId, now);
+        LocalDateTime lastModified = null;
+        for (int i = 1; i < row.length; i++) {
+            if (row[i] instanceof LocalDateTime updatedAt && (lastModified == null || updatedAt.isAfter(lastModified))) {
+                lastModified = updatedAt;
+            }
+        }
+        return new FeedVersion(((Number) row[0]).longValue(), lastModified);
+    }
+
+    // Not streamed: the events are read into a list first and written afterwards, so a slow
+    // calendar client never holds a transaction or a pooled connection (/calendar/** runs
+    // without open-session-in-view). The list is one user's upcoming viewings, which stays small.
+    public void writeFeed(Long userId, Feed feed, Writer out) throws IOException {
+        LocalDateTime now = LocalDateTime.now();
+        List<PropertyViewing> viewings = feed == Feed.VIEWINGS
+            ? viewingDao.findUpcomingByUser(userId, now)
+            : viewingDao.findUpcomingByOwner(userId, now);
+
+        ICalendarWriter calendar = new ICalendarWriter(out, ZoneId.systemDefault());
+        calendar.begin(feed == Feed.VIEWINGS ? "My Property Viewings" : "Viewing Requests");
+        for (PropertyViewing viewing : viewings) {
+            writeEvent(calendar, viewing, feed);
+        }
+        calendar.end();
+    }
+
+    private void writeEvent(ICalendarWriter calendar, PropertyViewing viewing, Feed feed) throws IOException {
+        Property property = viewing.getProperty();
+        LocalDateTime start = viewing.getViewingDate();
+        LocalDateTime end = viewing.getOpenHouse() != null
+            ? viewing.getOpenHouse().getEndTime()
+            : start.plus(slotIndex.getSlotLength());
+
+        String kind = viewing.getOpenHouse() != null ? "Open house" : "Viewing";
+        String summary = feed == Feed.VIEWINGS
+            ? kind + ": " + property.getTitle()
+            : kind + " with " + viewing.getUser().getFullName() + ": " + property.getTitle();
+        String status = viewing.getStatus() == PropertyViewing.ViewingStatus.APPROVED ? "CONFIRMED" : "TENTATIVE";
+
+        calendar.event("viewing-" + viewing.getId() + "@realestate-pro", viewing.getUpdatedAt(), start, end,
+            summary, property.getFullAddress(), viewing.getMessage(), status);
+    }
+}
@@ -0,0 +1,10 @@
+package com.realestate.management.service;
+
+// Thrown when a form submission is replayed with an idempotency key that was already
+// accepted; the original request stands, so callers should report success
+public class DuplicateSubmissionException extends RuntimeException {
+
+    public DuplicateSubmissionException(String message) {
+        super(message);
+    }
+}
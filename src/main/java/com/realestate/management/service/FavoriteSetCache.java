@@ -0,0 +1,170 @@
+package com.realestate.management.service;
+
+import com.realestate.management.dao.FavoriteDao;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Each user's favorited property ids as a sorted long[], loaded on first use and
+// replaced copy-on-write when a favorite is added or removed. Readers never lock and
+// a whole page of cards is checked with one binary search per card. Changes made on
+// other nodes only show up here when the set is reloaded, so a set is reloaded once it
+// is favorites.cache-ttl old; the set is for display, writes always go to the table.
+@Component
+public class FavoriteSetCache {
+
+    private static final long[] EMPTY = new long[0];
+    private static final int CHANGE_STRIPES = 256;
+
+    private record Entry(long[] ids, long loadedAt) {
+    }
+
+    private final FavoriteDao favoriteDao;
+    private final int maxUsers;
+    private final long ttlNanos;
+    private final ConcurrentHashMap<Long, Entry> favoritesByUser = new ConcurrentHashMap<>();
+    // Bumped on every added/removed, striped by user, so a load can tell it raced with one
+    private final AtomicLongArray changes = new AtomicLongArray(CHANGE_STRIPES);
+
+    @Autowired
+    public FavoriteSetCache(FavoriteDao favoriteDao, @Value("${favorites.cache-max-users:50000}") int maxUsers,
+                            @Value("${favorites.cache-ttl:30s}") Duration ttl) {
+        this.favoriteDao = favoriteDao;
+        this.maxUsers = maxUsers;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    // Check a single property
+    public boolean contains(Long userId, Long propertyId) {
+        return Arrays.binarySearch(idsFor(userId), propertyId) >= 0;
+    }
+
+    // Return which of the given properties the user has favorited
+    public Set<Long> favoritedAmong(Long userId, Collection<Long> propertyIds) {
+        long[] ids = idsFor(userId);
+        Set<Long> favorited = new HashSet<>();
+        if (ids.length == 0) {
+            return favorited;
+        }
+        for (Long propertyId : propertyIds) {
+            if (Arrays.binarySearch(ids, propertyId) >= 0) {
+                favorited.add(propertyId);
+            }
+        }
+        return favorited;
+    }
+
+    public int count(Long userId) {
+        return idsFor(userId).length;
+    }
+
+    // Changes whenever the user's set does; part of the list page validator
+    public int fingerprint(Long userId) {
+        return Arrays.hashCode(idsFor(userId));
+    }
+
+    // Record a committed favorite; users not loaded yet pick it up when they are
+    public void added(Long userId, Long propertyId) {
+        changes.incrementAndGet(stripe(userId));
+        favoritesByUser.computeIfPresent(userId, (id, entry) -> {
+            long[] ids = entry.ids();
+            int pos = Arrays.binarySearch(ids, propertyId);
+            if (pos >= 0) {
+                return entry;
+            }
+            int insertAt = -pos - 1;
+            long[] updated = new long[ids.length + 1];
+            System.arraycopy(ids, 0, updated, 0, insertAt);
+            updated[insertAt] = propertyId;
+            System.arraycopy(ids, insertAt, updated, insertAt + 1, ids.length - insertAt);
+            return new Entry(updated, entry.loadedAt());
+        });
+    }
+
+    // Record a committed removal
+    public void removed(Long userId, Long propertyId) {
+        changes.incrementAndGet(stripe(userId));
+        favoritesByUser.computeIfPresent(userId, (id, entry) -> {
+            long[] ids = entry.ids();
+            int pos = Arrays.binarySearch(ids, propertyId);
+            if (pos < 0) {
+                return entry;
+            }
+            long[] updated = new long[ids.length - 1];
+            System.arraycopy(ids, 0, updated, 0, pos);
+            System.arraycopy(ids, pos + 1, updated, pos, ids.length - pos - 1);
+            return new Entry(updated, entry.loadedAt());
+        });
+    }
+
+    // Drop a user's set, e.g. on logout
+    public void evict(Long userId) {
+        favoritesByUser.remove(userId);
+    }
+
+    // The query runs outside the map, so no bin lock is held across it. The loaded set is
+    // only published if no added/removed for the user's stripe happened meanwhile: one that
+    // comes after publishing is applied on top of it, one that came during the load would
+    // be lost, so that set is returned once and the next read loads again.
+    private long[] idsFor(Long userId) {
+        Entry entry = favoritesByUser.get(userId);
+        if (entry != null && !isExpired(entry)) {
+            return entry.ids();
+        }
+        long stamp = changes.get(stripe(userId));
+        Entry loaded = load(userId);
+        if (entry == null && favoritesByUser.size() >= maxUsers) {
+            trim();
+        }
+        Entry published = favoritesByUser.compute(userId, (id, current) -> {
+            if (current != null && !isExpired(current)) {
+                return current;
+            }
+            return changes.get(stripe(id)) == stamp ? loaded : current;
+        });
+        return published != null && !isExpired(published) ? published.ids() : loaded.ids();
+    }
+
+    private boolean isExpired(Entry entry) {
+        return System.nanoTime() - entry.loadedAt() >= ttlNanos;
+    }
+
+    private static int stripe(Long userId) {
+        return Long.hashCode(userId) & (CHANGE_STRIPES - 1);
+    }
+
+    // Drop expired sets, then arbitrary ones, until a tenth of the limit is free again.
+    // Only the thread that finds the cache full pays for this; reads never take a lock.
+    private void trim() {
+        int target = maxUsers - Math.max(1, maxUsers / 10);
+        favoritesByUser.values().removeIf(this::isExpired);
+        Iterator<Long> it = favoritesByUser.keySet().iterator();
+        while (favoritesByUser.size() > target && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private Entry load(Long userId) {
+        long loadedAt = System.nanoTime();
+        List<Long> propertyIds = favoriteDao.findFavoritePropertyIdsByUser(userId);
+        if (propertyIds.isEmpty()) {
+            return new Entry(EMPTY, loadedAt);
+        }
+        long[] ids = new long[propertyIds.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = propertyIds.get(i);
+        }
+        Arrays.sort(ids);
+        return new Entry(ids, loadedAt);
+    }
+}
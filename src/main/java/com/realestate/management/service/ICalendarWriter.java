@@ -0,0 +1,88 @@
+package com.realestate.management.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+// Minimal RFC 5545 writer; each event is written to the given writer as soon as it is passed in
+public class ICalendarWriter {
+
+    private static final DateTimeFormatter UTC_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+    private static final int MAX_LINE_OCTETS = 75;
+
+    private final Writer out;
+    private final ZoneId zone;
+
+    public ICalendarWriter(Writer out, ZoneId zone) {
+        this.out = out;
+        this.zone = zone;
+    }
+
+    public void begin(String calendarName) throws IOException {
+        line("BEGIN:VCALENDAR");
+        line("VERSION:2.0");
+        line("PRODID:-//RealEstate Pro//Viewings//EN");
+        line("CALSCALE:GREGORIAN");
+        line("METHOD:PUBLISH");
+        line("X-WR-CALNAME:" + escape(calendarName));
+        line("REFRESH-INTERVAL;VALUE=DURATION:PT15M");
+    }
+
+    public void event(String uid, LocalDateTime stamp, LocalDateTime start, LocalDateTime end, String summary,
+                      String location, String description, String status) throws IOException {
+        line("BEGIN:VEVENT");
+        line("UID:" + uid);
+        line("DTSTAMP:" + utc(stamp != null ? stamp : LocalDateTime.now()));
+        line("DTSTART:" + utc(start));
+        line("DTEND:" + utc(end));
+        line("SUMMARY:" + escape(summary));
+        if (location != null) {
+            line("LOCATION:" + escape(location));
+        }
+        if (description != null && !description.isEmpty()) {
+            line("DESCRIPTION:" + escape(description));
+        }
+        line("STATUS:" + status);
+        line("END:VEVENT");
+    }
+
+    public void end() throws IOException {
+        line("END:VCALENDAR");
+        out.flush();
+    }
+
+    private String utc(LocalDateTime time) {
+        return time.atZone(zone).withZoneSameInstant(ZoneOffset.UTC).format(UTC_FORMAT);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\")
+            .replace(";", "\\;")
+            .replace(",", "\\,")
+            .replace("\r\n", "\\n")
+            .replace("\n", "\\n")
+            .replace("\r", "\\n");
+    }
+
+    // Content lines are folded at 75 octets with CRLF followed by a space
+    private void line(String content) throws IOException {
+        int octets = 0;
+        int i = 0;
+        while (i < content.length()) {
+            int codePoint = content.codePointAt(i);
+            int width = new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8).length;
+            if (octets + width > MAX_LINE_OCTETS) {
+                out.write("\r\n ");
+                octets = 1;
+            }
+            out.write(Character.toChars(codePoint));
+            octets += width;
+            i += Character.charCount(codePoint);
+        }
+        out.write("\r\n");
+    }
+}
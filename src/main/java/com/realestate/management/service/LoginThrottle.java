@@ -0,0 +1,89 @@
+package com.realestate.management.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-email and per-IP token buckets for login attempts. Keys are hashed onto a fixed
+// array of stripes, each a single long holding the bucket's theoretical arrival time
+// (GCRA), so a check is one CAS with no locks and memory stays constant however many
+// distinct emails or addresses an attacker sprays. Keys that share a stripe share a budget.
+@Component
+public class LoginThrottle {
+
+    private final Buckets byEmail;
+    private final Buckets byAddress;
+    private final LongAdder throttled = new LongAdder();
+
+    public LoginThrottle(@Value("${security.login.email-burst:5}") int emailBurst,
+                         @Value("${security.login.email-refill:30s}") Duration emailRefill,
+                         @Value("${security.login.ip-burst:30}") int ipBurst,
+                         @Value("${security.login.ip-refill:2s}") Duration ipRefill,
+                         @Value("${security.login.stripes:4096}") int stripes) {
+        this.byEmail = new Buckets(stripes, emailBurst, emailRefill);
+        this.byAddress = new Buckets(stripes, ipBurst, ipRefill);
+    }
+
+    // Take one token from both the address and the email bucket
+    public boolean tryAcquire(String email, String remoteAddress) {
+        long now = System.nanoTime();
+        boolean allowed = byAddress.tryAcquire(remoteAddress, now)
+            && byEmail.tryAcquire(email.trim().toLowerCase(Locale.ROOT), now);
+        if (!allowed) {
+            throttled.increment();
+        }
+        return allowed;
+    }
+
+    public long getThrottledCount() {
+        return throttled.sum();
+    }
+
+    private static final class Buckets {
+
+        private final AtomicLongArray arrivals;
+        private final int mask;
+        private final long intervalNanos;
+        private final long toleranceNanos;
+        private final int seed = ThreadLocalRandom.current().nextInt();
+
+        Buckets(int stripes, int burst, Duration refill) {
+            int size = Integer.highestOneBit(Math.max(stripes, 2) - 1) << 1;
+            this.arrivals = new AtomicLongArray(size);
+            this.mask = size - 1;
+            this.intervalNanos = refill.toNanos();
+            this.toleranceNanos = intervalNanos * (burst - 1);
+            // Start every stripe full
+            long empty = System.nanoTime() - intervalNanos * burst;
+            for (int i = 0; i < size; i++) {
+                arrivals.set(i, empty);
+            }
+        }
+
+        boolean tryAcquire(String key, long now) {
+            int stripe = stripe(key);
+            while (true) {
+                long arrival = arrivals.get(stripe);
+                if (arrival - toleranceNanos - now > 0) {
+                    return false;
+                }
+                long next = (arrival - now > 0 ? arrival : now) + intervalNanos;
+                if (arrivals.compareAndSet(stripe, arrival, next)) {
+                    return true;
+                }
+            }
+        }
+
+        private int stripe(String key) {
+            int h = key.hashCode() ^ seed;
+            h ^= h >>> 16;
+            h *= 0x85ebca6b;
+            h ^= h >>> 13;
+            return h & mask;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.realestate.management.service;
+
+import com.realestate.management.dao.ApplicationDao;
+import com.realestate.management.dao.MaintenanceCheckpointDao;
+import com.realestate.management.dao.ViewingDao;
+import com.realestate.management.model.Application;
+import com.realestate.management.model.PropertyViewing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongFunction;
+import java.util.function.ToIntFunction;
+
+// Periodically moves viewings and applications whose time has passed out of the
+// active states. Work is done in small keyset-paged chunks, each in its own short
+// transaction together with a checkpoint, so a run never holds locks for long and
+// an interrupted run resumes where it stopped. Every node schedules the jobs, but a
+// run first takes a lease in maintenance_checkpoints, so only one node works at a time.
+@Service
+public class MaintenanceService {
+
+    private static final Logger log = LoggerFactory.getLogger(MaintenanceService.class);
+
+    private static final String LEASE = "lease:maintenance";
+
+    private final ViewingDao viewingDao;
+    private final ApplicationDao applicationDao;
+    private final MaintenanceCheckpointDao checkpointDao;
+    private final ViewingSlotIndex slotIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final String leaseHolder = UUID.randomUUID().toString();
+
+    @Value("${maintenance.enabled:true}")
+    private boolean enabled;
+
+    @Value("${maintenance.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${maintenance.chunk-pause-ms:50}")
+    private long chunkPauseMs;
+
+    @Value("${maintenance.viewing-grace-hours:2}")
+    private long viewingGraceHours;
+
+    @Value("${maintenance.application-expiry-days:30}")
+    private long applicationExpiryDays;
+
+    @Value("${maintenance.lease-minutes:10}")
+    private long leaseMinutes;
+
+    @Autowired
+    public MaintenanceService(ViewingDao viewingDao, ApplicationDao applicationDao,
+                              MaintenanceCheckpointDao checkpointDao, ViewingSlotIndex slotIndex,
+                              PlatformTransactionManager transactionManager) {
+        this.viewingDao = viewingDao;
+        this.applicationDao = applicationDao;
+        this.checkpointDao = checkpointDao;
+        this.slotIndex = slotIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${maintenance.cron:0 */15 * * * *}")
+    public void runScheduled() {
+        if (enabled) {
+            runAll();
+        }
+    }
+
+    // Run every maintenance job once; skipped if a run is already in progress here or on another node
+    public void runAll() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            if (!renewLease()) {
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime viewingCutoff = now.minusHours(viewingGraceHours);
+
+            transitionViewings("viewings-complete", PropertyViewing.ViewingStatus.APPROVED,
+                PropertyViewing.ViewingStatus.COMPLETED, viewingCutoff);
+            transitionViewings("viewings-expire", PropertyViewing.ViewingStatus.PENDING,
+                PropertyViewing.ViewingStatus.EXPIRED, now);
+            transitionViewings("viewings-expire-waitlist", PropertyViewing.ViewingStatus.WAITLISTED,
+                PropertyViewing.ViewingStatus.EXPIRED, now);
+            transitionApplications("applications-expire", Application.ApplicationStatus.PENDING,
+                Application.ApplicationStatus.EXPIRED, now.minusDays(applicationExpiryDays));
+
+            slotIndex.pruneBefore(viewingCutoff);
+            transactionTemplate.executeWithoutResult(status -> checkpointDao.releaseLease(LEASE, leaseHolder));
+        } finally {
+            running.set(false);
+        }
+    }
+
+    // Take the maintenance lease, or extend it while a run is in progress
+    private boolean renewLease() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            return transactionTemplate.execute(status ->
+                checkpointDao.tryLease(LEASE, leaseHolder, now, now.plusMinutes(leaseMinutes)));
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the lease row first
+            return false;
+        }
+    }
+
+    private long transitionViewings(String job, PropertyViewing.ViewingStatus from,
+                                    PropertyViewing.ViewingStatus to, LocalDateTime cutoff) {
+        return runChunked(job,
+            afterId -> viewingDao.findIdsByStatusBefore(from, cutoff, afterId, chunkSize),
+            ids -> viewingDao.updateStatusByIds(ids, from, to));
+    }
+
+    private long transitionApplications(String job, Application.ApplicationStatus from,
+                                        Application.ApplicationStatus to, LocalDateTime cutoff) {
+        return runChunked(job,
+            afterId -> applicationDao.findIdsByStatusCreatedBefore(from, cutoff, afterId, chunkSize),
+            ids -> applicationDao.updateStatusByIds(ids, from, to));
+    }
+
+    // Page through matching ids by primary key and update each page in one statement,
+    // committing the page and the checkpoint together. The (status, id) indexes serve
+    // these pages in key order, so each page starts where the last one stopped.
+    private long runChunked(String job, LongFunction<List<Long>> nextChunk, ToIntFunction<List<Long>> update) {
+        long afterId = transactionTemplate.execute(status -> checkpointDao.findOrCreate(job).getLastId());
+        long total = 0;
+        long startedAt = System.currentTimeMillis();
+
+        while (true) {
+            if (!renewLease()) {
+                log.warn("Maintenance job {} stopped: lease taken over by another node", job);
+                break;
+            }
+            long from = afterId;
+            long[] chunk = transactionTemplate.execute(status -> {
+                List<Long> ids = nextChunk.apply(from);
+                if (ids.isEmpty()) {
+                    // Pass complete; the next run starts from the beginning
+                    checkpointDao.advance(job, 0L, 0L);
+                    return null;
+                }
+                long lastId = ids.get(ids.size() - 1);
+                int rows = update.applyAsInt(ids);
+                checkpointDao.advance(job, lastId, rows);
+                return new long[] {lastId, rows};
+            });
+            if (chunk == null) {
+                break;
+            }
+            afterId = chunk[0];
+            total += chunk[1];
+            if (!pause()) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            log.info("Maintenance job {} updated {} rows in {} ms", job, total, System.currentTimeMillis() - startedAt);
+        }
+        return total;
+    }
+
+    // Brief pause between chunks so replication and concurrent writers can keep up
+    private boolean pause() {
+        if (chunkPauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(chunkPauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
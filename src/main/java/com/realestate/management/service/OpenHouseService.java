@@ -0,0 +1,212 @@
+package com.realestate.management.service;
+
+import com.realestate.management.dao.ConstraintViolations;
+import com.realestate.management.dao.OpenHouseDao;
+import com.realestate.management.dao.PropertyDao;
+import com.realestate.management.dao.UserDao;
+import com.realestate.management.dao.ViewingDao;
+import com.realestate.management.model.OpenHouse;
+import com.realestate.management.model.Property;
+import com.realestate.management.model.PropertyViewing;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class OpenHouseService {
+
+    private static final int MAX_CAPACITY = 500;
+    private static final int PROMOTION_BATCH = 10;
+
+    private final OpenHouseDao openHouseDao;
+    private final ViewingDao viewingDao;
+    private final PropertyDao propertyDao;
+    private final UserDao userDao;
+    private final ViewingSlotIndex slotIndex;
+    private final PopularityService popularityService;
+
+    // Free seats per open house. A sign-up only reaches the database once it has won a
+    // seat here, so a burst beyond capacity goes straight to the waitlist without
+    // queueing on the open house row.
+    private final ConcurrentHashMap<Long, AtomicInteger> freeSeats = new ConcurrentHashMap<>();
+
+    @Autowired
+    public OpenHouseService(OpenHouseDao openHouseDao, ViewingDao viewingDao, PropertyDao propertyDao,
+                            UserDao userDao, ViewingSlotIndex slotIndex, PopularityService popularityService) {
+        this.openHouseDao = openHouseDao;
+        this.viewingDao = viewingDao;
+        this.propertyDao = propertyDao;
+        this.userDao = userDao;
+        this.slotIndex = slotIndex;
+        this.popularityService = popularityService;
+    }
+
+    // Create an open house
+    @Transactional
+    public OpenHouse createOpenHouse(Long propertyId, LocalDateTime startTime, LocalDateTime endTime, int capacity) {
+        Property property = propertyDao.findById(propertyId);
+        if (property == null) {
+            throw new RuntimeException("Property not found");
+        }
+        if (!endTime.isAfter(startTime)) {
+            throw new RuntimeException("End time must be after start time");
+        }
+        if (startTime.isBefore(LocalDateTime.now())) {
+            throw new RuntimeException("Open house must be in the future");
+        }
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new RuntimeException("Capacity must be between 1 and " + MAX_CAPACITY);
+        }
+
+        // Block the owner's schedule so no private viewing is booked during the event; the
+        // database check sees bookings made on every node
+        Long ownerId = property.getOwner().getId();
+        userDao.lockForScheduling(ownerId);
+        if (viewingDao.hasBookingOverlap(ownerId, startTime, endTime, slotIndex.getSlotLength(), null)) {
+            throw new RuntimeException("You already have viewings booked during that time");
+        }
+
+        OpenHouse openHouse = new OpenHouse(property, startTime, endTime, capacity);
+        openHouseDao.save(openHouse);
+
+        String slotKey = ViewingSlotIndex.openHouseKey(openHouse.getId());
+        if (slotIndex.reserveBlock(ownerId, propertyId, slotKey, startTime, endTime)
+                == ViewingSlotIndex.Reservation.CONFLICT) {
+            throw new RuntimeException("You already have viewings booked during that time");
+        }
+        TransactionCallbacks.afterRollback(() -> slotIndex.release(ownerId, slotKey));
+        return openHouse;
+    }
+
+    // Sign a user up for an open house; they get a seat or join the waitlist.
+    // A second sign-up by the same user is rejected by the unique active key.
+    @Transactional
+    public PropertyViewing join(Long openHouseId, Long userId, String message) {
+        OpenHouse openHouse = openHouseDao.findById(openHouseId);
+
+        if (openHouse == null) {
+            throw new RuntimeException("Open house not found");
+        }
+        if (!openHouse.getStartTime().isAfter(LocalDateTime.now())) {
+            throw new RuntimeException("This open house has already started");
+        }
+
+        PropertyViewing viewing = new PropertyViewing(openHouse.getProperty(), userDao.getReference(userId),
+            openHouse.getStartTime(), message);
+        viewing.setOpenHouse(openHouse);
+
+        if (tryTakeSeat(openHouseId)) {
+            viewing.setStatus(PropertyViewing.ViewingStatus.APPROVED);
+        } else {
+            viewing.setStatus(PropertyViewing.ViewingStatus.WAITLISTED);
+        }
+        try {
+            viewingDao.save(viewing);
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.isViolationOf(e, "uk_viewings_active")) {
+                throw new RuntimeException("You are already signed up for this open house");
+            }
+            throw e;
+        }
+        Long propertyId = openHouse.getProperty().getId();
+        TransactionCallbacks.afterCommit(() -> popularityService.viewingRequested(propertyId));
+        return viewing;
+    }
+
+    // Give a seat back and promote the oldest waitlisted sign-ups into free seats. Runs in the
+    // cancelling transaction, so the cancellation, the seat and the promotions commit together.
+    @Transactional
+    public void releaseSeatAndPromote(Long openHouseId) {
+        releaseSeat(openHouseId);
+        promoteWaitlisted(openHouseId);
+    }
+
+    // Fill free seats from the waitlist. Seats are claimed in the database directly rather than
+    // through this node's counter, so seats freed on other nodes reach the waitlist too.
+    @Transactional
+    public void promoteWaitlisted(Long openHouseId) {
+        while (true) {
+            List<Long> waitlisted = viewingDao.findWaitlistedIds(openHouseId, PROMOTION_BATCH);
+            if (waitlisted.isEmpty()) {
+                return;
+            }
+            for (Long viewingId : waitlisted) {
+                if (!claimSeatForPromotion(openHouseId)) {
+                    return;
+                }
+                if (!viewingDao.promoteFromWaitlist(viewingId)) {
+                    // Cancelled or promoted concurrently; the seat goes to the next in line
+                    releaseSeat(openHouseId);
+                }
+            }
+        }
+    }
+
+    // Get upcoming open houses for a property
+    public List<OpenHouse> getUpcomingOpenHouses(Long propertyId) {
+        return openHouseDao.findUpcomingByProperty(propertyId);
+    }
+
+    // Get the number of free seats as seen by this node
+    public int getSeatsLeft(Long openHouseId) {
+        return seats(openHouseId).get();
+    }
+
+    // Check if user owns the open house's property
+    public boolean isOpenHouseOwner(Long openHouseId, Long userId) {
+        OpenHouse openHouse = openHouseDao.findById(openHouseId);
+        return openHouse != null && openHouse.getProperty().getOwner().getId().equals(userId);
+    }
+
+    // Lock-free claim in memory, then a conditional update in the database so several
+    // nodes can never oversell the same open house between them. The update is part of the
+    // caller's transaction; if that rolls back, so does the seat, and the local count with it.
+    private boolean tryTakeSeat(Long openHouseId) {
+        AtomicInteger seats = seats(openHouseId);
+        int left;
+        do {
+            left = seats.get();
+            if (left <= 0) {
+                return false;
+            }
+        } while (!seats.compareAndSet(left, left - 1));
+
+        if (openHouseDao.tryReserveSeat(openHouseId)) {
+            TransactionCallbacks.afterRollback(seats::incrementAndGet);
+            return true;
+        }
+        // Another node took the last seats; resync the local counter with the database
+        seats.set(openHouseDao.findSeatsLeft(openHouseId));
+        return false;
+    }
+
+    // The freed seat counts at once, so promotion in the same transaction can use it; a
+    // rollback takes it back, mirroring tryTakeSeat
+    private void releaseSeat(Long openHouseId) {
+        openHouseDao.releaseSeat(openHouseId);
+        AtomicInteger seats = seats(openHouseId);
+        seats.incrementAndGet();
+        TransactionCallbacks.afterRollback(seats::decrementAndGet);
+    }
+
+    // The database decides; the local counter follows, never below zero when it had not yet
+    // heard of the seat this claim found
+    private boolean claimSeatForPromotion(Long openHouseId) {
+        if (!openHouseDao.tryReserveSeat(openHouseId)) {
+            return false;
+        }
+        AtomicInteger seats = seats(openHouseId);
+        seats.updateAndGet(left -> Math.max(0, left - 1));
+        TransactionCallbacks.afterRollback(seats::incrementAndGet);
+        return true;
+    }
+
+    private AtomicInteger seats(Long openHouseId) {
+        return freeSeats.computeIfAbsent(openHouseId, id -> new AtomicInteger(openHouseDao.findSeatsLeft(id)));
+    }
+}
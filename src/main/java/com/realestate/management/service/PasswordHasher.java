@@ -0,0 +1,203 @@
+package com.realestate.management.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// PBKDF2 password hashing on a small dedicated pool with a bounded queue. A login
+// storm can occupy at most threads + queue request threads; anything beyond that is
+// turned away immediately instead of starving the rest of the site.
+//
+// Stored format: pbkdf2$<iterations>$<base64 salt>$<base64 hash>. Anything else is a
+// legacy plaintext password, accepted once and rehashed on that login.
+@Component
+public class PasswordHasher {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHasher.class);
+
+    private static final String PREFIX = "pbkdf2$";
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+
+    // Result of checking a password; newHash is set when the stored hash should be upgraded
+    public record Verification(boolean matches, String newHash) {
+    }
+
+    public static class BusyException extends RuntimeException {
+        public BusyException() {
+            super("The server is busy. Please try again in a moment.");
+        }
+    }
+
+    private final SecureRandom random = new SecureRandom();
+    private final ThreadPoolExecutor executor;
+    private final int iterations;
+    private final long timeoutMillis;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private long[] lastLogged = new long[5];
+
+    public PasswordHasher(@Value("${security.password.iterations:600000}") int iterations,
+                          @Value("${security.password.threads:2}") int threads,
+                          @Value("${security.password.queue-capacity:32}") int queueCapacity,
+                          @Value("${security.password.timeout-ms:5000}") long timeoutMillis) {
+        this.iterations = iterations;
+        this.timeoutMillis = timeoutMillis;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Hash a new password
+    public String hash(String rawPassword) {
+        return await(submit(() -> encode(rawPassword)));
+    }
+
+    // Check a password against its stored form, upgrading legacy or weaker hashes
+    public Verification verify(String rawPassword, String stored) {
+        return await(submit(() -> {
+            if (!stored.startsWith(PREFIX)) {
+                boolean matches = MessageDigest.isEqual(
+                    rawPassword.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+                return new Verification(matches, matches ? encode(rawPassword) : null);
+            }
+            String[] parts = stored.split("\\$");
+            int storedIterations = Integer.parseInt(parts[1]);
+            byte[] salt = Base64.getDecoder().decode(parts[2]);
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            boolean matches = MessageDigest.isEqual(expected, pbkdf2(rawPassword, salt, storedIterations));
+            return new Verification(matches, matches && storedIterations < iterations ? encode(rawPassword) : null);
+        }));
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getTimedOutCount() {
+        return timedOut.sum();
+    }
+
+    public double getAverageHashMillis() {
+        long done = completed.sum();
+        return done == 0 ? 0 : hashNanos.sum() / 1e6 / done;
+    }
+
+    // Periodic summary of the hashing pool so saturation shows up in the logs
+    @Scheduled(fixedDelayString = "${security.password.stats-log-ms:60000}")
+    public void logStats() {
+        long[] now = {completed.sum(), rejected.sum(), timedOut.sum(), hashNanos.sum(), queueWaitNanos.sum()};
+        long[] delta = new long[now.length];
+        for (int i = 0; i < now.length; i++) {
+            delta[i] = now[i] - lastLogged[i];
+        }
+        lastLogged = now;
+        long done = delta[0];
+        if (done > 0 || delta[1] > 0 || delta[2] > 0) {
+            log.info("Password hashing: {} done (avg hash {} ms, avg queue wait {} ms), {} rejected, {} timed out, queue depth {}",
+                done, done == 0 ? 0 : delta[3] / done / 1_000_000, done == 0 ? 0 : delta[4] / done / 1_000_000,
+                delta[1], delta[2], getQueueDepth());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        long queuedAt = System.nanoTime();
+        try {
+            return executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                queueWaitNanos.add(startedAt - queuedAt);
+                try {
+                    return task.call();
+                } finally {
+                    hashNanos.add(System.nanoTime() - startedAt);
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new BusyException();
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            timedOut.increment();
+            throw new BusyException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BusyException();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private String encode(String rawPassword) {
+        byte[] salt = new byte[SALT_BYTES];
+        random.nextBytes(salt);
+        byte[] hash = pbkdf2(rawPassword, salt, iterations);
+        return PREFIX + iterations + "$" + Base64.getEncoder().encodeToString(salt)
+            + "$" + Base64.getEncoder().encodeToString(hash);
+    }
+
+    private static byte[] pbkdf2(String rawPassword, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(rawPassword.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(ALGORITHM + " not available", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.realestate.management.service;
+
+import com.realestate.management.dao.PropertyStatsDao;
+import com.realestate.management.model.TrendingListing;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+// Popularity counters per property. Events only bump striped in-memory adders; a
+// scheduled flush drains them into property_stats with multi-row upserts, so a
+// burst of activity on one listing never queues on a single hot row.
+//
+// The trending score decays exponentially with a configurable half-life. Rather than
+// rewriting every row as time passes, each event is weighted by 2^((t - epoch) / halfLife)
+// against a fixed landmark epoch; scores then stay purely additive and ordering by the
+// stored value equals ordering by the decayed value at any point in time. Weights grow
+// by 2^(8760 / halfLifeHours) per year; with the default one-week half-life that is
+// about 2^52 a year, so the epoch only needs moving forward (dividing stored scores
+// by the same factor) after well over a decade.
+@Service
+public class PopularityService {
+
+    private static final Logger log = LoggerFactory.getLogger(PopularityService.class);
+
+    private static final Instant EPOCH = Instant.parse("2025-01-01T00:00:00Z");
+    private static final double FAVORITE_WEIGHT = 1.0;
+    private static final double VIEWING_WEIGHT = 3.0;
+    private static final double APPLICATION_WEIGHT = 5.0;
+    private static final String ALL_CITIES = "";
+
+    private final PropertyStatsDao propertyStatsDao;
+    private final TransactionTemplate transactionTemplate;
+    private final ConcurrentHashMap<Long, Counters> pending = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CachedTrending> trendingCache = new ConcurrentHashMap<>();
+
+    // Counters removed by the last flush, drained once more by the next one (guarded by flush)
+    private Map<Long, Counters> retired = Map.of();
+
+    @Value("${popularity.half-life-hours:168}")
+    private double halfLifeHours;
+
+    @Value("${popularity.flush-batch-size:500}")
+    private int batchSize;
+
+    @Value("${popularity.trending-size:6}")
+    private int trendingSize;
+
+    @Value("${popularity.trending-cache-seconds:300}")
+    private long trendingCacheSeconds;
+
+    @Autowired
+    public PopularityService(PropertyStatsDao propertyStatsDao, PlatformTransactionManager transactionManager) {
+        this.propertyStatsDao = propertyStatsDao;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Backfill lifetime counts the first time the stats table is used
+    @PostConstruct
+    public void seed() {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (propertyStatsDao.isEmpty()) {
+                int rows = propertyStatsDao.seedFromHistory();
+                log.info("Seeded popularity counters for {} properties", rows);
+            }
+        });
+    }
+
+    public void favoriteAdded(Long propertyId) {
+        Counters counters = counters(propertyId);
+        counters.favorites.increment();
+        counters.score.add(FAVORITE_WEIGHT * decayWeight());
+    }
+
+    public void favoriteRemoved(Long propertyId) {
+        counters(propertyId).favorites.decrement();
+    }
+
+    public void viewingRequested(Long propertyId) {
+        Counters counters = counters(propertyId);
+        counters.viewingRequests.increment();
+        counters.score.add(VIEWING_WEIGHT * decayWeight());
+    }
+
+    public void applicationSubmitted(Long propertyId) {
+        Counters counters = counters(propertyId);
+        counters.applications.increment();
+        counters.score.add(APPLICATION_WEIGHT * decayWeight());
+    }
+
+    // Trending listings for a city (or everywhere when no city is known), cached briefly
+    public List<TrendingListing> getTrending(String city) {
+        String key = city == null || city.isBlank() ? ALL_CITIES : city.trim().toLowerCase(Locale.ROOT);
+        long now = System.currentTimeMillis();
+        CachedTrending cached = trendingCache.get(key);
+        if (cached != null && cached.expiresAt > now) {
+            return cached.listings;
+        }
+        List<TrendingListing> listings = key.equals(ALL_CITIES)
+            ? propertyStatsDao.findTrending(trendingSize)
+            : propertyStatsDao.findTrendingByCity(key, trendingSize);
+        trendingCache.put(key, new CachedTrending(List.copyOf(listings), now + trendingCacheSeconds * 1000));
+        return listings;
+    }
+
+    // Drain the adders into the database. Each property's counters are removed from the map
+    // before they are drained, so only properties with activity since the last flush are held.
+    // An event may still land in counters it looked up just before the removal; those are kept
+    // and drained once more on the next flush, then dropped.
+    @Scheduled(fixedDelayString = "${popularity.flush-ms:10000}")
+    @PreDestroy
+    public synchronized void flush() {
+        List<PropertyStatsDao.Delta> deltas = new ArrayList<>();
+        retired.forEach((propertyId, counters) -> drain(propertyId, counters, deltas));
+        Map<Long, Counters> removed = new HashMap<>();
+        for (Long propertyId : pending.keySet()) {
+            Counters counters = pending.remove(propertyId);
+            if (counters != null) {
+                drain(propertyId, counters, deltas);
+                removed.put(propertyId, counters);
+            }
+        }
+        retired = removed;
+
+        for (int from = 0; from < deltas.size(); from += batchSize) {
+            List<PropertyStatsDao.Delta> batch = deltas.subList(from, Math.min(from + batchSize, deltas.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> propertyStatsDao.applyDeltas(batch));
+            } catch (RuntimeException e) {
+                // Put the batch back so it is retried on the next flush
+                log.warn("Failed to flush {} popularity deltas, will retry", batch.size(), e);
+                batch.forEach(this::restore);
+            }
+        }
+    }
+
+    private void drain(Long propertyId, Counters counters, List<PropertyStatsDao.Delta> deltas) {
+        long favorites = counters.favorites.sumThenReset();
+        long viewings = counters.viewingRequests.sumThenReset();
+        long applications = counters.applications.sumThenReset();
+        double score = counters.score.sumThenReset();
+        if (favorites != 0 || viewings != 0 || applications != 0 || score != 0) {
+            deltas.add(new PropertyStatsDao.Delta(propertyId, favorites, viewings, applications, score));
+        }
+    }
+
+    // Weight of an event happening now relative to the landmark epoch
+    private double decayWeight() {
+        double hours = (System.currentTimeMillis() - EPOCH.toEpochMilli()) / 3_600_000.0;
+        return Math.pow(2.0, hours / halfLifeHours);
+    }
+
+    private void restore(PropertyStatsDao.Delta delta) {
+        Counters counters = counters(delta.propertyId());
+        counters.favorites.add(delta.favorites());
+        counters.viewingRequests.add(delta.viewingRequests());
+        counters.applications.add(delta.applications());
+        counters.score.add(delta.score());
+    }
+
+    private Counters counters(Long propertyId) {
+        return pending.computeIfAbsent(propertyId, id -> new Counters());
+    }
+
+    private static final class Counters {
+        private final LongAdder favorites = new LongAdder();
+        private final LongAdder viewingRequests = new LongAdder();
+        private final LongAdder applications = new LongAdder();
+        private final DoubleAdder score = new DoubleAdder();
+    }
+
+    private record CachedTrending(List<TrendingListing> listings, long expiresAt) {
+    }
+}
@@ -0,0 +1,169 @@
+package com.realestate.management.service;
+
+import com.realestate.management.dao.PropertyVersionDao;
+import com.realestate.management.model.Property;
+import com.realestate.management.model.SessionUser;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.resource.ResourceUrlProvider;
+import org.springframework.web.servlet.support.RequestContextUtils;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.function.Supplier;
+
+// HTTP caching for the property list, search and details pages. A page goes out with a
+// validator computed from the listings it was rendered from, so an ETag never claims a newer
+// state than the body it came with, even when that body was read from a replica or the
+// second-level cache. A revalidation of the list or a details page is first compared with the
+// current version columns on the primary (PropertyVersionDao), so an unchanged page gets its
+// 304 before Hibernate or Thymeleaf do any work; that lookup only runs for conditional requests,
+// and the list's aggregate is shared for http.cache.version-ttl. Searches are revalidated
+// against the listings they load. The pages also show who is looking, so the ETag carries the
+// signed-in user's session version and favorites, and responses vary on the session cookie. The
+// hashed stylesheet name is part of the ETag too, so a copy revalidated after a deploy that
+// changed the CSS is sent again instead of linking a file that is gone.
+// Policies:
+//   anonymous  public, max-age=http.cache.anonymous-max-age: browsers and shared caches may keep it
+//   signed in  private, no-cache: never in a shared cache, revalidated on every use
+// A page carrying a flash message is shown once and not cached at all.
+@Service
+public class PropertyPageCache {
+
+    private static final String STYLESHEET = "/css/app.css";
+
+    public record Validator(String etag, long lastModifiedMillis) {
+    }
+
+    private record CachedVersion(PropertyVersionDao.Version version, long expiresAt) {
+    }
+
+    private final PropertyVersionDao propertyVersionDao;
+    private final FavoriteService favoriteService;
+    private final ResourceUrlProvider resourceUrlProvider;
+    private final long anonymousMaxAgeSeconds;
+    private final long versionTtlNanos;
+    private volatile CachedVersion approvedVersion;
+
+    @Autowired
+    public PropertyPageCache(PropertyVersionDao propertyVersionDao, FavoriteService favoriteService,
+                             ResourceUrlProvider resourceUrlProvider,
+                             @Value("${http.cache.anonymous-max-age:60s}") Duration anonymousMaxAge,
+                             @Value("${http.cache.version-ttl:2s}") Duration versionTtl) {
+        this.propertyVersionDao = propertyVersionDao;
+        this.favoriteService = favoriteService;
+        this.resourceUrlProvider = resourceUrlProvider;
+        this.anonymousMaxAgeSeconds = anonymousMaxAge.toSeconds();
+        this.versionTtlNanos = versionTtl.toNanos();
+    }
+
+    // Current validator of a details page, from the primary; null when the listing does not exist
+    public Validator detailsValidator(Long propertyId, HttpSession session) {
+        PropertyVersionDao.Version version = propertyVersionDao.findDetailsVersion(propertyId);
+        return version == null ? null : detailsValidator(propertyId, version, session);
+    }
+
+    // Validator of a details page rendered from this listing and its owner
+    public Validator detailsValidator(Property property, HttpSession session) {
+        LocalDateTime ownerUpdatedAt = property.getOwner() == null ? null : property.getOwner().getUpdatedAt();
+        return detailsValidator(property.getId(),
+            new PropertyVersionDao.Version(1, PropertyVersionDao.Version.latest(property.getUpdatedAt(), ownerUpdatedAt)),
+            session);
+    }
+
+    // Current validator of the list page, which shows every approved listing
+    public Validator listValidator(HttpSession session) {
+        CachedVersion cached = approvedVersion;
+        if (cached == null || System.nanoTime() - cached.expiresAt() > 0) {
+            cached = new CachedVersion(propertyVersionDao.findApprovedVersion(), System.nanoTime() + versionTtlNanos);
+            approvedVersion = cached;
+        }
+        return listValidator(cached.version(), session);
+    }
+
+    // Validator of a list or search page rendered from these listings; the URL tells the searches apart.
+    // A listing leaving the set lowers the count, one entering it is the latest change.
+    public Validator listValidator(List<Property> properties, HttpSession session) {
+        LocalDateTime lastModified = null;
+        for (Property property : properties) {
+            lastModified = PropertyVersionDao.Version.latest(lastModified, property.getUpdatedAt());
+        }
+        return listValidator(new PropertyVersionDao.Version(properties.size(), lastModified), session);
+    }
+
+    // Answers 304 when the client's copy matches the current validator, which is only looked up
+    // for conditional requests; otherwise leaves the response alone for the rendered page's validator
+    public boolean checkNotModified(ServletWebRequest webRequest, HttpSession session, Supplier<Validator> current) {
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) == null
+                && webRequest.getHeader(HttpHeaders.IF_MODIFIED_SINCE) == null) {
+            return false;
+        }
+        Validator validator = current.get();
+        if (validator == null) {
+            return false;
+        }
+        // Evaluated without a response first, so a miss does not leave this validator's headers behind
+        ServletWebRequest probe = new ServletWebRequest(webRequest.getRequest());
+        boolean anonymous = viewer(session) == null;
+        boolean matches = anonymous ? probe.checkNotModified(validator.etag(), validator.lastModifiedMillis())
+            : probe.checkNotModified(validator.etag());
+        return matches && checkNotModified(webRequest, session, validator);
+    }
+
+    // Sets the caching headers and answers 304 when the client's copy is still current
+    public boolean checkNotModified(ServletWebRequest webRequest, HttpSession session, Validator validator) {
+        HttpServletResponse response = webRequest.getResponse();
+        if (validator == null || response == null) {
+            return false;
+        }
+        if (RequestContextUtils.getInputFlashMap(webRequest.getRequest()) != null) {
+            response.setHeader("Cache-Control", "no-store");
+            return false;
+        }
+        response.setHeader("Vary", "Cookie");
+        if (viewer(session) == null) {
+            response.setHeader("Cache-Control", "public, max-age=" + anonymousMaxAgeSeconds);
+            return webRequest.checkNotModified(validator.etag(), validator.lastModifiedMillis());
+        }
+        // No Last-Modified: a date cannot express a change in the viewer's favorites
+        response.setHeader("Cache-Control", "private, no-cache");
+        return webRequest.checkNotModified(validator.etag());
+    }
+
+    private Validator detailsValidator(Long propertyId, PropertyVersionDao.Version version, HttpSession session) {
+        SessionUser viewer = viewer(session);
+        String favorited = viewer == null ? "" : favoriteService.isFavorited(viewer.getId(), propertyId) ? "f1" : "f0";
+        return validator("p" + propertyId, version, viewer, favorited);
+    }
+
+    private Validator listValidator(PropertyVersionDao.Version version, HttpSession session) {
+        SessionUser viewer = viewer(session);
+        String favorites = viewer == null ? "" : "f" + Integer.toHexString(favoriteService.favoritesFingerprint(viewer.getId()));
+        return validator("l" + version.count(), version, viewer, favorites);
+    }
+
+    private Validator validator(String page, PropertyVersionDao.Version version, SessionUser viewer,
+                                String viewerState) {
+        LocalDateTime lastModified = version.lastModified();
+        long stamp = lastModified == null ? 0L : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        String who = viewer == null ? "a" : "u" + viewer.getId() + "v" + viewer.getVersion() + viewerState;
+        return new Validator("W/\"" + page + "-" + stamp + "-" + who + "-" + stylesheetVersion() + "\"",
+            lastModified == null ? -1L : stamp);
+    }
+
+    // "app-<md5>" for /css/app-<md5>.css, the name the pages currently link
+    private String stylesheetVersion() {
+        String url = resourceUrlProvider.getForLookupPath(STYLESHEET);
+        return url == null ? "" : url.substring(url.lastIndexOf('/') + 1, url.length() - ".css".length());
+    }
+
+    private static SessionUser viewer(HttpSession session) {
+        return session != null && session.getAttribute("loggedInUser") instanceof SessionUser user ? user : null;
+    }
+}
@@ -151,8 +151,8 @@ public class PropertyService {
     }
 
     // Count properties by owner
-    public Long countPropertiesByOwner(User owner) {
-        return propertyDao.countByOwner(owner);
+    public Long countPropertiesByOwner(Long ownerId) {
+        return propertyDao.countByOwner(ownerId);
     }
 
     // Count pending properties
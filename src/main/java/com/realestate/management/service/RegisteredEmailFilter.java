@@ -0,0 +1,112 @@
+package com.realestate.management.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Bloom filter of registered emails. A miss means the address is definitely new and the
+// database check can be skipped; a hit only means "maybe", so callers still ask the
+// database. Bits are set with CAS, so registrations need no lock. Until the startup scan
+// finishes every lookup reports "maybe".
+@Component
+public class RegisteredEmailFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(RegisteredEmailFilter.class);
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+    private final long expectedInsertions;
+    private final AtomicLong insertions = new AtomicLong();
+    private volatile boolean loaded;
+
+    public RegisteredEmailFilter(@Value("${registration.email-filter.expected-insertions:1000000}") long expectedInsertions,
+                                 @Value("${registration.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        long words = Math.max(1, (long) Math.ceil(
+            -expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)) / 64));
+        this.bits = new AtomicLongArray(Math.toIntExact(words));
+        this.bitCount = words * 64;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    // Lowercase and fold Gmail aliases: dots and +tags in the local part, googlemail.com
+    public static String normalize(String email) {
+        String value = email.trim().toLowerCase(Locale.ROOT);
+        int at = value.lastIndexOf('@');
+        if (at < 0) {
+            return value;
+        }
+        String local = value.substring(0, at);
+        String domain = value.substring(at + 1);
+        if (domain.equals("gmail.com") || domain.equals("googlemail.com")) {
+            int plus = local.indexOf('+');
+            if (plus >= 0) {
+                local = local.substring(0, plus);
+            }
+            return local.replace(".", "") + "@gmail.com";
+        }
+        return value;
+    }
+
+    public boolean mightContain(String email) {
+        if (!loaded) {
+            return true;
+        }
+        long hash = hash(normalize(email));
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void add(String email) {
+        long hash = hash(normalize(email));
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bitCount;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+        if (insertions.incrementAndGet() == expectedInsertions + 1) {
+            log.warn("Registered email filter passed its expected {} entries; false positives will rise until it is resized",
+                expectedInsertions);
+        }
+    }
+
+    // Called once the startup scan has added every existing email
+    public void markLoaded() {
+        loaded = true;
+        log.info("Registered email filter loaded with {} emails ({} KiB, {} hashes)",
+            insertions.get(), bitCount / 8 / 1024, hashCount);
+    }
+
+    // 64-bit FNV-1a followed by the murmur3 finalizer
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb93fe1a85ec2L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -2,25 +2,53 @@ package com.realestate.management.service;
 
 import com.realestate.management.dao.UserDao;
 import com.realestate.management.model.User;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class UserService {
 
+    // Returned by getSessionVersion for users that no longer exist or are deactivated
+    public static final long INVALID_SESSION = -1L;
+
     private final UserDao userDao;
+    private final PasswordHasher passwordHasher;
+    private final LoginThrottle loginThrottle;
+    private final RegisteredEmailFilter emailFilter;
+
+    // Short-lived cache of session versions so checking every request stays cheap;
+    // other nodes see a change once their entry expires
+    private final ConcurrentHashMap<Long, CachedVersion> sessionVersions = new ConcurrentHashMap<>();
+
+    @Value("${session.version-check-seconds:5}")
+    private long versionCheckSeconds;
 
     @Autowired
-    public UserService(UserDao userDao) {
+    public UserService(UserDao userDao, PasswordHasher passwordHasher, LoginThrottle loginThrottle,
+                       RegisteredEmailFilter emailFilter) {
         this.userDao = userDao;
+        this.passwordHasher = passwordHasher;
+        this.loginThrottle = loginThrottle;
+        this.emailFilter = emailFilter;
+    }
+
+    // Fill the registered email filter from a streaming scan of existing users
+    @PostConstruct
+    public void loadEmailFilter() {
+        userDao.forEachEmail(emailFilter::add);
+        emailFilter.markLoaded();
     }
 
     // Register a new user
     public User registerUser(User user) {
-        // Check if email already exists
-        if (userDao.emailExists(user.getEmail())) {
+        // Check if email already exists; the filter rules out most new addresses without a query
+        if (emailFilter.mightContain(user.getEmail()) && userDao.emailExists(user.getEmail())) {
             throw new RuntimeException("Email already registered");
         }
         
@@ -28,21 +56,35 @@ public class UserService {
         user.setCreatedAt(LocalDateTime.now());
         user.setUpdatedAt(LocalDateTime.now());
         user.setActive(true);
+        user.setPassword(passwordHasher.hash(user.getPassword()));
         
-        // Save user
-        userDao.save(user);
+        // Save user; the unique email constraint settles concurrent sign-ups
+        try {
+            userDao.save(user);
+        } catch (DataIntegrityViolationException e) {
+            if (userDao.emailExists(user.getEmail())) {
+                throw new RuntimeException("Email already registered");
+            }
+            throw e;
+        }
+        emailFilter.add(user.getEmail());
         return user;
     }
 
-    // Login user
-    public User loginUser(String email, String password) {
+    // Login user; plaintext or outdated hashes are upgraded on a successful login
+    public User loginUser(String email, String password, String remoteAddress) {
+        if (!loginThrottle.tryAcquire(email, remoteAddress)) {
+            throw new RuntimeException("Too many login attempts. Please wait a minute and try again.");
+        }
+        
         User user = userDao.findByEmail(email);
         
         if (user == null) {
             throw new RuntimeException("User not found");
         }
         
-        if (!user.getPassword().equals(password)) {
+        PasswordHasher.Verification verification = passwordHasher.verify(password, user.getPassword());
+        if (!verification.matches()) {
             throw new RuntimeException("Invalid password");
         }
         
@@ -50,6 +92,10 @@ public class UserService {
             throw new RuntimeException("Account is deactivated");
         }
         
+        if (verification.newHash() != null) {
+            userDao.updatePassword(user.getId(), user.getPassword(), verification.newHash());
+        }
+        
         return user;
     }
 
@@ -58,6 +104,11 @@ public class UserService {
         return userDao.findById(id);
     }
 
+    // Get user by ID as the database has it now, for decisions that must not lag behind other nodes
+    public User getCurrentUserById(Long id) {
+        return userDao.findByIdUncached(id);
+    }
+
     // Get user by email
     public User getUserByEmail(String email) {
         return userDao.findByEmail(email);
@@ -73,10 +124,12 @@ public class UserService {
         return userDao.findByRole(role);
     }
 
-    // Update user
+    // Update user (may change role, so existing sessions are refreshed)
     public User updateUser(User user) {
         user.setUpdatedAt(LocalDateTime.now());
+        user.bumpSessionVersion();
         userDao.update(user);
+        sessionVersions.remove(user.getId());
         return user;
     }
 
@@ -86,7 +139,9 @@ public class UserService {
         if (user != null) {
             user.setActive(false);
             user.setUpdatedAt(LocalDateTime.now());
+            user.bumpSessionVersion();
             userDao.update(user);
+            sessionVersions.remove(id);
         }
     }
 
@@ -96,12 +151,30 @@ public class UserService {
         if (user != null) {
             user.setActive(true);
             user.setUpdatedAt(LocalDateTime.now());
+            user.bumpSessionVersion();
             userDao.update(user);
+            sessionVersions.remove(id);
+        }
+    }
+
+    // Current session version of a user, or INVALID_SESSION if they are gone or deactivated
+    public long getSessionVersion(Long userId) {
+        long now = System.currentTimeMillis();
+        CachedVersion cached = sessionVersions.get(userId);
+        if (cached != null && cached.expiresAt > now) {
+            return cached.version;
         }
+        Object[] state = userDao.findSessionState(userId);
+        long version = state == null || !((Boolean) state[1]) ? INVALID_SESSION : ((Number) state[0]).longValue();
+        sessionVersions.put(userId, new CachedVersion(version, now + versionCheckSeconds * 1000));
+        return version;
     }
 
     // Check if email exists
     public boolean emailExists(String email) {
-        return userDao.emailExists(email);
+        return emailFilter.mightContain(email) && userDao.emailExists(email);
+    }
+
+    private record CachedVersion(long version, long expiresAt) {
     }
-}
\ No newline at end of file
+}
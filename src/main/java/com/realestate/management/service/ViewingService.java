@@ -1,12 +1,13 @@
 package com.realestate.management.service;
 
+import com.realestate.management.dao.ConstraintViolations;
 import com.realestate.management.dao.ViewingDao;
 import com.realestate.management.dao.PropertyDao;
 import com.realestate.management.dao.UserDao;
 import com.realestate.management.model.PropertyViewing;
 import com.realestate.management.model.Property;
-import com.realestate.management.model.User;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
@@ -18,27 +19,31 @@ public class ViewingService {
     private final ViewingDao viewingDao;
     private final PropertyDao propertyDao;
     private final UserDao userDao;
+    private final ViewingSlotIndex slotIndex;
+    private final OpenHouseService openHouseService;
+    private final PopularityService popularityService;
 
     @Autowired
-    public ViewingService(ViewingDao viewingDao, PropertyDao propertyDao, UserDao userDao) {
+    public ViewingService(ViewingDao viewingDao, PropertyDao propertyDao, UserDao userDao,
+                          ViewingSlotIndex slotIndex, OpenHouseService openHouseService,
+                          PopularityService popularityService) {
         this.viewingDao = viewingDao;
         this.propertyDao = propertyDao;
         this.userDao = userDao;
+        this.slotIndex = slotIndex;
+        this.openHouseService = openHouseService;
+        this.popularityService = popularityService;
     }
 
-    // Request a viewing
+    // Request a viewing. The insert is the duplicate check: the unique request key
+    // rejects a replayed submission and the unique active key a second open request,
+    // so concurrent retries cannot create duplicates.
     @Transactional
-    public PropertyViewing requestViewing(Long propertyId, Long userId, LocalDateTime viewingDate, String message) {
-        // Check if already has pending/approved request
-        if (viewingDao.hasViewingRequest(userId, propertyId)) {
-            throw new RuntimeException("You already have a viewing request for this property");
-        }
-
+    public PropertyViewing requestViewing(Long propertyId, Long userId, LocalDateTime viewingDate, String message,
+                                          String requestKey) {
         Property property = propertyDao.findById(propertyId);
-        User user = userDao.findById(userId);
-
-        if (property == null || user == null) {
-            throw new RuntimeException("Property or User not found");
+        if (property == null) {
+            throw new RuntimeException("Property not found");
         }
 
         // Check if viewing date is in the future
@@ -46,8 +51,41 @@ public class ViewingService {
             throw new RuntimeException("Viewing date must be in the future");
         }
 
-        PropertyViewing viewing = new PropertyViewing(property, user, viewingDate, message);
-        viewingDao.save(viewing);
+        // Bookings for one owner run one at a time across all nodes until this one commits
+        Long ownerId = property.getOwner().getId();
+        LocalDateTime end = viewingDate.plus(slotIndex.getSlotLength());
+        userDao.lockForScheduling(ownerId);
+
+        PropertyViewing viewing = new PropertyViewing(property, userDao.getReference(userId), viewingDate, message);
+        viewing.setRequestKey(requestKey);
+        try {
+            viewingDao.save(viewing);
+        } catch (DataIntegrityViolationException e) {
+            if (ConstraintViolations.isViolationOf(e, "uk_viewings_request_key")) {
+                throw new DuplicateSubmissionException("Your viewing request was already received.");
+            }
+            if (ConstraintViolations.isViolationOf(e, "uk_viewings_active")) {
+                throw new RuntimeException("You already have a viewing request for this property");
+            }
+            throw e;
+        }
+
+        // Bookings made on other nodes are not in this node's slot index; the database decides
+        if (viewingDao.hasBookingOverlap(ownerId, viewingDate, end, slotIndex.getSlotLength(), viewing.getId())) {
+            throw new RuntimeException("That time slot is no longer available. Please pick another time.");
+        }
+
+        // Reserve the slot in the owner's schedule; released again if the insert rolls back
+        String slotKey = ViewingSlotIndex.viewingKey(viewing.getId());
+        ViewingSlotIndex.Reservation reservation = slotIndex.reserve(ownerId, propertyId, slotKey, viewingDate, end);
+        if (reservation == ViewingSlotIndex.Reservation.OUTSIDE_AVAILABILITY) {
+            throw new RuntimeException("The owner is not available at that time. Please pick one of the open slots.");
+        }
+        if (reservation == ViewingSlotIndex.Reservation.CONFLICT) {
+            throw new RuntimeException("That time slot is no longer available. Please pick another time.");
+        }
+        TransactionCallbacks.afterRollback(() -> slotIndex.release(ownerId, slotKey));
+        TransactionCallbacks.afterCommit(() -> popularityService.viewingRequested(propertyId));
         return viewing;
     }
 
@@ -96,8 +134,10 @@ public class ViewingService {
     public void rejectViewing(Long viewingId) {
         PropertyViewing viewing = viewingDao.findById(viewingId);
         if (viewing != null) {
+            PropertyViewing.ViewingStatus previous = viewing.getStatus();
             viewing.setStatus(PropertyViewing.ViewingStatus.REJECTED);
             viewingDao.update(viewing);
+            releaseSlot(viewing, previous);
         }
     }
 
@@ -106,8 +146,10 @@ public class ViewingService {
     public void cancelViewing(Long viewingId) {
         PropertyViewing viewing = viewingDao.findById(viewingId);
         if (viewing != null) {
+            PropertyViewing.ViewingStatus previous = viewing.getStatus();
             viewing.setStatus(PropertyViewing.ViewingStatus.CANCELLED);
             viewingDao.update(viewing);
+            releaseSlot(viewing, previous);
         }
     }
 
@@ -137,4 +179,21 @@ public class ViewingService {
         PropertyViewing viewing = viewingDao.findById(viewingId);
         return viewing != null && viewing.getUser().getId().equals(userId);
     }
+
+    // Free the owner's time (or the open house seat) once a viewing no longer needs it; only
+    // a viewing that was still open holds any
+    private void releaseSlot(PropertyViewing viewing, PropertyViewing.ViewingStatus previous) {
+        if (viewing.getOpenHouse() != null) {
+            if (previous == PropertyViewing.ViewingStatus.APPROVED) {
+                openHouseService.releaseSeatAndPromote(viewing.getOpenHouse().getId());
+            }
+            return;
+        }
+        if (previous != PropertyViewing.ViewingStatus.PENDING && previous != PropertyViewing.ViewingStatus.APPROVED) {
+            return;
+        }
+        Long ownerId = viewing.getProperty().getOwner().getId();
+        String slotKey = ViewingSlotIndex.viewingKey(viewing.getId());
+        TransactionCallbacks.afterCommit(() -> slotIndex.release(ownerId, slotKey));
+    }
 }
\ No newline at end of file
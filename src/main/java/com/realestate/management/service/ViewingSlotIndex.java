@@ -0,0 +1,286 @@
+package com.realestate.management.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+// In-memory interval index of owner availability windows and booked viewing slots.
+// Each owner has their own schedule and lock, so requests for different owners never
+// contend, while two buyers racing for the same owner's time are serialized. It only knows
+// this node's bookings and those loaded at startup: bookings first take the owner's row lock
+// and check the database (ViewingDao.hasBookingOverlap), which covers every node.
+@Component
+public class ViewingSlotIndex {
+
+    public enum Reservation {
+        RESERVED,
+        OUTSIDE_AVAILABILITY,
+        CONFLICT
+    }
+
+    private static final Comparator<Interval> BY_START =
+        Comparator.comparing(Interval::start).thenComparing(Interval::key);
+
+    private final ConcurrentHashMap<Long, OwnerSchedule> schedules = new ConcurrentHashMap<>();
+    private final Duration slotLength;
+
+    public ViewingSlotIndex(@Value("${viewing.slot-minutes:30}") long slotMinutes) {
+        this.slotLength = Duration.ofMinutes(slotMinutes);
+    }
+
+    public Duration getSlotLength() {
+        return slotLength;
+    }
+
+    // Publish an availability window for a property
+    public void addWindow(Long ownerId, Long propertyId, Long windowId, LocalDateTime start, LocalDateTime end) {
+        OwnerSchedule schedule = schedule(ownerId);
+        schedule.lock.lock();
+        try {
+            schedule.windows.computeIfAbsent(propertyId, id -> new TreeSet<>(BY_START))
+                .add(new Interval(windowKey(windowId), propertyId, start, end));
+        } finally {
+            schedule.lock.unlock();
+        }
+    }
+
+    // Withdraw an availability window
+    public void removeWindow(Long ownerId, Long propertyId, Long windowId) {
+        OwnerSchedule schedule = schedules.get(ownerId);
+        if (schedule == null) {
+            return;
+        }
+        schedule.lock.lock();
+        try {
+            NavigableSet<Interval> windows = schedule.windows.get(propertyId);
+            if (windows != null) {
+                windows.removeIf(w -> w.key().equals(windowKey(windowId)));
+                if (windows.isEmpty()) {
+                    schedule.windows.remove(propertyId);
+                }
+            }
+        } finally {
+            schedule.lock.unlock();
+        }
+    }
+
+    // Atomically check availability and conflicts, then book the interval
+    public Reservation reserve(Long ownerId, Long propertyId, String key, LocalDateTime start, LocalDateTime end) {
+        return reserve(ownerId, propertyId, key, start, end, true);
+    }
+
+    // Book a block of the owner's time (e.g. an open house) that need not fall inside a window
+    public Reservation reserveBlock(Long ownerId, Long propertyId, String key, LocalDateTime start, LocalDateTime end) {
+        return reserve(ownerId, propertyId, key, start, end, false);
+    }
+
+    private Reservation reserve(Long ownerId, Long propertyId, String key, LocalDateTime start, LocalDateTime end,
+                                boolean requireWindow) {
+        OwnerSchedule schedule = schedule(ownerId);
+        schedule.lock.lock();
+        try {
+            NavigableSet<Interval> windows = schedule.windows.get(propertyId);
+            if (requireWindow && windows != null && !isCovered(windows, start, end)) {
+                return Reservation.OUTSIDE_AVAILABILITY;
+            }
+            Interval existing = schedule.bookingsByKey.get(key);
+            if (existing != null) {
+                // Re-reserving the same key replaces the previous booking
+                schedule.removeBooking(existing);
+            }
+            if (schedule.overlaps(start, end)) {
+                if (existing != null) {
+                    schedule.addBooking(existing);
+                }
+                return Reservation.CONFLICT;
+            }
+            schedule.addBooking(new Interval(key, propertyId, start, end));
+            return Reservation.RESERVED;
+        } finally {
+            schedule.lock.unlock();
+        }
+    }
+
+    // Book an interval without checks (used when loading existing bookings)
+    public void book(Long ownerId, Long propertyId, String key, LocalDateTime start, LocalDateTime end) {
+        OwnerSchedule schedule = schedule(ownerId);
+        schedule.lock.lock();
+        try {
+            Interval existing = schedule.bookingsByKey.get(key);
+            if (existing != null) {
+                schedule.removeBooking(existing);
+            }
+            schedule.addBooking(new Interval(key, propertyId, start, end));
+        } finally {
+            schedule.lock.unlock();
+        }
+    }
+
+    // Free a booked interval
+    public void release(Long ownerId, String key) {
+        OwnerSchedule schedule = schedules.get(ownerId);
+        if (schedule == null) {
+            return;
+        }
+        schedule.lock.lock();
+        try {
+            Interval existing = schedule.bookingsByKey.get(key);
+            if (existing != null) {
+                schedule.removeBooking(existing);
+            }
+        } finally {
+            schedule.lock.unlock();
+        }
+    }
+
+    // Check whether the owner published any availability for a property
+    public boolean hasWindows(Long ownerId, Long propertyId) {
+        OwnerSchedule schedule = schedules.get(ownerId);
+        if (schedule == null) {
+            return false;
+        }
+        schedule.lock.lock();
+        try {
+            return schedule.windows.containsKey(propertyId);
+        } finally {
+            schedule.lock.unlock();
+        }
+    }
+
+    // List free slot start times for a property between two points in time
+    public List<LocalDateTime> freeSlots(Long ownerId, Long propertyId, LocalDateTime from, LocalDateTime to) {
+        List<LocalDateTime> slots = new ArrayList<>();
+        OwnerSchedule schedule = schedules.get(ownerId);
+        if (schedule == null) {
+            return slots;
+        }
+        schedule.lock.lock();
+        try {
+            NavigableSet<Interval> windows = schedule.windows.get(propertyId);
+            if (windows == null) {
+                return slots;
+            }
+            for (Interval window : windows) {
+                if (!window.start().isBefore(to)) {
+                    break;
+                }
+                LocalDateTime slot = window.start();
+                while (slot.isBefore(from)) {
+                    slot = slot.plus(slotLength);
+                }
+                while (!slot.plus(slotLength).isAfter(window.end()) && slot.isBefore(to)) {
+                    if (!schedule.overlaps(slot, slot.plus(slotLength)) && !slots.contains(slot)) {
+                        slots.add(slot);
+                    }
+                    slot = slot.plus(slotLength);
+                }
+            }
+            slots.sort(Comparator.naturalOrder());
+            return slots;
+        } finally {
+            schedule.lock.unlock();
+        }
+    }
+
+    // Drop windows and bookings that ended before the cutoff
+    public void pruneBefore(LocalDateTime cutoff) {
+        for (OwnerSchedule schedule : schedules.values()) {
+            schedule.lock.lock();
+            try {
+                schedule.windows.values().forEach(windows -> windows.removeIf(w -> w.end().isBefore(cutoff)));
+                schedule.windows.values().removeIf(NavigableSet::isEmpty);
+                Iterator<Interval> it = schedule.bookings.iterator();
+                while (it.hasNext()) {
+                    Interval booking = it.next();
+                    if (!booking.start().isBefore(cutoff)) {
+                        break;
+                    }
+                    if (booking.end().isBefore(cutoff)) {
+                        it.remove();
+                        schedule.bookingsByKey.remove(booking.key());
+                    }
+                }
+            } finally {
+                schedule.lock.unlock();
+            }
+        }
+    }
+
+    public static String viewingKey(Long viewingId) {
+        return "viewing:" + viewingId;
+    }
+
+    public static String openHouseKey(Long openHouseId) {
+        return "open-house:" + openHouseId;
+    }
+
+    private static String windowKey(Long windowId) {
+        return "window:" + windowId;
+    }
+
+    private OwnerSchedule schedule(Long ownerId) {
+        return schedules.computeIfAbsent(ownerId, id -> new OwnerSchedule());
+    }
+
+    private static boolean isCovered(NavigableSet<Interval> windows, LocalDateTime start, LocalDateTime end) {
+        for (Interval window : windows) {
+            if (window.start().isAfter(start)) {
+                return false;
+            }
+            if (!window.end().isBefore(end)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Interval(String key, Long propertyId, LocalDateTime start, LocalDateTime end) {
+    }
+
+    private static final class OwnerSchedule {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<Long, NavigableSet<Interval>> windows = new HashMap<>();
+        private final NavigableSet<Interval> bookings = new TreeSet<>(BY_START);
+        private final Map<String, Interval> bookingsByKey = new HashMap<>();
+        private Duration longestBooking = Duration.ZERO;
+
+        private void addBooking(Interval booking) {
+            bookings.add(booking);
+            bookingsByKey.put(booking.key(), booking);
+            Duration length = Duration.between(booking.start(), booking.end());
+            if (length.compareTo(longestBooking) > 0) {
+                longestBooking = length;
+            }
+        }
+
+        private void removeBooking(Interval booking) {
+            bookings.remove(booking);
+            bookingsByKey.remove(booking.key());
+        }
+
+        // Only bookings starting within one longest-booking length before `start` can overlap
+        private boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            Interval from = new Interval("", null, start.minus(longestBooking), start);
+            for (Interval booking : bookings.tailSet(from, true)) {
+                if (!booking.start().isBefore(end)) {
+                    return false;
+                }
+                if (booking.end().isAfter(start)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.realestate.management.session;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpSession;
+import java.util.Collections;
+import java.util.Enumeration;
+
+// HttpSession view over SessionData loaded from a SessionStore. Tracks whether
+// attributes changed so unchanged sessions are not rewritten on every request.
+class ExternalSession implements HttpSession {
+
+    private final SessionData data;
+    private final ServletContext servletContext;
+    private final boolean isNew;
+    private boolean dirty;
+    private boolean invalidated;
+
+    ExternalSession(SessionData data, ServletContext servletContext, boolean isNew) {
+        this.data = data;
+        this.servletContext = servletContext;
+        this.isNew = isNew;
+        this.dirty = isNew;
+    }
+
+    SessionData getData() {
+        return data;
+    }
+
+    boolean isDirty() {
+        return dirty;
+    }
+
+    boolean isInvalidated() {
+        return invalidated;
+    }
+
+    @Override
+    public long getCreationTime() {
+        checkValid();
+        return data.getCreationTime();
+    }
+
+    @Override
+    public String getId() {
+        return data.getId();
+    }
+
+    @Override
+    public long getLastAccessedTime() {
+        checkValid();
+        return data.getLastAccessedTime();
+    }
+
+    @Override
+    public ServletContext getServletContext() {
+        return servletContext;
+    }
+
+    @Override
+    public void setMaxInactiveInterval(int interval) {
+        data.setMaxInactiveSeconds(interval);
+        dirty = true;
+    }
+
+    @Override
+    public int getMaxInactiveInterval() {
+        return data.getMaxInactiveSeconds();
+    }
+
+    @Override
+    public Object getAttribute(String name) {
+        checkValid();
+        return data.getAttributes().get(name);
+    }
+
+    @Override
+    public Enumeration<String> getAttributeNames() {
+        checkValid();
+        return Collections.enumeration(data.getAttributes().keySet());
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        checkValid();
+        if (value == null) {
+            removeAttribute(name);
+            return;
+        }
+        data.getAttributes().put(name, value);
+        dirty = true;
+    }
+
+    @Override
+    public void removeAttribute(String name) {
+        checkValid();
+        if (data.getAttributes().remove(name) != null) {
+            dirty = true;
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        checkValid();
+        invalidated = true;
+    }
+
+    @Override
+    public boolean isNew() {
+        checkValid();
+        return isNew;
+    }
+
+    private void checkValid() {
+        if (invalidated) {
+            throw new IllegalStateException("Session already invalidated");
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.realestate.management.session;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.HashMap;
+
+// Replaces container sessions with sessions kept in a SessionStore. The session is
+// loaded lazily on first getSession call and written back after the request only when
+// its attributes changed, or when its last access time needs refreshing.
+public class ExternalSessionFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(ExternalSessionFilter.class);
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final SessionStore store;
+    private final String cookieName;
+    private final int maxInactiveSeconds;
+    private final long touchIntervalMillis;
+
+    public ExternalSessionFilter(SessionStore store, String cookieName, int maxInactiveSeconds,
+                                 long touchIntervalMillis) {
+        this.store = store;
+        this.cookieName = cookieName;
+        this.maxInactiveSeconds = maxInactiveSeconds;
+        this.touchIntervalMillis = touchIntervalMillis;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SessionRequest wrapped = new SessionRequest(request, response);
+        try {
+            chain.doFilter(wrapped, response);
+        } finally {
+            wrapped.commit();
+        }
+    }
+
+    private static String newSessionId() {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private final class SessionRequest extends HttpServletRequestWrapper {
+
+        private final HttpServletResponse response;
+        private final String requestedSessionId;
+        private ExternalSession session;
+        private boolean loaded;
+        private String previousId;
+
+        SessionRequest(HttpServletRequest request, HttpServletResponse response) {
+            super(request);
+            this.response = response;
+            this.requestedSessionId = readCookie(request);
+        }
+
+        @Override
+        public HttpSession getSession(boolean create) {
+            if (session != null && !session.isInvalidated()) {
+                return session;
+            }
+            if (!loaded && session == null) {
+                loaded = true;
+                if (requestedSessionId != null) {
+                    SessionData data = load(requestedSessionId);
+                    if (data != null) {
+                        session = new ExternalSession(data, getServletContext(), false);
+                        return session;
+                    }
+                }
+            }
+            if (!create) {
+                return null;
+            }
+            long now = System.currentTimeMillis();
+            SessionData data = new SessionData(newSessionId(), now, now, maxInactiveSeconds, new HashMap<>());
+            if (session != null && session.isInvalidated()) {
+                previousId = previousId == null ? session.getId() : previousId;
+            }
+            session = new ExternalSession(data, getServletContext(), true);
+            writeCookie(data.getId());
+            return session;
+        }
+
+        @Override
+        public HttpSession getSession() {
+            return getSession(true);
+        }
+
+        // Issue a new id for the same session data, e.g. on login against fixation
+        @Override
+        public String changeSessionId() {
+            HttpSession current = getSession(false);
+            if (current == null) {
+                throw new IllegalStateException("No session to change the id of");
+            }
+            SessionData old = session.getData();
+            SessionData renamed = new SessionData(newSessionId(), old.getCreationTime(), old.getLastAccessedTime(),
+                old.getMaxInactiveSeconds(), old.getAttributes());
+            previousId = previousId == null ? old.getId() : previousId;
+            session = new ExternalSession(renamed, getServletContext(), true);
+            writeCookie(renamed.getId());
+            return renamed.getId();
+        }
+
+        @Override
+        public String getRequestedSessionId() {
+            return requestedSessionId;
+        }
+
+        @Override
+        public boolean isRequestedSessionIdValid() {
+            HttpSession current = getSession(false);
+            return current != null && current.getId().equals(requestedSessionId);
+        }
+
+        @Override
+        public boolean isRequestedSessionIdFromCookie() {
+            return requestedSessionId != null;
+        }
+
+        @Override
+        public boolean isRequestedSessionIdFromURL() {
+            return false;
+        }
+
+        // Write the session back (or remove it) once the request is done
+        void commit() {
+            try {
+                if (previousId != null) {
+                    store.delete(previousId);
+                }
+                if (session == null) {
+                    return;
+                }
+                SessionData data = session.getData();
+                if (session.isInvalidated()) {
+                    store.delete(data.getId());
+                    if (!response.isCommitted()) {
+                        writeCookie("");
+                    }
+                    return;
+                }
+                long now = System.currentTimeMillis();
+                long sinceLastAccess = now - data.getLastAccessedTime();
+                data.setLastAccessedTime(now);
+                if (session.isDirty()) {
+                    store.save(data);
+                } else if (sinceLastAccess >= touchIntervalMillis) {
+                    store.touch(data);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Failed to store session", e);
+            }
+        }
+
+        private SessionData load(String id) {
+            try {
+                return store.load(id);
+            } catch (RuntimeException e) {
+                log.warn("Discarding unreadable session", e);
+                return null;
+            }
+        }
+
+        // Session cookie; an empty value clears it
+        private void writeCookie(String value) {
+            String contextPath = getContextPath();
+            ResponseCookie cookie = ResponseCookie.from(cookieName, value)
+                .path(contextPath == null || contextPath.isEmpty() ? "/" : contextPath)
+                .httpOnly(true)
+                .secure(isSecure())
+                .sameSite("Lax")
+                .maxAge(value.isEmpty() ? 0 : -1)
+                .build();
+            response.addHeader("Set-Cookie", cookie.toString());
+        }
+
+        private String readCookie(HttpServletRequest request) {
+            Cookie[] cookies = request.getCookies();
+            if (cookies == null) {
+                return null;
+            }
+            for (Cookie cookie : cookies) {
+                if (cookieName.equals(cookie.getName()) && !cookie.getValue().isEmpty()) {
+                    return cookie.getValue();
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.realestate.management.session;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Set;
+
+// Sessions as one file each in a local (or shared network) directory. Stand-in for
+// the JDBC store in development; sessions survive restarts of a single node.
+public class FileSessionStore implements SessionStore {
+
+    private static final String SUFFIX = ".session";
+    // Session files are credentials; other local users must not read or plant them
+    private static final Set<PosixFilePermission> OWNER_ONLY = PosixFilePermissions.fromString("rwx------");
+
+    private final Path directory;
+
+    public FileSessionStore(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+            if (Files.getFileStore(directory).supportsFileAttributeView("posix")) {
+                Files.setPosixFilePermissions(directory, OWNER_ONLY);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create session directory " + directory, e);
+        }
+    }
+
+    @Override
+    public SessionData load(String id) {
+        Path file = fileFor(id);
+        if (file == null) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file)))) {
+            long creationTime = in.readLong();
+            long lastAccessedTime = in.readLong();
+            int maxInactiveSeconds = in.readInt();
+            byte[] attributes = in.readAllBytes();
+            SessionData session = new SessionData(id, creationTime, lastAccessedTime, maxInactiveSeconds,
+                SessionData.deserializeAttributes(attributes));
+            return session.isExpired(System.currentTimeMillis()) ? null : session;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read session " + id, e);
+        }
+    }
+
+    @Override
+    public void save(SessionData session) {
+        Path file = fileFor(session.getId());
+        if (file == null) {
+            return;
+        }
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeLong(session.getCreationTime());
+                out.writeLong(session.getLastAccessedTime());
+                out.writeInt(session.getMaxInactiveSeconds());
+                out.write(session.serializeAttributes());
+            }
+            // Write to a temp file and rename, so readers never see a half-written session
+            Path temp = Files.createTempFile(directory, session.getId(), ".tmp");
+            Files.write(temp, bytes.toByteArray());
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write session " + session.getId(), e);
+        }
+    }
+
+    @Override
+    public void touch(SessionData session) {
+        save(session);
+    }
+
+    @Override
+    public void delete(String id) {
+        Path file = fileFor(id);
+        if (file != null) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not delete session " + id, e);
+            }
+        }
+    }
+
+    @Override
+    public int deleteExpired(long now) {
+        int deleted = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                SessionData session;
+                try {
+                    session = load(name.substring(0, name.length() - SUFFIX.length()));
+                } catch (RuntimeException e) {
+                    // Unreadable, e.g. written by an incompatible version
+                    session = null;
+                }
+                if (session == null) {
+                    Files.deleteIfExists(file);
+                    deleted++;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not clean session directory " + directory, e);
+        }
+        return deleted;
+    }
+
+    // Session ids come from cookies; anything but our own id alphabet is rejected
+    private Path fileFor(String id) {
+        if (!id.matches("[A-Za-z0-9_-]{1,64}")) {
+            return null;
+        }
+        return directory.resolve(id + SUFFIX);
+    }
+}
@@ -0,0 +1,75 @@
+package com.realestate.management.session;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.util.List;
+
+// Sessions in a shared database table, so any node can serve any request
+public class JdbcSessionStore implements SessionStore {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcSessionStore(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Create the sessions table if it is missing
+    public void initialize() {
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS http_sessions ("
+            + "session_id VARCHAR(64) NOT NULL PRIMARY KEY, "
+            + "creation_time BIGINT NOT NULL, "
+            + "last_accessed_time BIGINT NOT NULL, "
+            + "max_inactive_seconds INT NOT NULL, "
+            + "expiry_time BIGINT NOT NULL, "
+            + "attributes LONGBLOB, "
+            + "INDEX idx_http_sessions_expiry (expiry_time))");
+    }
+
+    @Override
+    public SessionData load(String id) {
+        List<SessionData> rows = jdbcTemplate.query(
+            "SELECT session_id, creation_time, last_accessed_time, max_inactive_seconds, attributes "
+                + "FROM http_sessions WHERE session_id = ? AND expiry_time > ?",
+            (rs, rowNum) -> new SessionData(
+                rs.getString("session_id"),
+                rs.getLong("creation_time"),
+                rs.getLong("last_accessed_time"),
+                rs.getInt("max_inactive_seconds"),
+                SessionData.deserializeAttributes(rs.getBytes("attributes"))),
+            id, System.currentTimeMillis());
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    @Override
+    public void save(SessionData session) {
+        byte[] attributes = session.serializeAttributes();
+        int updated = jdbcTemplate.update(
+            "UPDATE http_sessions SET last_accessed_time = ?, max_inactive_seconds = ?, expiry_time = ?, attributes = ? "
+                + "WHERE session_id = ?",
+            session.getLastAccessedTime(), session.getMaxInactiveSeconds(), session.getExpiryTime(), attributes,
+            session.getId());
+        if (updated == 0) {
+            jdbcTemplate.update(
+                "INSERT INTO http_sessions (session_id, creation_time, last_accessed_time, max_inactive_seconds, expiry_time, attributes) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)",
+                session.getId(), session.getCreationTime(), session.getLastAccessedTime(),
+                session.getMaxInactiveSeconds(), session.getExpiryTime(), attributes);
+        }
+    }
+
+    @Override
+    public void touch(SessionData session) {
+        jdbcTemplate.update(
+            "UPDATE http_sessions SET last_accessed_time = ?, expiry_time = ? WHERE session_id = ?",
+            session.getLastAccessedTime(), session.getExpiryTime(), session.getId());
+    }
+
+    @Override
+    public void delete(String id) {
+        jdbcTemplate.update("DELETE FROM http_sessions WHERE session_id = ?", id);
+    }
+
+    @Override
+    public int deleteExpired(long now) {
+        return jdbcTemplate.update("DELETE FROM http_sessions WHERE expiry_time <= ?", now);
+    }
+}
@@ -0,0 +1,106 @@
+package com.realestate.management.session;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+// Stored state of one HTTP session
+public class SessionData {
+
+    // Only the classes sessions actually hold may be read back: the logged-in user, boxed ids and
+    // strings, and Spring's flash maps (a list of FlashMap with their target parameters), plus the
+    // entry and element arrays those collections read. A new kind of session attribute has to be
+    // added here, or its sessions fail to load.
+    private static final ObjectInputFilter ATTRIBUTE_FILTER = ObjectInputFilter.Config.createFilter(
+        "maxdepth=20;maxbytes=1048576;maxarray=10000"
+            + ";java.util.HashMap;java.util.LinkedHashMap;java.util.ArrayList;java.util.concurrent.CopyOnWriteArrayList"
+            + ";java.util.Map$Entry;java.lang.Object;java.lang.String;java.lang.Long;java.lang.Number;java.lang.Enum"
+            + ";com.realestate.management.model.SessionUser;com.realestate.management.model.User$UserRole"
+            + ";org.springframework.web.servlet.FlashMap;org.springframework.util.LinkedMultiValueMap"
+            + ";org.springframework.util.MultiValueMapAdapter;!*");
+
+    private final String id;
+    private final long creationTime;
+    private long lastAccessedTime;
+    private int maxInactiveSeconds;
+    private final Map<String, Object> attributes;
+
+    public SessionData(String id, long creationTime, long lastAccessedTime, int maxInactiveSeconds,
+                       Map<String, Object> attributes) {
+        this.id = id;
+        this.creationTime = creationTime;
+        this.lastAccessedTime = lastAccessedTime;
+        this.maxInactiveSeconds = maxInactiveSeconds;
+        this.attributes = attributes;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public long getCreationTime() {
+        return creationTime;
+    }
+
+    public long getLastAccessedTime() {
+        return lastAccessedTime;
+    }
+
+    public void setLastAccessedTime(long lastAccessedTime) {
+        this.lastAccessedTime = lastAccessedTime;
+    }
+
+    public int getMaxInactiveSeconds() {
+        return maxInactiveSeconds;
+    }
+
+    public void setMaxInactiveSeconds(int maxInactiveSeconds) {
+        this.maxInactiveSeconds = maxInactiveSeconds;
+    }
+
+    public Map<String, Object> getAttributes() {
+        return attributes;
+    }
+
+    public long getExpiryTime() {
+        return maxInactiveSeconds < 0 ? Long.MAX_VALUE : lastAccessedTime + maxInactiveSeconds * 1000L;
+    }
+
+    public boolean isExpired(long now) {
+        return getExpiryTime() <= now;
+    }
+
+    // Serialize the attribute map; attributes that are not Serializable are dropped
+    public byte[] serializeAttributes() {
+        HashMap<String, Object> serializable = new HashMap<>();
+        attributes.forEach((name, value) -> {
+            if (value instanceof Serializable) {
+                serializable.put(name, value);
+            }
+        });
+        try (ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+             ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(serializable);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize session " + id, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> deserializeAttributes(byte[] data) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            in.setObjectInputFilter(ATTRIBUTE_FILTER);
+            return (Map<String, Object>) in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Could not deserialize session attributes", e);
+        }
+    }
+}
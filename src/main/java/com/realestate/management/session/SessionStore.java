@@ -0,0 +1,19 @@
+package com.realestate.management.session;
+
+// Storage for HTTP sessions shared by all application nodes
+public interface SessionStore {
+
+    // Load a session, or null if it does not exist or has expired
+    SessionData load(String id);
+
+    // Create or replace a session
+    void save(SessionData session);
+
+    // Update only the last access time of an unchanged session
+    void touch(SessionData session);
+
+    void delete(String id);
+
+    // Remove sessions that expired before the given time; returns how many were removed
+    int deleteExpired(long now);
+}
@@ -0,0 +1,82 @@
+package com.realestate.management.session;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import java.nio.file.Path;
+import java.time.Duration;
+
+// Externalized HTTP sessions. session.store selects the backend:
+//   jdbc      - shared http_sessions table, for running several nodes
+//   file      - one file per session under session.file-dir, a local stand-in
+//   container - plain servlet container sessions (filter not installed)
+@Configuration
+@ConditionalOnExpression("'${session.store:jdbc}' != 'container'")
+public class SessionStoreConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionStoreConfig.class);
+
+    @Bean
+    public SessionStore sessionStore(@Value("${session.store:jdbc}") String type,
+                                     @Value("${session.file-dir:${user.home}/.realestate/sessions}") String fileDir,
+                                     JdbcTemplate jdbcTemplate) {
+        switch (type) {
+            case "jdbc":
+                JdbcSessionStore jdbcStore = new JdbcSessionStore(jdbcTemplate);
+                jdbcStore.initialize();
+                return jdbcStore;
+            case "file":
+                return new FileSessionStore(Path.of(fileDir));
+            default:
+                throw new IllegalStateException("Unknown session.store '" + type + "' (expected jdbc, file or container)");
+        }
+    }
+
+    // Runs ahead of every other filter so all of them see the external session
+    @Bean
+    public FilterRegistrationBean<ExternalSessionFilter> externalSessionFilter(
+            SessionStore sessionStore,
+            @Value("${session.cookie-name:SESSION}") String cookieName,
+            @Value("${server.servlet.session.timeout:30m}") Duration timeout,
+            @Value("${session.touch-interval-seconds:60}") long touchIntervalSeconds) {
+        ExternalSessionFilter filter = new ExternalSessionFilter(sessionStore, cookieName,
+            (int) timeout.toSeconds(), touchIntervalSeconds * 1000);
+        FilterRegistrationBean<ExternalSessionFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 50);
+        return registration;
+    }
+
+    @Bean
+    public ExpiredSessionCleaner expiredSessionCleaner(SessionStore sessionStore) {
+        return new ExpiredSessionCleaner(sessionStore);
+    }
+
+    // Periodically removes expired sessions from the store
+    public static class ExpiredSessionCleaner {
+
+        private final SessionStore sessionStore;
+
+        public ExpiredSessionCleaner(SessionStore sessionStore) {
+            this.sessionStore = sessionStore;
+        }
+
+        @Scheduled(fixedDelayString = "${session.cleanup-ms:300000}")
+        public void cleanup() {
+            try {
+                int removed = sessionStore.deleteExpired(System.currentTimeMillis());
+                if (removed > 0) {
+                    log.debug("Removed {} expired sessions", removed);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Expired session cleanup failed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.realestate.management.session;
+
+import com.realestate.management.model.SessionUser;
+import com.realestate.management.model.User;
+import com.realestate.management.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.springframework.web.servlet.HandlerInterceptor;
+import java.io.IOException;
+
+// Compares the session principal's version with the user's current one, so a role
+// change or deactivation made on any node applies to every session of that user
+public class SessionVersionInterceptor implements HandlerInterceptor {
+
+    private final UserService userService;
+
+    public SessionVersionInterceptor(UserService userService) {
+        this.userService = userService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        HttpSession session = request.getSession(false);
+        if (session == null || !(session.getAttribute("loggedInUser") instanceof SessionUser principal)) {
+            return true;
+        }
+
+        long currentVersion = userService.getSessionVersion(principal.getId());
+        if (currentVersion == principal.getVersion()) {
+            return true;
+        }
+
+        // Not from the second-level cache: this node's copy may predate the change that bumped the version
+        User user = currentVersion == UserService.INVALID_SESSION ? null : userService.getCurrentUserById(principal.getId());
+        if (user == null || !user.isActive()) {
+            // Deactivated or deleted: end the session
+            session.invalidate();
+            response.sendRedirect(request.getContextPath() + "/auth/login");
+            return false;
+        }
+
+        // Role or profile changed: refresh the principal in place
+        session.setAttribute("loggedInUser", SessionUser.from(user));
+        session.setAttribute("userRole", user.getRole().toString());
+        return true;
+    }
+}
@@ -0,0 +1,52 @@
+package com.realestate.management.warmup;
+
+import com.realestate.management.metrics.MetricsRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// Whether this instance should get traffic from the load balancer, as answered by GET /ready.
+// It starts out not ready, becomes ready once the warm-up has run, and stops being ready as soon
+// as shutdown begins so the balancer drains it before the server closes.
+@Component
+public class Readiness {
+
+    public enum State { STARTING, WARMING_UP, READY, STOPPING }
+
+    private volatile State state = State.STARTING;
+
+    @Autowired
+    public Readiness(MetricsRegistry metricsRegistry) {
+        metricsRegistry.gauge("app_ready", "1 when the instance accepts traffic, 0 while starting, warming up or stopping",
+            MetricsRegistry.Type.GAUGE, () -> isReady() ? 1 : 0);
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public boolean isReady() {
+        return state == State.READY;
+    }
+
+    void warmingUp() {
+        moveTo(State.WARMING_UP);
+    }
+
+    void ready() {
+        moveTo(State.READY);
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public synchronized void stopping() {
+        state = State.STOPPING;
+    }
+
+    // Never back out of STOPPING: a warm-up that finishes during shutdown must not reopen the gate
+    private synchronized void moveTo(State next) {
+        if (state != State.STOPPING) {
+            state = next;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.realestate.management.warmup;
+
+import com.realestate.management.metrics.MetricsRegistry;
+import com.realestate.management.model.Property;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Warms a fresh instance before the load balancer sends it traffic. Once the application is
+// ready it opens the pool's connections, then replays anonymous page and API requests against
+// its own HTTP port for a number of rounds: the list page, searches over the busiest cities with
+// each filter shape, details of recent listings, home, the login and register forms and the JSON
+// API. That compiles the hot paths and fills the query plan, second-level and template caches
+// on requests nobody waits for. Readiness flips when the rounds are done or the time limit is
+// reached, whichever is first; a warm-up that fails is logged and does not keep the gate shut.
+@Component
+public class WarmupRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(WarmupRunner.class);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final Readiness readiness;
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final int rounds;
+    private final int concurrency;
+    private final int connections;
+    private final int sampleSize;
+    private final Duration maxDuration;
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong failureCount = new AtomicLong();
+    private volatile long durationNanos;
+    private volatile Thread runner;
+
+    @Autowired
+    public WarmupRunner(Readiness readiness, DataSource dataSource, JdbcTemplate jdbcTemplate,
+                        MetricsRegistry metricsRegistry,
+                        @Value("${warmup.enabled:false}") boolean enabled,
+                        @Value("${warmup.rounds:40}") int rounds,
+                        @Value("${warmup.concurrency:4}") int concurrency,
+                        @Value("${warmup.connections:${spring.datasource.hikari.maximum-pool-size:10}}") int connections,
+                        @Value("${warmup.sample-size:20}") int sampleSize,
+                        @Value("${warmup.max-duration:2m}") Duration maxDuration) {
+        this.readiness = readiness;
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.rounds = rounds;
+        this.concurrency = concurrency;
+        this.connections = connections;
+        this.sampleSize = sampleSize;
+        this.maxDuration = maxDuration;
+        MetricsRegistry.Type counter = MetricsRegistry.Type.COUNTER;
+        metricsRegistry.gauge("warmup_requests_total", "Requests replayed by the start-up warm-up", counter,
+            requestCount::get);
+        metricsRegistry.gauge("warmup_failures_total", "Warm-up requests that failed or answered with an error", counter,
+            failureCount::get);
+        metricsRegistry.gauge("warmup_duration_seconds", "How long the start-up warm-up took", MetricsRegistry.Type.GAUGE,
+            () -> durationNanos / 1e9);
+    }
+
+    // Runs on its own thread so startup finishes; /ready answers 503 until it is done
+    @EventListener(ApplicationReadyEvent.class)
+    public void start(ApplicationReadyEvent event) {
+        if (!enabled || !(event.getApplicationContext() instanceof WebServerApplicationContext web)) {
+            readiness.ready();
+            return;
+        }
+        int port = web.getWebServer().getPort();
+        readiness.warmingUp();
+        Thread thread = new Thread(() -> run(port), "warmup");
+        thread.setDaemon(true);
+        runner = thread;
+        thread.start();
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void stop() {
+        Thread thread = runner;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void run(int port) {
+        long startedAt = System.nanoTime();
+        try {
+            try {
+                primeConnections();
+            } catch (SQLException e) {
+                log.warn("Could not open all {} pool connections during warm-up", connections, e);
+            }
+            replay(port, startedAt + maxDuration.toNanos());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            log.warn("Warm-up stopped early; taking traffic anyway", e);
+        } finally {
+            durationNanos = System.nanoTime() - startedAt;
+            runner = null;
+        }
+        log.info("Warm-up replayed {} requests ({} failed) in {} ms; ready for traffic",
+            requestCount.get(), failureCount.get(), TimeUnit.NANOSECONDS.toMillis(durationNanos));
+        readiness.ready();
+    }
+
+    // Holds the connections all at once, so the pool has to open every one of them now
+    private void primeConnections() throws SQLException {
+        List<Connection> held = new ArrayList<>();
+        try {
+            for (int i = 0; i < connections; i++) {
+                Connection connection = dataSource.getConnection();
+                held.add(connection);
+                connection.isValid(5);
+            }
+        } finally {
+            for (Connection connection : held) {
+                connection.close();
+            }
+        }
+    }
+
+    private void replay(int port, long deadline) throws InterruptedException {
+        List<String> paths = paths();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "warmup-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            AtomicInteger worker = new AtomicInteger();
+            for (int i = 0; i < concurrency; i++) {
+                running.add(workers.submit(() -> {
+                    // Each worker is one anonymous visitor with its own session, in its own order
+                    HttpClient client = HttpClient.newBuilder().cookieHandler(new CookieManager())
+                        .followRedirects(HttpClient.Redirect.NEVER).connectTimeout(Duration.ofSeconds(5)).build();
+                    List<String> order = new ArrayList<>(paths);
+                    Random random = new Random(worker.incrementAndGet());
+                    for (int round = 0; round < rounds && System.nanoTime() < deadline; round++) {
+                        Collections.shuffle(order, random);
+                        for (String path : order) {
+                            if (Thread.currentThread().isInterrupted() || System.nanoTime() >= deadline) {
+                                return;
+                            }
+                            send(client, port, path);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : running) {
+                try {
+                    future.get(Math.max(0, deadline - System.nanoTime()) + REQUEST_TIMEOUT.toNanos(), TimeUnit.NANOSECONDS);
+                } catch (ExecutionException | TimeoutException e) {
+                    log.debug("Warm-up worker ended early", e);
+                }
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private void send(HttpClient client, int port, String path) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+            .header("User-Agent", "warmup").timeout(REQUEST_TIMEOUT).build();
+        requestCount.incrementAndGet();
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status >= 400) {
+                failureCount.incrementAndGet();
+                log.debug("Warm-up request {} answered {}", path, status);
+            }
+        } catch (IOException e) {
+            failureCount.incrementAndGet();
+            log.debug("Warm-up request {} failed", path, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // What a visitor does most, over listings and cities that exist in this database
+    private List<String> paths() {
+        String approved = Property.PropertyStatus.APPROVED.name();
+        List<Long> ids = jdbcTemplate.queryForList(
+            "SELECT id FROM properties WHERE status = ? ORDER BY id DESC LIMIT ?", Long.class, approved, sampleSize);
+        List<String> cities = jdbcTemplate.queryForList(
+            "SELECT city FROM properties WHERE status = ? GROUP BY city ORDER BY COUNT(*) DESC LIMIT ?",
+            String.class, approved, Math.max(1, sampleSize / 4));
+
+        List<String> paths = new ArrayList<>(List.of("/", "/properties", "/auth/login", "/auth/register",
+            "/properties/search", "/api/v1/properties", "/api/v1/properties?limit=10"));
+        for (String city : cities) {
+            String encoded = URLEncoder.encode(city, StandardCharsets.UTF_8);
+            paths.add("/properties/search?city=" + encoded);
+            paths.add("/properties/search?city=" + encoded + "&bedrooms=2");
+            paths.add("/api/v1/properties/search?city=" + encoded);
+        }
+        for (Property.PropertyType type : Property.PropertyType.values()) {
+            paths.add("/properties/search?propertyType=" + type.name());
+        }
+        for (Property.ListingType type : Property.ListingType.values()) {
+            paths.add("/properties/search?listingType=" + type.name() + "&minPrice=100000&maxPrice=900000");
+            paths.add("/api/v1/properties/search?listingType=" + type.name() + "&maxPrice=900000");
+        }
+        for (Long id : ids) {
+            paths.add("/properties/" + id);
+            paths.add("/api/v1/properties/" + id);
+        }
+        return paths;
+    }
+}
@@ -3,7 +3,7 @@ package com.realestate.management;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "calendar.feed-secret=context-test-only-0123456789abcdefghijklmnop")
 class ManagementApplicationTests {
 
 	@Test
@@ -0,0 +1,228 @@
+package com.realestate.management.controller;
+
+import com.realestate.management.dao.UserDao;
+import com.realestate.management.dataset.SyntheticDataset;
+import com.realestate.management.metrics.QueryShapeSummary;
+import com.realestate.management.metrics.QueryStatistics;
+import com.realestate.management.model.SessionUser;
+import com.realestate.management.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import javax.sql.DataSource;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+// Runs the pages and actions of the main controllers against a seeded database and fails when
+// a request issues more SQL statements or allocates more memory than its budget. An N+1 shows
+// up here as hundreds of statements, because the actors are the busiest owner and favoriter
+// of the dataset. Each endpoint is requested once to warm templates and classes, then measured
+// with the second-level and query caches emptied, so the statement count is the cold-cache one.
+// Statements are counted at the data source, so JdbcTemplate writes count as well as Hibernate's.
+//
+// Each budget is the measured value plus a margin: two statements, and half again the allocation
+// rounded up to 256 KB. Measurements are logged for every endpoint; when a change legitimately
+// moves one, re-run this class and set the budget from the logged value the same way.
+//
+// Needs the local MySQL from application.properties; the schema comes from application-budget.properties.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("budget")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointBudgetTests {
+
+    private static final Logger log = LoggerFactory.getLogger(EndpointBudgetTests.class);
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{(\\w+)}");
+
+    private enum Actor { ANONYMOUS, BUYER, OWNER, ADMIN }
+
+    // Path placeholders resolve to a different row for the warm-up and the measured request,
+    // so actions that change state run against fresh data both times. Pages must render (200);
+    // actions must redirect to redirectTo, which takes the same placeholders, without an error.
+    private record Budget(String method, String path, String redirectTo, Actor actor, int statements, long allocatedKb) {
+
+        Budget(String method, String path, Actor actor, int statements, long allocatedKb) {
+            this(method, path, null, actor, statements, allocatedKb);
+        }
+
+        @Override
+        public String toString() {
+            return method + " " + path + " as " + actor.name().toLowerCase();
+        }
+    }
+
+    private static Stream<Budget> budgets() {
+        return Stream.of(
+            // PropertyController
+            new Budget("GET", "/properties", Actor.ANONYMOUS, 3, 12544),
+            new Budget("GET", "/properties/search?city=Austin", Actor.ANONYMOUS, 3, 4096),
+            new Budget("GET", "/properties/{listing}", Actor.BUYER, 4, 1024),
+            new Budget("GET", "/properties/new", Actor.OWNER, 2, 1024),
+            new Budget("GET", "/properties/my-properties", Actor.OWNER, 4, 56320),
+            new Budget("GET", "/properties/{own}/edit", Actor.OWNER, 3, 1024),
+            // FavoriteController
+            new Budget("GET", "/favorites", Actor.BUYER, 4, 4864),
+            new Budget("POST", "/favorites/add/{listing}", "/properties/{listing}", Actor.BUYER, 3, 256),
+            new Budget("POST", "/favorites/remove/{favorite}", "/favorites", Actor.BUYER, 3, 256),
+            // ApplicationController
+            new Budget("GET", "/applications/submit/{listing}", Actor.BUYER, 3, 1024),
+            new Budget("GET", "/applications/my-applications", Actor.BUYER, 4, 1536),
+            new Budget("GET", "/applications/received", Actor.OWNER, 5, 34048),
+            // ViewingController
+            new Budget("GET", "/viewings/request/{listing}", Actor.BUYER, 4, 768),
+            new Budget("GET", "/viewings/my-viewings", Actor.BUYER, 4, 2304),
+            new Budget("GET", "/viewings/requests", Actor.OWNER, 5, 25600),
+            new Budget("GET", "/viewings/availability/{own}", Actor.OWNER, 5, 768),
+            // DashboardController
+            new Budget("GET", "/dashboard", Actor.BUYER, 5, 768),
+            new Budget("GET", "/dashboard", Actor.OWNER, 5, 512),
+            // AdminController
+            new Budget("GET", "/admin/dashboard", Actor.ADMIN, 5, 12288),
+            new Budget("GET", "/admin/properties/pending", Actor.ADMIN, 3, 11008),
+            new Budget("GET", "/admin/users", Actor.ADMIN, 3, 34304),
+            new Budget("POST", "/admin/properties/{pending}/approve", "/admin/dashboard", Actor.ADMIN, 4, 256));
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserDao userDao;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private QueryStatistics queryStatistics;
+
+    private final Map<Actor, User> actors = new HashMap<>();
+    private final Map<String, List<Long>> rows = new HashMap<>();
+
+    @BeforeAll
+    void seed() throws Exception {
+        // No one logs in, so the password column only has to be filled
+        SyntheticDataset.Settings settings = new SyntheticDataset.Settings(7, 200, 400, 2000, 400, 400,
+            0.05, 500, "budget", "unused");
+        SyntheticDataset.Summary summary;
+        try (Connection connection = dataSource.getConnection()) {
+            summary = new SyntheticDataset(settings).generate(connection);
+        }
+
+        actors.put(Actor.BUYER, userDao.findById(summary.busiestFavoriterId()));
+        actors.put(Actor.OWNER, userDao.findById(summary.busiestOwnerId()));
+        actors.put(Actor.ADMIN, userDao.findById(1L));
+
+        long buyerId = summary.busiestFavoriterId();
+        long ownerId = summary.busiestOwnerId();
+        rows.put("listing", jdbcTemplate.queryForList(
+            "SELECT p.id FROM properties p WHERE p.status = 'APPROVED' AND p.owner_id = ?"
+                + " AND NOT EXISTS (SELECT 1 FROM favorites f WHERE f.property_id = p.id AND f.user_id = ?)"
+                + " ORDER BY p.id LIMIT 2", Long.class, ownerId, buyerId));
+        rows.put("own", jdbcTemplate.queryForList(
+            "SELECT id FROM properties WHERE status = 'APPROVED' AND owner_id = ? ORDER BY id LIMIT 2",
+            Long.class, ownerId));
+        rows.put("favorite", jdbcTemplate.queryForList(
+            "SELECT property_id FROM favorites WHERE user_id = ? ORDER BY property_id LIMIT 2",
+            Long.class, buyerId));
+        rows.put("pending", jdbcTemplate.queryForList(
+            "SELECT id FROM properties WHERE status = 'PENDING' ORDER BY id LIMIT 2", Long.class));
+        rows.forEach((placeholder, ids) ->
+            assertEquals(2, ids.size(), "Seeded data has too few rows for {" + placeholder + "}"));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("budgets")
+    void staysWithinBudget(Budget budget) throws Exception {
+        perform(budget, 0);
+
+        entityManagerFactory.getCache().evictAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        long statementsBefore = statementCount();
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+
+        // MockMvc handles the request on this thread, so the thread's allocation counter covers it
+        MvcResult result = perform(budget, 1);
+
+        long allocatedKb = (threads.getCurrentThreadAllocatedBytes() - allocatedBefore) / 1024;
+        long statements = statementCount() - statementsBefore;
+        log.info("{}: {} statements (budget {}), {} KB allocated (budget {})",
+            budget, statements, budget.statements(), allocatedKb, budget.allocatedKb());
+
+        if (budget.redirectTo() == null) {
+            assertEquals(200, result.getResponse().getStatus(), budget + " did not render");
+        } else {
+            assertEquals(302, result.getResponse().getStatus(), budget + " did not redirect");
+            assertEquals(resolve(budget.redirectTo(), 1), result.getResponse().getRedirectedUrl(),
+                budget + " redirected to the wrong page");
+            assertNull(result.getFlashMap().get("errorMessage"), budget + " failed");
+        }
+        assertTrue(statements <= budget.statements(),
+            budget + " issued " + statements + " SQL statements, budget is " + budget.statements());
+        assertTrue(allocatedKb <= budget.allocatedKb(),
+            budget + " allocated " + allocatedKb + " KB, budget is " + budget.allocatedKb() + " KB");
+    }
+
+    private MvcResult perform(Budget budget, int row) throws Exception {
+        String path = resolve(budget.path(), row);
+        MockHttpServletRequestBuilder request = "POST".equals(budget.method()) ? post(path) : get(path);
+        User user = actors.get(budget.actor());
+        if (user != null) {
+            MockHttpSession session = new MockHttpSession();
+            session.setAttribute("loggedInUser", SessionUser.from(user));
+            session.setAttribute("userId", user.getId());
+            session.setAttribute("userRole", user.getRole().toString());
+            request.session(session);
+        }
+        return mockMvc.perform(request).andReturn();
+    }
+
+    private String resolve(String template, int row) {
+        Matcher matcher = PLACEHOLDER.matcher(template);
+        StringBuilder path = new StringBuilder();
+        while (matcher.find()) {
+            matcher.appendReplacement(path, String.valueOf(rows.get(matcher.group(1)).get(row)));
+        }
+        matcher.appendTail(path);
+        return path.toString();
+    }
+
+    // Every statement run through the application's data source so far, of any shape
+    private long statementCount() {
+        return queryStatistics.topByTotalTime(Integer.MAX_VALUE).stream()
+            .mapToLong(QueryShapeSummary::getCount).sum();
+    }
+}
@@ -0,0 +1,148 @@
+package com.realestate.management.dataset;
+
+import com.realestate.management.ManagementApplication;
+import com.realestate.management.dao.PropertyStatsDao;
+import com.realestate.management.service.PasswordHasher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+// Wipes the configured database and refills it with the synthetic dataset, then exits.
+// It lives with the tests so that it never ships in the application jar. Run it from the test
+// classpath, naming the schema to wipe; volumes and the seed are dataset.* properties, e.g.
+//   mvn test-compile spring-boot:test-run -Dspring-boot.run.main-class=com.realestate.management.dataset.DatasetGenerator
+//       -Dspring-boot.run.arguments="--dataset.confirm-wipe=realestate_db --dataset.properties=200000"
+// The schema comes from the entities through Hibernate's ddl-auto as usual. All accounts
+// share dataset.password and follow the load test's naming (<prefix>owner0@gmail.com is
+// the busiest agent, <prefix>buyer0@gmail.com the first buyer).
+@Component
+@Profile("dataset")
+public class DatasetGenerator implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    // Children before parents; sessions go too since they name users that no longer exist
+    private static final List<String> TABLES = List.of("favorites", "property_viewings", "applications",
+        "availability_windows", "open_houses", "property_stats", "maintenance_checkpoints", "properties", "users",
+        "http_sessions");
+
+    private final DataSource dataSource;
+    private final PasswordHasher passwordHasher;
+    private final PropertyStatsDao propertyStatsDao;
+    private final TransactionTemplate transactionTemplate;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${dataset.seed:42}")
+    private long seed;
+
+    @Value("${dataset.users:100000}")
+    private int users;
+
+    @Value("${dataset.properties:1000000}")
+    private int properties;
+
+    @Value("${dataset.favorites:10000000}")
+    private int favorites;
+
+    @Value("${dataset.viewings:2000000}")
+    private int viewings;
+
+    @Value("${dataset.applications:2000000}")
+    private int applications;
+
+    @Value("${dataset.owner-share:0.02}")
+    private double ownerShare;
+
+    @Value("${dataset.rows-per-insert:1000}")
+    private int rowsPerInsert;
+
+    @Value("${dataset.account-prefix:loadtest}")
+    private String accountPrefix;
+
+    @Value("${dataset.password:loadtest-password}")
+    private String password;
+
+    @Value("${dataset.exit-when-done:true}")
+    private boolean exitWhenDone;
+
+    // Must name the schema the data source points at, so a wrong URL never gets truncated
+    @Value("${dataset.confirm-wipe:}")
+    private String confirmWipe;
+
+    @Autowired
+    public DatasetGenerator(DataSource dataSource, PasswordHasher passwordHasher, PropertyStatsDao propertyStatsDao,
+                            PlatformTransactionManager transactionManager, ConfigurableApplicationContext context) {
+        this.dataSource = dataSource;
+        this.passwordHasher = passwordHasher;
+        this.propertyStatsDao = propertyStatsDao;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.context = context;
+    }
+
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(ManagementApplication.class);
+        application.setAdditionalProfiles("dataset");
+        application.run(args);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        SyntheticDataset.Settings settings = new SyntheticDataset.Settings(seed, users, properties, favorites,
+            viewings, applications, ownerShare, rowsPerInsert, accountPrefix, passwordHasher.hash(password));
+        long startedAt = System.currentTimeMillis();
+        log.info("Generating {} users, {} properties, {} favorites, {} viewings and {} applications with seed {}",
+            users, properties, favorites, viewings, applications, seed);
+
+        SyntheticDataset.Summary summary;
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            if (!connection.getCatalog().equals(confirmWipe)) {
+                throw new IllegalStateException("Refusing to wipe schema '" + connection.getCatalog()
+                    + "': set dataset.confirm-wipe=" + connection.getCatalog() + " to confirm");
+            }
+            statement.execute("SET FOREIGN_KEY_CHECKS = 0");
+            try {
+                reset(connection, statement);
+                // Ids are assigned by the generator and always consistent, so skip the per-row key checks
+                summary = new SyntheticDataset(settings).generate(connection);
+            } finally {
+                statement.execute("SET FOREIGN_KEY_CHECKS = 1");
+            }
+        }
+        summary.rows().forEach((table, rows) -> log.info("Wrote {} rows to {}", rows, table));
+
+        int counters = transactionTemplate.execute(status -> propertyStatsDao.seedFromHistory());
+        log.info("Seeded popularity counters for {} properties", counters);
+        log.info("Dataset ready in {} s; busiest owner is user {}, busiest favoriter user {}",
+            (System.currentTimeMillis() - startedAt) / 1000, summary.busiestOwnerId(), summary.busiestFavoriterId());
+
+        if (exitWhenDone) {
+            System.exit(SpringApplication.exit(context));
+        }
+    }
+
+    private void reset(Connection connection, Statement statement) throws SQLException {
+        for (String table : TABLES) {
+            try (ResultSet tables = connection.getMetaData().getTables(connection.getCatalog(), null, table, null)) {
+                if (tables.next()) {
+                    statement.execute("TRUNCATE TABLE " + table);
+                }
+            }
+        }
+    }
+}
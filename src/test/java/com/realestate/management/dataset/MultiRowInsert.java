@@ -0,0 +1,81 @@
+package com.realestate.management.dataset;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+// Buffers rows and writes them as INSERT ... VALUES (...), (...), ... statements of a fixed
+// size, committing after each one so no transaction grows with the table
+class MultiRowInsert implements AutoCloseable {
+
+    private final Connection connection;
+    private final String table;
+    private final String[] columns;
+    private final int rowsPerStatement;
+    private final Object[] buffer;
+    private PreparedStatement fullStatement;
+    private int buffered;
+    private long written;
+
+    MultiRowInsert(Connection connection, String table, String[] columns, int rowsPerStatement) {
+        this.connection = connection;
+        this.table = table;
+        this.columns = columns;
+        this.rowsPerStatement = rowsPerStatement;
+        this.buffer = new Object[columns.length * rowsPerStatement];
+    }
+
+    void add(Object... values) throws SQLException {
+        if (values.length != columns.length) {
+            throw new IllegalArgumentException(table + " takes " + columns.length + " values, got " + values.length);
+        }
+        System.arraycopy(values, 0, buffer, buffered * columns.length, columns.length);
+        if (++buffered == rowsPerStatement) {
+            if (fullStatement == null) {
+                fullStatement = connection.prepareStatement(sql(rowsPerStatement));
+            }
+            flush(fullStatement);
+        }
+    }
+
+    long getWritten() {
+        return written;
+    }
+
+    // Write the partial last statement and release the prepared one
+    @Override
+    public void close() throws SQLException {
+        try {
+            if (buffered > 0) {
+                try (PreparedStatement statement = connection.prepareStatement(sql(buffered))) {
+                    flush(statement);
+                }
+            }
+        } finally {
+            if (fullStatement != null) {
+                fullStatement.close();
+            }
+        }
+    }
+
+    private void flush(PreparedStatement statement) throws SQLException {
+        int values = buffered * columns.length;
+        for (int i = 0; i < values; i++) {
+            statement.setObject(i + 1, buffer[i]);
+        }
+        statement.executeUpdate();
+        connection.commit();
+        written += buffered;
+        buffered = 0;
+    }
+
+    private String sql(int rows) {
+        String row = "(" + "?, ".repeat(columns.length - 1) + "?)";
+        StringBuilder sql = new StringBuilder("INSERT INTO ").append(table)
+            .append(" (").append(String.join(", ", columns)).append(") VALUES ");
+        for (int i = 0; i < rows; i++) {
+            sql.append(i == 0 ? row : ", " + row);
+        }
+        return sql.toString();
+    }
+}
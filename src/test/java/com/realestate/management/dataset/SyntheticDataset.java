@@ -0,0 +1,349 @@
+package com.realestate.management.dataset;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+// Writes a synthetic but realistically skewed dataset into an empty schema. Every choice
+// comes from one seeded Random consumed in a fixed order, and ids are assigned explicitly,
+// so the same settings always produce the same rows; dates are relative to the day of
+// generation so upcoming viewings stay upcoming.
+//
+// Shape: one admin, a small share of owner and agent accounts with listings drawn from a
+// Zipf distribution (the busiest agents hold thousands), cities weighted the same way,
+// per-buyer favorites, viewings and applications following a power law, and favorites
+// concentrated on a minority of popular listings.
+public class SyntheticDataset {
+
+    public record Settings(long seed, int users, int properties, int favorites, int viewings, int applications,
+                           double ownerShare, int rowsPerInsert, String accountPrefix, String passwordHash) {
+    }
+
+    public record Summary(Map<String, Long> rows, long busiestOwnerId, long typicalOwnerId,
+                          long busiestFavoriterId, long typicalFavoriterId) {
+    }
+
+    private static final String[][] CITIES = {
+        {"Austin", "TX"}, {"Seattle", "WA"}, {"Denver", "CO"}, {"Boston", "MA"}, {"Chicago", "IL"},
+        {"Miami", "FL"}, {"Portland", "OR"}, {"Phoenix", "AZ"}, {"Atlanta", "GA"}, {"Nashville", "TN"},
+        {"Dallas", "TX"}, {"San Diego", "CA"}, {"Raleigh", "NC"}, {"Columbus", "OH"}, {"Tampa", "FL"},
+        {"Charlotte", "NC"}, {"Minneapolis", "MN"}, {"Salt Lake City", "UT"}, {"Kansas City", "MO"},
+        {"Pittsburgh", "PA"}, {"Sacramento", "CA"}, {"Orlando", "FL"}, {"Boise", "ID"}, {"Madison", "WI"},
+        {"Richmond", "VA"}, {"Omaha", "NE"}, {"Tucson", "AZ"}, {"Albuquerque", "NM"}, {"Spokane", "WA"},
+        {"Savannah", "GA"}, {"Burlington", "VT"}, {"Missoula", "MT"}
+    };
+    private static final String[] FIRST_NAMES = {
+        "James", "Maria", "Wei", "Aisha", "Carlos", "Emma", "Noah", "Priya", "Liam", "Sofia", "Omar", "Hana"
+    };
+    private static final String[] LAST_NAMES = {
+        "Smith", "Garcia", "Chen", "Khan", "Johnson", "Nguyen", "Brown", "Patel", "Lopez", "Kim", "Silva", "Novak"
+    };
+    private static final String[] STREETS = {"Main St", "Oak Ave", "Maple Dr", "Cedar Ln", "Park Blvd", "Lake Rd"};
+    private static final String[] PROPERTY_TYPES = {"HOUSE", "APARTMENT", "CONDO", "TOWNHOUSE", "LAND", "COMMERCIAL"};
+    private static final int[] PROPERTY_TYPE_WEIGHTS = {40, 30, 15, 10, 3, 2};
+    private static final String[] EMPLOYMENT = {"FULL_TIME", "PART_TIME", "SELF_EMPLOYED", "RETIRED", "STUDENT"};
+
+    private final Settings settings;
+    private final Random random;
+    private final LocalDateTime anchor = LocalDate.now().atStartOfDay();
+    private final Map<String, Long> rows = new LinkedHashMap<>();
+
+    private int owners;
+    private long firstBuyerId;
+    private int[] listingsPerOwner;
+    private boolean[] rentals;
+    private int[] approvedIds;
+    private Zipf popularity;
+
+    public SyntheticDataset(Settings settings) {
+        this.settings = settings;
+        this.random = new Random(settings.seed());
+    }
+
+    // Tables are written parents first; the caller owns the connection and any reset
+    public Summary generate(Connection connection) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            insertUsers(connection);
+            insertProperties(connection);
+            int[] favoritesPerBuyer = insertFavorites(connection);
+            insertViewings(connection);
+            insertApplications(connection);
+            return new Summary(rows,
+                maxIndex(listingsPerOwner) + 2L,
+                medianIndex(listingsPerOwner) + 2L,
+                maxIndex(favoritesPerBuyer) + firstBuyerId,
+                medianIndex(favoritesPerBuyer) + firstBuyerId);
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    // Id 1 is the admin, then owners and agents, then buyers and renters
+    private void insertUsers(Connection connection) throws SQLException {
+        owners = Math.max(1, (int) Math.round(settings.users() * settings.ownerShare()));
+        firstBuyerId = owners + 2L;
+        String prefix = settings.accountPrefix();
+        MultiRowInsert insert = new MultiRowInsert(connection, "users", new String[] {
+                "id", "first_name", "last_name", "email", "password", "phone", "role",
+                "created_at", "updated_at", "is_active", "session_version"}, settings.rowsPerInsert());
+        try (insert) {
+            for (long id = 1; id <= settings.users(); id++) {
+                String email;
+                String role;
+                if (id == 1) {
+                    email = prefix + "admin@gmail.com";
+                    role = "ADMIN";
+                } else if (id < firstBuyerId) {
+                    long index = id - 2;
+                    email = prefix + "owner" + index + "@gmail.com";
+                    role = index < Math.max(1, owners / 5) ? "AGENT" : "OWNER";
+                } else {
+                    email = prefix + "buyer" + (id - firstBuyerId) + "@gmail.com";
+                    role = random.nextInt(10) < 7 ? "BUYER" : "RENTER";
+                }
+                LocalDateTime created = anchor.minusMinutes(random.nextInt(3 * 365 * 24 * 60));
+                insert.add(id, pick(FIRST_NAMES), pick(LAST_NAMES), email, settings.passwordHash(),
+                    String.format("555-%03d-%04d", random.nextInt(1000), random.nextInt(10000)),
+                    role, created, created, true, 0L);
+            }
+        }
+        rows.put("users", insert.getWritten());
+    }
+
+    private void insertProperties(Connection connection) throws SQLException {
+        Zipf ownerZipf = new Zipf(owners, 0.7);
+        Zipf cityZipf = new Zipf(CITIES.length, 1.1);
+        listingsPerOwner = new int[owners];
+        rentals = new boolean[settings.properties() + 1];
+        int[] approved = new int[settings.properties()];
+        int approvedCount = 0;
+
+        MultiRowInsert insert = new MultiRowInsert(connection, "properties", new String[] {
+                "id", "title", "description", "price", "address", "city", "state", "zip_code", "property_type",
+                "listing_type", "status", "bedrooms", "bathrooms", "area_sqft", "year_built", "image_url",
+                "owner_id", "created_at", "updated_at"}, settings.rowsPerInsert());
+        try (insert) {
+            for (int id = 1; id <= settings.properties(); id++) {
+                int owner = ownerZipf.sample(random);
+                int city = cityZipf.sample(random);
+                String type = weighted(PROPERTY_TYPES, PROPERTY_TYPE_WEIGHTS);
+                boolean rent = !type.equals("LAND") && random.nextInt(10) < 3;
+                boolean land = type.equals("LAND");
+                int bedrooms = land ? 1 : 1 + Math.min(5, (int) Math.abs(random.nextGaussian() * 1.4 + 2));
+                int area = land ? 5000 + random.nextInt(40000) : 450 + bedrooms * 350 + random.nextInt(900);
+                // Cities later in the list are cheaper; prices are log-normal around the city level
+                double level = (rent ? 2600 : 520_000) * (1.6 - city / (double) CITIES.length);
+                long price = Math.round(level * Math.exp(random.nextGaussian() * 0.35) / (rent ? 10 : 1000)) * (rent ? 10 : 1000);
+
+                int roll = random.nextInt(100);
+                String status = roll < 85 ? "APPROVED" : roll < 90 ? "PENDING" : roll < 97 ? (rent ? "RENTED" : "SOLD") : "REJECTED";
+                if (status.equals("APPROVED")) {
+                    approved[approvedCount++] = id;
+                }
+                // Newer listings are more common than old ones
+                LocalDateTime created = anchor.minusMinutes((long) (2 * 365 * 24 * 60 * Math.pow(random.nextDouble(), 2)));
+
+                listingsPerOwner[owner]++;
+                rentals[id] = rent;
+                insert.add(id,
+                    bedrooms + " bed " + type.toLowerCase() + " in " + CITIES[city][0],
+                    "Well kept " + type.toLowerCase() + " close to schools, shops and transit.",
+                    BigDecimal.valueOf(Math.max(price, rent ? 500 : 50_000)),
+                    (1 + random.nextInt(9999)) + " " + pick(STREETS),
+                    CITIES[city][0], CITIES[city][1], String.format("%05d", 10000 + random.nextInt(89999)),
+                    type, rent ? "RENT" : "SALE", status,
+                    bedrooms, land ? 1 : 1 + random.nextInt(Math.max(1, bedrooms)),
+                    area, land ? null : 1920 + random.nextInt(104), null,
+                    owner + 2L, created, created);
+            }
+        }
+        rows.put("properties", insert.getWritten());
+
+        // Popular listings are spread over the id range rather than being the oldest ones
+        approvedIds = Arrays.copyOf(approved, approvedCount);
+        for (int i = approvedIds.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = approvedIds[i];
+            approvedIds[i] = approvedIds[j];
+            approvedIds[j] = swap;
+        }
+        popularity = new Zipf(Math.max(1, approvedIds.length), 0.9);
+    }
+
+    private int[] insertFavorites(Connection connection) throws SQLException {
+        int[] counts = perBuyerCounts(settings.favorites(), 1.3, 2000);
+        MultiRowInsert insert = new MultiRowInsert(connection, "favorites",
+                new String[] {"user_id", "property_id", "created_at"}, settings.rowsPerInsert());
+        try (insert) {
+            for (int buyer = 0; buyer < counts.length; buyer++) {
+                int[] properties = distinctPopularProperties(counts[buyer]);
+                counts[buyer] = properties.length;
+                for (int property : properties) {
+                    insert.add(firstBuyerId + buyer, property, anchor.minusMinutes(random.nextInt(365 * 24 * 60)));
+                }
+            }
+        }
+        rows.put("favorites", insert.getWritten());
+        return counts;
+    }
+
+    private void insertViewings(Connection connection) throws SQLException {
+        int[] counts = perBuyerCounts(settings.viewings(), 1.5, 200);
+        MultiRowInsert insert = new MultiRowInsert(connection, "property_viewings", new String[] {
+                "property_id", "user_id", "viewing_date", "status", "message", "created_at", "updated_at",
+                "active_key"}, settings.rowsPerInsert());
+        try (insert) {
+            for (int buyer = 0; buyer < counts.length; buyer++) {
+                long userId = firstBuyerId + buyer;
+                for (int property : distinctPopularProperties(counts[buyer])) {
+                    // Two months of history and three weeks of upcoming viewings, on the hour in office hours
+                    LocalDateTime date = anchor.plusDays(random.nextInt(81) - 60).withHour(9 + random.nextInt(9));
+                    int roll = random.nextInt(100);
+                    String status = date.isAfter(anchor)
+                        ? (roll < 60 ? "PENDING" : roll < 95 ? "APPROVED" : "CANCELLED")
+                        : (roll < 60 ? "COMPLETED" : roll < 75 ? "CANCELLED" : roll < 85 ? "REJECTED" : "EXPIRED");
+                    boolean active = status.equals("PENDING") || status.equals("APPROVED");
+                    LocalDateTime created = (date.isBefore(anchor) ? date : anchor).minusMinutes(60 + random.nextInt(14 * 24 * 60));
+                    insert.add(property, userId, date, status, "Is this still available?", created, created,
+                        active ? userId + ":" + property : null);
+                }
+            }
+        }
+        rows.put("property_viewings", insert.getWritten());
+    }
+
+    private void insertApplications(Connection connection) throws SQLException {
+        int[] counts = perBuyerCounts(settings.applications(), 1.5, 100);
+        MultiRowInsert insert = new MultiRowInsert(connection, "applications", new String[] {
+                "property_id", "user_id", "application_type", "status", "full_name", "email", "phone",
+                "employment_status", "annual_income", "move_in_date", "message", "created_at", "updated_at",
+                "active_key"}, settings.rowsPerInsert());
+        try (insert) {
+            for (int buyer = 0; buyer < counts.length; buyer++) {
+                long userId = firstBuyerId + buyer;
+                for (int property : distinctPopularProperties(counts[buyer])) {
+                    LocalDateTime created = anchor.minusMinutes(random.nextInt(120 * 24 * 60));
+                    int roll = random.nextInt(100);
+                    // Anything older than the 30 day expiry has been decided or expired
+                    String status = created.isAfter(anchor.minusDays(30))
+                        ? (roll < 50 ? "PENDING" : roll < 70 ? "UNDER_REVIEW" : roll < 80 ? "APPROVED" : roll < 90 ? "REJECTED" : "WITHDRAWN")
+                        : (roll < 25 ? "APPROVED" : roll < 60 ? "REJECTED" : roll < 75 ? "WITHDRAWN" : "EXPIRED");
+                    boolean active = status.equals("PENDING") || status.equals("UNDER_REVIEW") || status.equals("APPROVED");
+                    insert.add(property, userId, rentals[property] ? "RENTAL" : "PURCHASE", status,
+                        "Applicant " + userId, settings.accountPrefix() + "buyer" + buyer + "@gmail.com", "555-0100",
+                        pick(EMPLOYMENT), String.valueOf(30_000 + random.nextInt(40) * 5_000),
+                        created.toLocalDate().plusDays(14 + random.nextInt(60)),
+                        "We would love to make this our home.", created, created,
+                        active ? userId + ":" + property : null);
+                }
+            }
+        }
+        rows.put("applications", insert.getWritten());
+    }
+
+    // Pareto-distributed counts per buyer, scaled so they add up to about the requested total
+    private int[] perBuyerCounts(long total, double alpha, int cap) {
+        int buyers = (int) Math.max(0, settings.users() - firstBuyerId + 1);
+        double[] raw = new double[buyers];
+        double sum = 0;
+        for (int i = 0; i < buyers; i++) {
+            raw[i] = 1 / Math.pow(1 - random.nextDouble(), 1 / alpha);
+            sum += raw[i];
+        }
+        int limit = Math.min(cap, approvedIds.length / 2);
+        // Capping the heaviest buyers loses volume; hand it back to the rest in a few passes
+        double scale = sum == 0 ? 0 : total / sum;
+        for (int pass = 0; pass < 4; pass++) {
+            double assigned = 0;
+            double uncapped = 0;
+            for (double value : raw) {
+                double exact = value * scale;
+                if (exact >= limit) {
+                    assigned += limit;
+                } else {
+                    assigned += exact;
+                    uncapped += value;
+                }
+            }
+            if (uncapped == 0) {
+                break;
+            }
+            scale += (total - assigned) / uncapped;
+        }
+        int[] counts = new int[buyers];
+        for (int i = 0; i < buyers; i++) {
+            double exact = raw[i] * scale;
+            int count = (int) Math.min(limit, exact);
+            if (count < limit && random.nextDouble() < exact - count) {
+                count++;
+            }
+            counts[i] = count;
+        }
+        return counts;
+    }
+
+    // Distinct approved listings drawn by popularity; gives up on a few draws for very active buyers
+    private int[] distinctPopularProperties(int count) {
+        int[] picked = new int[count];
+        Set<Integer> seen = new HashSet<>();
+        int found = 0;
+        for (int attempt = 0; attempt < count * 8 && found < count; attempt++) {
+            int property = approvedIds[popularity.sample(random)];
+            if (seen.add(property)) {
+                picked[found++] = property;
+            }
+        }
+        return found == count ? picked : Arrays.copyOf(picked, found);
+    }
+
+    private String weighted(String[] values, int[] weights) {
+        int total = Arrays.stream(weights).sum();
+        int roll = random.nextInt(total);
+        for (int i = 0; i < values.length; i++) {
+            roll -= weights[i];
+            if (roll < 0) {
+                return values[i];
+            }
+        }
+        return values[values.length - 1];
+    }
+
+    private String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static int maxIndex(int[] counts) {
+        int best = 0;
+        for (int i = 1; i < counts.length; i++) {
+            if (counts[i] > counts[best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    // Index of an entry holding the median of the non-zero counts
+    private static int medianIndex(int[] counts) {
+        int[] sorted = Arrays.stream(counts).filter(count -> count > 0).sorted().toArray();
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int median = sorted[sorted.length / 2];
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == median) {
+                return i;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,29 @@
+package com.realestate.management.dataset;
+
+import java.util.Arrays;
+import java.util.Random;
+
+// Zipf-distributed ranks in [0, n): rank k is drawn with probability proportional to
+// 1 / (k + 1)^exponent, by binary search over the precomputed cumulative weights
+class Zipf {
+
+    private final double[] cumulative;
+
+    Zipf(int n, double exponent) {
+        cumulative = new double[n];
+        double sum = 0;
+        for (int k = 0; k < n; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulative[k] /= sum;
+        }
+    }
+
+    int sample(Random random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulative.length - 1);
+    }
+}
@@ -0,0 +1,81 @@
+package com.realestate.management.service;
+
+import com.realestate.management.dataset.SyntheticDataset;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Maintenance runs on a cluster, where every node fires the schedule.
+//
+// Needs the local MySQL from application.properties; the settings come from application-service-test.properties,
+// with a schema of its own because the generated ids would collide with OpenHouseServiceTests' dataset.
+@SpringBootTest
+@ActiveProfiles("service-test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:mysql://localhost:3306/realestate_maintenance_test"
+    + "?createDatabaseIfNotExist=true&useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MaintenanceServiceTests {
+
+    @Autowired
+    private MaintenanceService maintenanceService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long viewingId;
+
+    @BeforeAll
+    void seed() throws Exception {
+        SyntheticDataset.Settings settings = new SyntheticDataset.Settings(17, 20, 20, 0, 0, 0,
+            0.1, 500, "maintenance", "unused");
+        long ownerId;
+        try (Connection connection = dataSource.getConnection()) {
+            ownerId = new SyntheticDataset(settings).generate(connection).busiestOwnerId();
+        }
+        long propertyId = jdbcTemplate.queryForObject(
+            "SELECT id FROM properties WHERE owner_id = ? ORDER BY id LIMIT 1", Long.class, ownerId);
+        long buyerId = jdbcTemplate.queryForObject(
+            "SELECT id FROM users WHERE id <> ? ORDER BY id LIMIT 1", Long.class, ownerId);
+        LocalDateTime yesterday = LocalDateTime.now().minusDays(1);
+        jdbcTemplate.update("INSERT INTO property_viewings (property_id, user_id, viewing_date, status, created_at, "
+            + "updated_at, active_key) VALUES (?, ?, ?, 'PENDING', ?, ?, ?)",
+            propertyId, buyerId, yesterday, yesterday, yesterday, buyerId + ":" + propertyId);
+        viewingId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM property_viewings", Long.class);
+    }
+
+    @Test
+    void onlyTheNodeHoldingTheLeaseRuns() {
+        jdbcTemplate.update("INSERT INTO maintenance_checkpoints (job_name, last_id, rows_processed, lease_holder, "
+            + "lease_until) VALUES ('lease:maintenance', 0, 0, 'other-node', ?)", LocalDateTime.now().plusMinutes(5));
+
+        maintenanceService.runAll();
+        assertEquals("PENDING", status());
+
+        // The other node died; its lease runs out
+        jdbcTemplate.update("UPDATE maintenance_checkpoints SET lease_until = ? WHERE job_name = 'lease:maintenance'",
+            LocalDateTime.now().minusMinutes(1));
+
+        maintenanceService.runAll();
+        assertEquals("EXPIRED", status());
+        assertNull(jdbcTemplate.queryForObject(
+            "SELECT lease_holder FROM maintenance_checkpoints WHERE job_name = 'lease:maintenance'", String.class));
+    }
+
+    private String status() {
+        return jdbcTemplate.queryForObject("SELECT status FROM property_viewings WHERE id = ?", String.class, viewingId);
+    }
+}
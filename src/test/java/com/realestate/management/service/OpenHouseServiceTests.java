@@ -0,0 +1,105 @@
+package com.realestate.management.service;
+
+import com.realestate.management.dataset.SyntheticDataset;
+import com.realestate.management.model.OpenHouse;
+import com.realestate.management.model.PropertyViewing;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Seat accounting of open houses against a seeded database.
+//
+// Needs the local MySQL from application.properties; the schema comes from application-service-test.properties.
+@SpringBootTest
+@ActiveProfiles("service-test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class OpenHouseServiceTests {
+
+    @Autowired
+    private OpenHouseService openHouseService;
+
+    @Autowired
+    private ViewingService viewingService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long ownerId;
+    private long propertyId;
+    private List<Long> buyerIds;
+
+    @BeforeAll
+    void seed() throws Exception {
+        SyntheticDataset.Settings settings = new SyntheticDataset.Settings(11, 50, 50, 100, 0, 0,
+            0.1, 500, "openhouse", "unused");
+        try (Connection connection = dataSource.getConnection()) {
+            ownerId = new SyntheticDataset(settings).generate(connection).busiestOwnerId();
+        }
+        propertyId = jdbcTemplate.queryForObject(
+            "SELECT id FROM properties WHERE owner_id = ? AND status = 'APPROVED' ORDER BY id LIMIT 1",
+            Long.class, ownerId);
+        buyerIds = jdbcTemplate.queryForList(
+            "SELECT id FROM users WHERE id <> ? ORDER BY id LIMIT 8", Long.class, ownerId);
+    }
+
+    @Test
+    void cancellingASeatPromotesTheOldestWaitlistedSignUp() {
+        LocalDateTime start = LocalDateTime.now().plusYears(1).truncatedTo(ChronoUnit.HOURS);
+        OpenHouse openHouse = openHouseService.createOpenHouse(propertyId, start, start.plusHours(2), 2);
+
+        List<PropertyViewing> signUps = new ArrayList<>();
+        for (Long buyerId : buyerIds.subList(0, 4)) {
+            signUps.add(openHouseService.join(openHouse.getId(), buyerId, null));
+        }
+        assertEquals(List.of("APPROVED", "APPROVED", "WAITLISTED", "WAITLISTED"), statuses(signUps));
+
+        viewingService.cancelViewing(signUps.get(0).getId());
+
+        assertEquals(List.of("CANCELLED", "APPROVED", "APPROVED", "WAITLISTED"), statuses(signUps));
+        assertEquals(0, openHouseService.getSeatsLeft(openHouse.getId()));
+        assertEquals(2, jdbcTemplate.queryForObject(
+            "SELECT reserved_seats FROM open_houses WHERE id = ?", Integer.class, openHouse.getId()));
+    }
+
+    @Test
+    void aSeatFreedOnAnotherNodeGoesToTheWaitlist() {
+        LocalDateTime start = LocalDateTime.now().plusYears(1).plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        OpenHouse openHouse = openHouseService.createOpenHouse(propertyId, start, start.plusHours(2), 1);
+        PropertyViewing seated = openHouseService.join(openHouse.getId(), buyerIds.get(4), null);
+        PropertyViewing waiting = openHouseService.join(openHouse.getId(), buyerIds.get(5), null);
+
+        // Another node cancelled the seated sign-up; this node's counter still says full
+        jdbcTemplate.update("UPDATE property_viewings SET status = 'CANCELLED', active_key = NULL WHERE id = ?",
+            seated.getId());
+        jdbcTemplate.update("UPDATE open_houses SET reserved_seats = reserved_seats - 1 WHERE id = ?",
+            openHouse.getId());
+
+        openHouseService.promoteWaitlisted(openHouse.getId());
+
+        assertEquals(List.of("APPROVED"), statuses(List.of(waiting)));
+    }
+
+    private List<String> statuses(List<PropertyViewing> viewings) {
+        List<String> statuses = new ArrayList<>();
+        for (PropertyViewing viewing : viewings) {
+            statuses.add(jdbcTemplate.queryForObject(
+                "SELECT status FROM property_viewings WHERE id = ?", String.class, viewing.getId()));
+        }
+        return statuses;
+    }
+}
@@ -0,0 +1,99 @@
+package com.realestate.management.service;
+
+import com.realestate.management.dataset.SyntheticDataset;
+import com.realestate.management.model.PropertyViewing;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Booking of owners' time against a seeded database.
+//
+// Needs the local MySQL from application.properties; the settings come from application-service-test.properties,
+// with a schema of its own because the generated ids would collide with OpenHouseServiceTests' dataset.
+@SpringBootTest
+@ActiveProfiles("service-test")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:mysql://localhost:3306/realestate_viewing_test"
+    + "?createDatabaseIfNotExist=true&useSSL=false&allowPublicKeyRetrieval=true&serverTimezone=UTC")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ViewingServiceTests {
+
+    @Autowired
+    private ViewingService viewingService;
+
+    @Autowired
+    private ViewingSlotIndex slotIndex;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private long ownerId;
+    private List<Long> propertyIds;
+    private List<Long> buyerIds;
+
+    @BeforeAll
+    void seed() throws Exception {
+        SyntheticDataset.Settings settings = new SyntheticDataset.Settings(13, 50, 50, 100, 0, 0,
+            0.1, 500, "viewing", "unused");
+        try (Connection connection = dataSource.getConnection()) {
+            ownerId = new SyntheticDataset(settings).generate(connection).busiestOwnerId();
+        }
+        propertyIds = jdbcTemplate.queryForList(
+            "SELECT id FROM properties WHERE owner_id = ? AND status = 'APPROVED' ORDER BY id LIMIT 2",
+            Long.class, ownerId);
+        buyerIds = jdbcTemplate.queryForList(
+            "SELECT id FROM users WHERE id <> ? ORDER BY id DESC LIMIT 4", Long.class, ownerId);
+    }
+
+    @Test
+    void aSlotBookedOnAnotherNodeIsNotBookedTwice() {
+        LocalDateTime start = LocalDateTime.now().plusYears(2).truncatedTo(ChronoUnit.HOURS);
+        for (Long propertyId : propertyIds) {
+            slotIndex.addWindow(ownerId, propertyId, -propertyId, start, start.plusHours(2));
+        }
+        PropertyViewing first = viewingService.requestViewing(propertyIds.get(0), buyerIds.get(0), start, null, null);
+
+        // The booking came from another node; this node's index has never seen it
+        slotIndex.release(ownerId, ViewingSlotIndex.viewingKey(first.getId()));
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> viewingService.requestViewing(
+            propertyIds.get(1), buyerIds.get(1), start.plusMinutes(15), null, null));
+        assertEquals("That time slot is no longer available. Please pick another time.", e.getMessage());
+        assertEquals(1, jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM property_viewings WHERE viewing_date >= ? AND viewing_date < ?",
+            Integer.class, start, start.plusHours(1)));
+    }
+
+    @Test
+    void cancellingAClosedViewingKeepsTheNewBookingOfTheSameBuyer() {
+        LocalDateTime start = LocalDateTime.now().plusYears(2).plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        Long propertyId = propertyIds.get(0);
+        Long buyerId = buyerIds.get(2);
+        slotIndex.addWindow(ownerId, propertyId, -propertyId - 1_000_000, start, start.plusHours(2));
+
+        PropertyViewing rejected = viewingService.requestViewing(propertyId, buyerId, start.plusHours(1), null, null);
+        viewingService.rejectViewing(rejected.getId());
+        viewingService.requestViewing(propertyId, buyerId, start, null, null);
+
+        viewingService.cancelViewing(rejected.getId());
+
+        List<LocalDateTime> free = slotIndex.freeSlots(ownerId, propertyId, start, start.plusHours(2));
+        assertFalse(free.contains(start), "the buyer's open booking was released");
+    }
+}